@@ -0,0 +1,72 @@
+package com.myapp.benchmarks.contact;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.persistence.ContactJournal;
+import com.myapp.contact.service.ContactService;
+import com.myapp.contact.store.ContactStore;
+import com.myapp.contact.store.HeapContactStore;
+import com.myapp.contact.store.OffHeapContactStore;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test data and objects configured as in the running contacts service.
+ */
+final class ContactFixtures {
+
+    private ContactFixtures() {
+    }
+
+    static Contact contact(long id) {
+        return Contact.builder()
+                .id(id)
+                .name("Contact " + id)
+                .phoneNumber(String.format("555-%03d-%04d", id / 10_000 % 1000, id % 10_000))
+                .email("contact" + id + "@example.com")
+                .build();
+    }
+
+    static List<Contact> contacts(int count) {
+        List<Contact> contacts = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            contacts.add(contact(id));
+        }
+        return contacts;
+    }
+
+    static ContactStore store(String type) {
+        switch (type) {
+            case "heap":
+                return new HeapContactStore();
+            case "offheap":
+                return new OffHeapContactStore(16 * 1024 * 1024);
+            default:
+                throw new IllegalArgumentException("Unknown store type: " + type);
+        }
+    }
+
+    /**
+     * A contact service over an in-memory store of the given type, holding {@code count}
+     * contacts with ids 1 to {@code count}.
+     */
+    static ContactService service(String storeType, int count) {
+        ContactService service = new ContactService(store(storeType),
+                ContactJournal.none(), List.of());
+        service.init();
+        service.upsertAll(contacts(count));
+        return service;
+    }
+
+    /**
+     * An object mapper with the settings Spring Boot applies to the one used by the controllers.
+     */
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+}
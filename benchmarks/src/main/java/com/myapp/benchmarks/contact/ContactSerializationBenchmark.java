@@ -0,0 +1,90 @@
+package com.myapp.benchmarks.contact;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.myapp.contact.cache.ContactJsonCache;
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.service.ContactService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of serializing contacts as the controller does: the {@code getAll()} map in one Jackson
+ * call, the NDJSON export one contact at a time, and a single contact from the JSON cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int contacts;
+
+    @Param({"heap", "offheap"})
+    public String store;
+
+    private ContactService service;
+    private ObjectWriter mapWriter;
+    private ObjectWriter contactWriter;
+    private ContactJsonCache jsonCache;
+    private Contact first;
+
+    @Setup
+    public void setUp() {
+        service = ContactFixtures.service(store, contacts);
+        ObjectMapper objectMapper = ContactFixtures.objectMapper();
+        mapWriter = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructMapType(Map.class, Long.class, Contact.class));
+        contactWriter = objectMapper.writerFor(Contact.class);
+        jsonCache = new ContactJsonCache(objectMapper, 256);
+        first = service.findPage(null, 1).getContacts().get(0);
+    }
+
+    @Benchmark
+    public byte[] getAllAsJson() throws JsonProcessingException {
+        return mapWriter.writeValueAsBytes(service.getAll());
+    }
+
+    /**
+     * {@code GET /api/contacts} with {@code Accept: application/x-ndjson}.
+     */
+    @Benchmark
+    public byte[] getAllAsNdjson() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(contacts * 128);
+        service.forEachContact(null, contact -> {
+            try {
+                out.writeBytes(contactWriter.writeValueAsBytes(contact));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+            out.write('\n');
+        });
+        return out.toByteArray();
+    }
+
+    /**
+     * After the first call the contact is served from the cache, so this measures the steady
+     * state of {@code GET /api/contacts/{id}}.
+     */
+    @Benchmark
+    public byte[] getOneAsCachedJson() {
+        return jsonCache.toJson(first);
+    }
+}
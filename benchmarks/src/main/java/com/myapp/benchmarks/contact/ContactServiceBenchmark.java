@@ -0,0 +1,89 @@
+package com.myapp.benchmarks.contact;
+
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.service.ContactService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contact service operations under contention, against both store backends without a journal.
+ * <p>
+ * The single-operation benchmarks run on four threads hitting random ids of a populated store;
+ * {@code mixed} runs three readers against one writer to show how updates slow down reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ContactServiceBenchmark {
+
+    @Param({"heap", "offheap"})
+    public String store;
+
+    @Param({"100000"})
+    public int contacts;
+
+    private ContactService service;
+
+    @Setup
+    public void setUp() {
+        service = ContactFixtures.service(store, contacts);
+    }
+
+    @Benchmark
+    public Contact findById() {
+        return service.findById(randomId());
+    }
+
+    @Benchmark
+    public Contact update() {
+        long id = randomId();
+        return service.update(id, ContactFixtures.contact(id));
+    }
+
+    /**
+     * Adds a contact and removes it again, so the store size stays constant.
+     */
+    @Benchmark
+    public Contact addAndRemove() {
+        Contact added = service.add(ContactFixtures.contact(0));
+        return service.remove(added.getId());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Contact mixedRead() {
+        return service.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Contact mixedWrite() {
+        long id = randomId();
+        return service.update(id, ContactFixtures.contact(id));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, contacts + 1L);
+    }
+}
@@ -0,0 +1,74 @@
+package com.myapp.benchmarks.contact;
+
+import com.myapp.contact.model.Contact;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Bean validation of contacts, dominated by the {@code @Pattern} phone number check, with a
+ * precompiled regular expression as the lower bound for the pattern match itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContactValidationBenchmark {
+
+    private static final Pattern PHONE_NUMBER = Pattern.compile("\\d{3}-\\d{3}-\\d{4}");
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private Contact valid;
+    private Contact invalidPhoneNumber;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = ContactFixtures.contact(42);
+        invalidPhoneNumber = ContactFixtures.contact(43);
+        invalidPhoneNumber.setPhoneNumber("(555) 000 0043");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<Contact>> validContact() {
+        return validator.validate(valid);
+    }
+
+    /**
+     * Includes building the violation and interpolating its message.
+     */
+    @Benchmark
+    public Set<ConstraintViolation<Contact>> invalidPhoneNumber() {
+        return validator.validate(invalidPhoneNumber);
+    }
+
+    @Benchmark
+    public boolean precompiledPattern() {
+        return PHONE_NUMBER.matcher(valid.getPhoneNumber()).matches();
+    }
+}
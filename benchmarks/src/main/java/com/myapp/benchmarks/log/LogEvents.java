@@ -0,0 +1,39 @@
+package com.myapp.benchmarks.log;
+
+import com.myapp.kafka.schema.log.LogEvent;
+
+import java.util.Random;
+
+/**
+ * Log events shaped like the ones {@code LogGeneratorService} publishes.
+ */
+final class LogEvents {
+
+    private static final String[] LEVELS = {"INFO", "WARN", "ERROR", "DEBUG"};
+    private static final String[] SERVICES = {"UserService", "ProductService", "OrderService", "PaymentService"};
+    private static final String[] MESSAGES = {
+            "Request processed successfully.",
+            "Database connection failed.",
+            "Invalid input detected.",
+            "User login attempt.",
+            "Resource not found.",
+            "Transaction committed.",
+            "Unexpected error occurred.",
+            "Cache refreshed."
+    };
+
+    private LogEvents() {
+    }
+
+    static LogEvent[] sample(int count, Random random) {
+        LogEvent[] events = new LogEvent[count];
+        long timestamp = 1_700_000_000_000L;
+        for (int i = 0; i < count; i++) {
+            timestamp += random.nextInt(50);
+            events[i] = new LogEvent(LEVELS[random.nextInt(LEVELS.length)], timestamp,
+                    SERVICES[random.nextInt(SERVICES.length)], "scheduling-1",
+                    MESSAGES[random.nextInt(MESSAGES.length)]);
+        }
+        return events;
+    }
+}
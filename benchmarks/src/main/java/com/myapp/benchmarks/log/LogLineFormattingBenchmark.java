@@ -0,0 +1,94 @@
+package com.myapp.benchmarks.log;
+
+import com.myapp.kafka.log.producer.service.LogLineTemplates;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating a text log line and serializing it for the producer, the way {@code LogGeneratorService}
+ * used to and the way it does with {@link LogLineTemplates}. Run with {@code -prof gc}: the
+ * templated path should show {@code gc.alloc.rate.norm} close to 0 B/op, the formatted path a few
+ * hundred. Four threads, so the shared {@link Random} of the old path is contended as under load.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LogLineFormattingBenchmark {
+
+    private static final String TOPIC = "application-logs";
+    private static final String[] LEVELS = {"INFO", "WARN", "ERROR", "DEBUG"};
+    private static final String[] SERVICES = {"UserService", "ProductService", "OrderService", "PaymentService"};
+    private static final String[] MESSAGES = {
+            "Request processed successfully.",
+            "Database connection failed.",
+            "Invalid input detected.",
+            "User login attempt.",
+            "Resource not found.",
+            "Transaction committed.",
+            "Unexpected error occurred.",
+            "Cache refreshed."
+    };
+
+    private final Random random = new Random();
+    private final StringSerializer stringSerializer = new StringSerializer();
+    private final ByteArraySerializer byteArraySerializer = new ByteArraySerializer();
+    private final LogLineTemplates templates = new LogLineTemplates(LEVELS, SERVICES, MESSAGES);
+
+    /**
+     * Arrays built, line formatted with {@code String.format} and encoded on every call.
+     */
+    @Benchmark
+    public byte[] formatted() {
+        String[] logLevels = {"INFO", "WARN", "ERROR", "DEBUG"};
+        String[] services = {"UserService", "ProductService", "OrderService", "PaymentService"};
+        String[] messages = {
+                "Request processed successfully.",
+                "Database connection failed.",
+                "Invalid input detected.",
+                "User login attempt.",
+                "Resource not found.",
+                "Transaction committed.",
+                "Unexpected error occurred.",
+                "Cache refreshed."
+        };
+
+        String level = logLevels[random.nextInt(logLevels.length)];
+        String service = services[random.nextInt(services.length)];
+        String message = messages[random.nextInt(messages.length)];
+        long timestamp = System.currentTimeMillis();
+
+        String line = String.format("[%s] - %d - %s - %s: %s", level, timestamp, service,
+                Thread.currentThread().getName(), message);
+        return stringSerializer.serialize(TOPIC, line);
+    }
+
+    /**
+     * The thread's prebuilt line for a random combination with the timestamp written in, passed
+     * through as is by the serializer.
+     */
+    @Benchmark
+    public byte[] templated() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] line = templates.line(random.nextInt(LEVELS.length), random.nextInt(SERVICES.length),
+                random.nextInt(MESSAGES.length), System.currentTimeMillis());
+        return byteArraySerializer.serialize(TOPIC, line);
+    }
+}
@@ -0,0 +1,92 @@
+package com.myapp.benchmarks.log;
+
+import com.myapp.kafka.log.consumer.parse.JsonLogFormat;
+import com.myapp.kafka.log.consumer.parse.LogEntry;
+import com.myapp.kafka.log.consumer.parse.PatternLogFormat;
+import com.myapp.kafka.schema.log.LogEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Log lines parsed per second on one core by the aggregator's formats, against decoding the
+ * line and matching it with a regular expression. Run with {@code -prof gc} to see that the
+ * formats do not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class LogParsingBenchmark {
+
+    private static final int LINES = 1024;
+    private static final Pattern LINE_REGEX = Pattern.compile("\\[(\\w+)] - (\\d+) - (\\S+) - (.+?): (.*)");
+
+    private final PatternLogFormat lineFormat = PatternLogFormat.LINE;
+    private final JsonLogFormat jsonFormat = new JsonLogFormat();
+    private final LogEntry entry = new LogEntry();
+    private byte[][] lines;
+    private byte[][] jsonLines;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        LogEvent[] events = LogEvents.sample(LINES, new Random(42));
+        lines = new byte[LINES][];
+        jsonLines = new byte[LINES][];
+        for (int i = 0; i < LINES; i++) {
+            LogEvent event = events[i];
+            lines[i] = event.toText().getBytes(StandardCharsets.UTF_8);
+            jsonLines[i] = ("{\"level\":\"" + event.getLevel() + "\",\"timestamp\":" + event.getTimestamp()
+                    + ",\"service\":\"" + event.getService() + "\",\"thread\":\"" + event.getThread()
+                    + "\",\"message\":\"" + event.getMessage() + "\"}").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public long regex() {
+        Matcher matcher = LINE_REGEX.matcher(new String(lines[nextIndex()], StandardCharsets.UTF_8));
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Line does not match");
+        }
+        return Long.parseLong(matcher.group(2)) + matcher.group(1).length() + matcher.group(3).length()
+                + matcher.group(4).length() + matcher.group(5).length();
+    }
+
+    @Benchmark
+    public long line() {
+        if (!lineFormat.parse(lines[nextIndex()], entry)) {
+            throw new IllegalStateException("Line does not parse");
+        }
+        return entry.getTimestamp();
+    }
+
+    @Benchmark
+    public long json() {
+        if (!jsonFormat.parse(jsonLines[nextIndex()], entry)) {
+            throw new IllegalStateException("Line does not parse");
+        }
+        return entry.getTimestamp();
+    }
+
+    private int nextIndex() {
+        return next++ & (LINES - 1);
+    }
+}
@@ -0,0 +1,121 @@
+package com.myapp.benchmarks.log;
+
+import com.myapp.kafka.schema.FileSchemaRegistry;
+import com.myapp.kafka.schema.log.LogEvent;
+import com.myapp.kafka.schema.log.LogEventDeserializer;
+import com.myapp.kafka.schema.log.LogEventSerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Log events on the wire as text lines, as the log services send them by default, and as
+ * binary records with {@code app.kafka.format=binary}. The average payload size of each format
+ * is printed at setup; run with {@code -prof gc} for the allocation per message.
+ * <p>
+ * Deserializing text only yields the line, while the binary path yields a {@link LogEvent} with
+ * its fields; a consumer that needs the fields of a text line still has to parse it on top.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogSerializationBenchmark {
+
+    private static final String TOPIC = "application-logs";
+    private static final int EVENTS = 1024;
+
+    private Path registryDirectory;
+    private LogEvent[] events;
+    private byte[][] textPayloads;
+    private byte[][] binaryPayloads;
+    private StringSerializer textSerializer;
+    private StringDeserializer textDeserializer;
+    private LogEventSerializer binarySerializer;
+    private LogEventDeserializer binaryDeserializer;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        registryDirectory = Files.createTempDirectory("log-schemas");
+        FileSchemaRegistry registry = new FileSchemaRegistry(registryDirectory);
+        textSerializer = new StringSerializer();
+        textDeserializer = new StringDeserializer();
+        binarySerializer = new LogEventSerializer(registry);
+        binaryDeserializer = new LogEventDeserializer(registry);
+
+        events = LogEvents.sample(EVENTS, new Random(42));
+        textPayloads = new byte[EVENTS][];
+        binaryPayloads = new byte[EVENTS][];
+        long textBytes = 0;
+        long binaryBytes = 0;
+        for (int i = 0; i < EVENTS; i++) {
+            textPayloads[i] = textSerializer.serialize(TOPIC, events[i].toText());
+            binaryPayloads[i] = binarySerializer.serialize(TOPIC, events[i]);
+            textBytes += textPayloads[i].length;
+            binaryBytes += binaryPayloads[i].length;
+        }
+        System.out.printf("%nAverage payload: text %.1f bytes, binary %.1f bytes%n",
+                (double) textBytes / EVENTS, (double) binaryBytes / EVENTS);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(registryDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Formatting the line from the event and encoding it.
+     */
+    @Benchmark
+    public byte[] serializeText() {
+        return textSerializer.serialize(TOPIC, nextEvent().toText());
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(TOPIC, nextEvent());
+    }
+
+    @Benchmark
+    public String deserializeText() {
+        return textDeserializer.deserialize(TOPIC, textPayloads[nextIndex()]);
+    }
+
+    @Benchmark
+    public LogEvent deserializeBinary() {
+        return binaryDeserializer.deserialize(TOPIC, binaryPayloads[nextIndex()]);
+    }
+
+    private LogEvent nextEvent() {
+        return events[nextIndex()];
+    }
+
+    private int nextIndex() {
+        return next++ & (EVENTS - 1);
+    }
+}
@@ -2,8 +2,10 @@ package com.myapp.kafka.log.consumer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling // Evaluate the error rate alerts every second
 public class LogAggregatorApplication {
 
     public static void main(String[] args) {
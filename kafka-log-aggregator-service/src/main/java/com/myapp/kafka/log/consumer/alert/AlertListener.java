@@ -0,0 +1,14 @@
+package com.myapp.kafka.log.consumer.alert;
+
+import com.myapp.kafka.log.consumer.model.ErrorRateAlert;
+
+/**
+ * Notified when an error rate alert fires or resolves. Every bean of this type is called, on
+ * the thread that evaluates the thresholds, so implementations should hand slow work off.
+ */
+public interface AlertListener {
+
+    void fired(ErrorRateAlert alert);
+
+    void resolved(ErrorRateAlert alert);
+}
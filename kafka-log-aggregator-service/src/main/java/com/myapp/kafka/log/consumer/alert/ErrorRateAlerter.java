@@ -0,0 +1,107 @@
+package com.myapp.kafka.log.consumer.alert;
+
+import com.myapp.kafka.log.consumer.model.ErrorRateAlert;
+import com.myapp.kafka.log.consumer.model.LevelRollup;
+import com.myapp.kafka.log.consumer.model.LogRollup;
+import com.myapp.kafka.log.consumer.service.LogRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks the error rate of every service, and of all together, against
+ * {@code app.alert.error-rate.threshold} each second, over the last
+ * {@code app.alert.error-rate.window-seconds}. An alert fires when the rate reaches the
+ * threshold with at least {@code app.alert.error-rate.min-events} logs in the window, so a
+ * handful of logs cannot trip it, and resolves when that no longer holds.
+ */
+@Component
+public class ErrorRateAlerter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ErrorRateAlerter.class);
+
+    // Key of the alert on all services, which has no service name
+    private static final String ALL_SERVICES = "";
+
+    private final LogRollupService rollups;
+    private final List<AlertListener> listeners;
+    private final Map<String, ErrorRateAlert> firing = new ConcurrentHashMap<>();
+
+    @Value("${app.alert.error-rate.threshold:0.1}")
+    private double threshold;
+
+    @Value("${app.alert.error-rate.window-seconds:10}")
+    private int windowSeconds;
+
+    @Value("${app.alert.error-rate.min-events:50}")
+    private long minEvents;
+
+    public ErrorRateAlerter(LogRollupService rollups, List<AlertListener> listeners) {
+        this.rollups = rollups;
+        this.listeners = listeners;
+    }
+
+    /**
+     * Alerts firing now.
+     */
+    public List<ErrorRateAlert> firing() {
+        return new ArrayList<>(firing.values());
+    }
+
+    @Scheduled(fixedRateString = "${app.alert.error-rate.check-interval-ms:1000}")
+    public void evaluate() {
+        LogRollup rollup = rollups.rollup(windowSeconds);
+        Set<String> seen = new HashSet<>();
+        check(ALL_SERVICES, rollup.getAll());
+        seen.add(ALL_SERVICES);
+        for (Map.Entry<String, LevelRollup> service : rollup.getServices().entrySet()) {
+            check(service.getKey(), service.getValue());
+            seen.add(service.getKey());
+        }
+        // Services without logs in the window are no longer erring
+        for (String service : new ArrayList<>(firing.keySet())) {
+            if (!seen.contains(service)) {
+                check(service, new LevelRollup());
+            }
+        }
+    }
+
+    private void check(String key, LevelRollup rollup) {
+        boolean breached = rollup.getTotal() >= minEvents && rollup.getErrorRate() >= threshold;
+        ErrorRateAlert alert = firing.get(key);
+        if (breached && alert == null) {
+            alert = new ErrorRateAlert(key.equals(ALL_SERVICES) ? null : key, rollup.getErrorRate(),
+                    rollup.getTotal(), threshold, windowSeconds, Instant.now(), null);
+            firing.put(key, alert);
+            notifyListeners(alert, true);
+        } else if (!breached && alert != null) {
+            firing.remove(key);
+            alert.setResolvedAt(Instant.now());
+            notifyListeners(alert, false);
+        }
+    }
+
+    private void notifyListeners(ErrorRateAlert alert, boolean fired) {
+        for (AlertListener listener : listeners) {
+            try {
+                if (fired) {
+                    listener.fired(alert);
+                } else {
+                    listener.resolved(alert);
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Alert listener {} failed: {}", listener.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.myapp.kafka.log.consumer.alert;
+
+import com.myapp.kafka.log.consumer.model.ErrorRateAlert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingAlertListener implements AlertListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingAlertListener.class);
+
+    @Override
+    public void fired(ErrorRateAlert alert) {
+        logger.error("!!! ERROR RATE ALERT for {}: {}% of {} logs in the last {}s (threshold {}%)",
+                scope(alert), percent(alert.getErrorRate()), alert.getTotal(), alert.getWindowSeconds(),
+                percent(alert.getThreshold()));
+    }
+
+    @Override
+    public void resolved(ErrorRateAlert alert) {
+        logger.info("Error rate alert for {} resolved after {}s", scope(alert),
+                alert.getResolvedAt().getEpochSecond() - alert.getFiredAt().getEpochSecond());
+    }
+
+    private static String scope(ErrorRateAlert alert) {
+        return alert.getService() != null ? alert.getService() : "all services";
+    }
+
+    private static String percent(double rate) {
+        return String.format("%.1f", rate * 100);
+    }
+}
@@ -0,0 +1,33 @@
+package com.myapp.kafka.log.consumer.config;
+
+import com.myapp.kafka.log.consumer.parse.JsonLogFormat;
+import com.myapp.kafka.log.consumer.parse.LogFormat;
+import com.myapp.kafka.log.consumer.parse.PatternLogFormat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The layout text log records are parsed with: {@code app.log.parser.format=line} for the
+ * producer's own lines, {@code json} for one JSON object per line, or {@code pattern} for the
+ * layout given by {@code app.log.parser.pattern}.
+ */
+@Configuration
+public class LogParserConfig {
+
+    @Bean
+    public LogFormat logFormat(@Value("${app.log.parser.format:line}") String format,
+                               @Value("${app.log.parser.pattern:}") String pattern) {
+        return switch (format) {
+            case "line" -> PatternLogFormat.LINE;
+            case "json" -> new JsonLogFormat();
+            case "pattern" -> {
+                if (pattern.isBlank()) {
+                    throw new IllegalArgumentException("app.log.parser.pattern is required with app.log.parser.format=pattern");
+                }
+                yield new PatternLogFormat(pattern);
+            }
+            default -> throw new IllegalArgumentException("Unknown app.log.parser.format: " + format);
+        };
+    }
+}
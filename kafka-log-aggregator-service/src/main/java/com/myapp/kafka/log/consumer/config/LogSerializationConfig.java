@@ -0,0 +1,36 @@
+package com.myapp.kafka.log.consumer.config;
+
+import com.myapp.kafka.schema.FileSchemaRegistry;
+import com.myapp.kafka.schema.SchemaRegistry;
+import com.myapp.kafka.schema.log.LogEventDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaConsumerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Reads log events as binary records instead of text lines, enabled with
+ * {@code app.kafka.format=binary}. The producer must run with the same format and registry directory.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.kafka.format", havingValue = "binary")
+public class LogSerializationConfig {
+
+    @Bean
+    public SchemaRegistry schemaRegistry(@Value("${app.kafka.schema-registry.dir}") String directory) {
+        return new FileSchemaRegistry(Path.of(directory));
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaConsumerFactoryCustomizer logEventDeserializerCustomizer(SchemaRegistry schemaRegistry) {
+        Deserializer<?> deserializer = new LogEventDeserializer(schemaRegistry);
+        return consumerFactory -> ((DefaultKafkaConsumerFactory<Object, Object>) consumerFactory)
+                .setValueDeserializer((Deserializer<Object>) deserializer);
+    }
+}
@@ -0,0 +1,35 @@
+package com.myapp.kafka.log.consumer.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for an external bulk indexing endpoint, which the HTTP sink posts to by default. It
+ * counts the documents and discards them. {@code app.bulk.stand-in.delay-ms} slows every
+ * request down, to watch the pipeline apply backpressure to a slow sink.
+ */
+@RestController
+@RequestMapping("/api/bulk")
+public class BulkIngestController {
+
+    private final AtomicLong accepted = new AtomicLong();
+
+    @Value("${app.bulk.stand-in.delay-ms:0}")
+    private long delayMs;
+
+    @PostMapping(consumes = "application/x-ndjson")
+    public ResponseEntity<Map<String, Long>> ingest(@RequestBody String body) throws InterruptedException {
+        if (delayMs > 0) {
+            Thread.sleep(delayMs);
+        }
+        long documents = body.lines().filter(line -> !line.isBlank()).count();
+        return ResponseEntity.ok(Map.of("documents", documents, "total", accepted.addAndGet(documents)));
+    }
+}
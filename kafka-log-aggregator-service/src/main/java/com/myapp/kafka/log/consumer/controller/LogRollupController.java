@@ -0,0 +1,48 @@
+package com.myapp.kafka.log.consumer.controller;
+
+import com.myapp.kafka.log.consumer.alert.ErrorRateAlerter;
+import com.myapp.kafka.log.consumer.model.ErrorRateAlert;
+import com.myapp.kafka.log.consumer.model.LogRollup;
+import com.myapp.kafka.log.consumer.service.LogRollupService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Current log rollups and error rate alerts, e.g. {@code curl localhost:8080/api/logs/rollups?window=10}
+ */
+@RestController
+@RequestMapping("/api/logs")
+public class LogRollupController {
+
+    private final LogRollupService rollupService;
+    private final ErrorRateAlerter alerter;
+
+    public LogRollupController(LogRollupService rollupService, ErrorRateAlerter alerter) {
+        this.rollupService = rollupService;
+        this.alerter = alerter;
+    }
+
+    /**
+     * Counts by level and service over the last {@code window} seconds, by default the longest kept.
+     */
+    @GetMapping("/rollups")
+    public ResponseEntity<LogRollup> rollups(@RequestParam(required = false) Integer window) {
+        return ResponseEntity.ok(rollupService.rollup(window != null ? window : rollupService.getWindowSeconds()));
+    }
+
+    @GetMapping("/alerts")
+    public ResponseEntity<List<ErrorRateAlert>> alerts() {
+        return ResponseEntity.ok(alerter.firing());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidWindow(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
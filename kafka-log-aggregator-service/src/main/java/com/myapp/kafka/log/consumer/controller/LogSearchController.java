@@ -0,0 +1,64 @@
+package com.myapp.kafka.log.consumer.controller;
+
+import com.myapp.kafka.log.consumer.model.LogQuery;
+import com.myapp.kafka.log.consumer.model.LogSearchResult;
+import com.myapp.kafka.log.consumer.model.LogStoreStats;
+import com.myapp.kafka.log.consumer.parse.LogLevel;
+import com.myapp.kafka.log.consumer.store.LogStore;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Searches the logs kept in the aggregator's store, e.g.
+ * {@code curl 'localhost:8080/api/logs/search?service=OrderService&level=ERROR&from=2024-05-01T10:00:00Z'}
+ */
+@RestController
+@RequestMapping("/api/logs")
+public class LogSearchController {
+
+    private static final Duration DEFAULT_RANGE = Duration.ofHours(1);
+
+    private final LogStore logStore;
+
+    public LogSearchController(LogStore logStore) {
+        this.logStore = logStore;
+    }
+
+    /**
+     * Logs timestamped between {@code from} and {@code to}, by default the last hour, of any of
+     * the given services and levels, most recently stored first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<LogSearchResult> search(@RequestParam(required = false) Instant from,
+                                                  @RequestParam(required = false) Instant to,
+                                                  @RequestParam(required = false) List<String> service,
+                                                  @RequestParam(required = false) List<LogLevel> level,
+                                                  @RequestParam(required = false) String contains,
+                                                  @RequestParam(defaultValue = "100") int limit) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(DEFAULT_RANGE);
+        LogQuery query = new LogQuery(start.toEpochMilli(), end.toEpochMilli(),
+                service != null ? new HashSet<>(service) : null, level != null ? new HashSet<>(level) : null,
+                contains, limit);
+        return ResponseEntity.ok(logStore.search(query));
+    }
+
+    @GetMapping("/store")
+    public ResponseEntity<LogStoreStats> store() {
+        return ResponseEntity.ok(logStore.stats());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidQuery(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+}
@@ -0,0 +1,125 @@
+package com.myapp.kafka.log.consumer.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of the log listener. Spring Boot installs any record or batch
+ * interceptor bean on its listener container factory, so every record passes through here,
+ * alone or in its poll.
+ * <p>
+ * Publishes {@code kafka.listener.records} and {@code kafka.listener.bytes} per topic and
+ * partition, histograms of {@code kafka.listener.processing} time per record or poll and of
+ * {@code kafka.listener.end.to.end} latency from the record timestamp until the listener is
+ * done with it, and {@code kafka.listener.failures}. With the batch listener, the listener is
+ * done once it has handed the poll to the log pipeline, whose own {@code log.pipeline.delivery}
+ * latency runs until the sinks have the logs. Per-partition lag is the consumer's own
+ * {@code records-lag} metric, which Spring Boot binds to the registry for its consumer factory.
+ */
+@Component
+public class LogListenerMetrics implements RecordInterceptor<Object, Object>, BatchInterceptor<Object, Object> {
+
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofMinutes(10);
+
+    private final MeterRegistry registry;
+    private final Map<TopicPartition, PartitionMeters> partitions = new ConcurrentHashMap<>();
+    private final Timer processing;
+    private final Counter failures;
+    // Each listener container thread handles one record or poll at a time
+    private final ThreadLocal<long[]> started = ThreadLocal.withInitial(() -> new long[1]);
+
+    public LogListenerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.processing = Timer.builder("kafka.listener.processing")
+                .description("Time spent in the listener per record or poll")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(registry);
+        this.failures = Counter.builder("kafka.listener.failures")
+                .description("Records or polls the listener threw on")
+                .register(registry);
+    }
+
+    @Override
+    public ConsumerRecord<Object, Object> intercept(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        started.get()[0] = System.nanoTime();
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<Object, Object> record, Consumer<Object, Object> consumer) {
+        processing.record(System.nanoTime() - started.get()[0], TimeUnit.NANOSECONDS);
+        recordProcessed(record, System.currentTimeMillis());
+    }
+
+    @Override
+    public void failure(ConsumerRecord<Object, Object> record, Exception exception, Consumer<Object, Object> consumer) {
+        failures.increment();
+    }
+
+    @Override
+    public ConsumerRecords<Object, Object> intercept(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        started.get()[0] = System.nanoTime();
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<Object, Object> records, Consumer<Object, Object> consumer) {
+        processing.record(System.nanoTime() - started.get()[0], TimeUnit.NANOSECONDS);
+        long now = System.currentTimeMillis();
+        for (ConsumerRecord<Object, Object> record : records) {
+            recordProcessed(record, now);
+        }
+    }
+
+    @Override
+    public void failure(ConsumerRecords<Object, Object> records, Exception exception, Consumer<Object, Object> consumer) {
+        failures.increment();
+    }
+
+    private void recordProcessed(ConsumerRecord<Object, Object> record, long now) {
+        PartitionMeters meters = partitions.computeIfAbsent(new TopicPartition(record.topic(), record.partition()),
+                this::partitionMeters);
+        meters.records().increment();
+        meters.bytes().increment(Math.max(0, record.serializedKeySize()) + Math.max(0, record.serializedValueSize()));
+        // Producer and consumer clocks may disagree slightly; never record a negative latency
+        meters.endToEnd().record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS);
+    }
+
+    private PartitionMeters partitionMeters(TopicPartition partition) {
+        String topic = partition.topic();
+        String number = Integer.toString(partition.partition());
+        return new PartitionMeters(
+                Counter.builder("kafka.listener.records")
+                        .description("Records processed by the listener")
+                        .tags("topic", topic, "partition", number)
+                        .register(registry),
+                Counter.builder("kafka.listener.bytes")
+                        .description("Serialized key and value bytes of the records processed")
+                        .baseUnit("bytes")
+                        .tags("topic", topic, "partition", number)
+                        .register(registry),
+                Timer.builder("kafka.listener.end.to.end")
+                        .description("Time from the record timestamp until the record was processed")
+                        .tags("topic", topic)
+                        .publishPercentileHistogram()
+                        .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                        .register(registry));
+    }
+
+    private record PartitionMeters(Counter records, Counter bytes, Timer endToEnd) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.myapp.kafka.log.consumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * The error rate of a service, or of all services when {@code service} is null, at or above
+ * the threshold. The rate and total are those it fired with; {@code resolvedAt} is set once
+ * the rate is below the threshold again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorRateAlert {
+    private String service;
+    private double errorRate;
+    private long total;
+    private double threshold;
+    private int windowSeconds;
+    private Instant firedAt;
+    private Instant resolvedAt;
+}
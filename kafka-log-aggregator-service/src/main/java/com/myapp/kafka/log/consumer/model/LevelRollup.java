@@ -0,0 +1,21 @@
+package com.myapp.kafka.log.consumer.model;
+
+import com.myapp.kafka.log.consumer.parse.LogLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Log counts of one service, or of all, by level. The error rate is the share of ERROR and
+ * FATAL logs, 0 without logs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LevelRollup {
+    private long total;
+    private double errorRate;
+    private Map<LogLevel, Long> levels;
+}
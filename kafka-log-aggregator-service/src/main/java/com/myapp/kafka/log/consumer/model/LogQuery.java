@@ -0,0 +1,25 @@
+package com.myapp.kafka.log.consumer.model;
+
+import com.myapp.kafka.log.consumer.parse.LogLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * A search of the log store: logs timestamped within {@code [from, to]} in epoch milliseconds,
+ * of any of the services and levels given, or of all when none are, whose message contains the
+ * given text if any. At most {@code limit} logs are returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogQuery {
+    private long from;
+    private long to;
+    private Set<String> services;
+    private Set<LogLevel> levels;
+    private String contains;
+    private int limit;
+}
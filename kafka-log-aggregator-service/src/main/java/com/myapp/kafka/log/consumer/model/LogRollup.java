@@ -0,0 +1,22 @@
+package com.myapp.kafka.log.consumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Logs received over the window ending at {@code asOf}, overall and per service. The window
+ * covers the given number of whole seconds and the second in progress.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogRollup {
+    private int windowSeconds;
+    private Instant asOf;
+    private LevelRollup all;
+    private Map<String, LevelRollup> services;
+}
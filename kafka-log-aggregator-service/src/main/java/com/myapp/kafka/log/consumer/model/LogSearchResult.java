@@ -0,0 +1,22 @@
+package com.myapp.kafka.log.consumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Logs matching a search, most recently stored first, with how much of the store was read to
+ * find them: the segments and batches the indexes could not rule out. {@code truncated} is set
+ * when the limit cut the search short.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogSearchResult {
+    private List<StoredLog> logs;
+    private int segmentsScanned;
+    private int batchesScanned;
+    private boolean truncated;
+}
@@ -0,0 +1,22 @@
+package com.myapp.kafka.log.consumer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Contents of the log store. Timestamps are those of the oldest and newest logs held, 0 while
+ * the store is empty; bytes are those written, not the size of the sparse segment files.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogStoreStats {
+    private int segments;
+    private long bytes;
+    private long batches;
+    private long records;
+    private long pendingRecords;
+    private long oldestTimestamp;
+    private long newestTimestamp;
+}
@@ -0,0 +1,17 @@
+package com.myapp.kafka.log.consumer.model;
+
+import com.myapp.kafka.log.consumer.parse.LogLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredLog {
+    private long timestamp;
+    private LogLevel level;
+    private String service;
+    private String thread;
+    private String message;
+}
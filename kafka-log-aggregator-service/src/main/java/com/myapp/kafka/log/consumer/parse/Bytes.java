@@ -0,0 +1,122 @@
+package com.myapp.kafka.log.consumer.parse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+/**
+ * Scanning helpers over UTF-8 bytes. The formats only look for ASCII delimiters, which never
+ * occur inside a multi-byte UTF-8 sequence, so no decoding is needed until a value is used.
+ */
+final class Bytes {
+
+    private Bytes() {
+    }
+
+    static boolean matches(byte[] source, int position, int end, byte[] literal) {
+        if (end - position < literal.length) {
+            return false;
+        }
+        for (int i = 0; i < literal.length; i++) {
+            if (source[position + i] != literal[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean equalsIgnoreCase(byte[] source, int start, byte[] upperAscii) {
+        for (int i = 0; i < upperAscii.length; i++) {
+            int b = source[start + i];
+            if (b >= 'a' && b <= 'z') {
+                b -= 'a' - 'A';
+            }
+            if (b != upperAscii[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Position of the first occurrence of the literal in {@code [from, to)}, or -1.
+     */
+    static int indexOf(byte[] source, int from, int to, byte[] literal) {
+        byte first = literal[0];
+        for (int i = from, last = to - literal.length; i <= last; i++) {
+            if (source[i] == first && matches(source, i, to, literal)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The non-negative decimal number spelled by the bytes, or -1 if they are not one.
+     */
+    static long parseDecimal(byte[] source, int start, int end) {
+        if (start == end || end - start > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = source[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    static String utf8(byte[] source, int start, int length) {
+        return new String(source, start, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The contents of a JSON string, given without its quotes, with escapes resolved. A unicode
+     * escape without four hex digits is kept as written rather than failing, since the line has
+     * already been accepted by the time its message is decoded.
+     */
+    static String unescapeJson(byte[] source, int start, int length) {
+        String raw = utf8(source, start, length);
+        StringBuilder text = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            char c = raw.charAt(i);
+            if (c != '\\' || i + 1 == raw.length()) {
+                text.append(c);
+                continue;
+            }
+            char escaped = raw.charAt(++i);
+            switch (escaped) {
+                case 'b' -> text.append('\b');
+                case 'f' -> text.append('\f');
+                case 'n' -> text.append('\n');
+                case 'r' -> text.append('\r');
+                case 't' -> text.append('\t');
+                case 'u' -> {
+                    if (isHex(raw, i + 1, i + 5)) {
+                        text.append((char) HexFormat.fromHexDigits(raw, i + 1, i + 5));
+                        i += 4;
+                    } else {
+                        // Not followed by four hex digits: keep the escape as written
+                        text.append('\\').append('u');
+                    }
+                }
+                default -> text.append(escaped);
+            }
+        }
+        return text.toString();
+    }
+
+    private static boolean isHex(String text, int start, int end) {
+        if (end > text.length()) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (!HexFormat.isHexDigit(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,209 @@
+package com.myapp.kafka.log.consumer.parse;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One JSON object per line, e.g.
+ * {@code {"level":"ERROR","timestamp":1700000000000,"service":"OrderService","thread":"main","message":"..."}}.
+ * <p>
+ * Only the top level is read: the field names are configurable, the timestamp is a number of
+ * epoch milliseconds, other members of any type are skipped, and level, timestamp and message
+ * are required. Strings stay ranges of the record's bytes; escapes are only resolved when the
+ * message is decoded.
+ */
+public class JsonLogFormat implements LogFormat {
+
+    private final byte[] levelName;
+    private final byte[] timestampName;
+    private final byte[] serviceName;
+    private final byte[] threadName;
+    private final byte[] messageName;
+    private final SymbolTable services = new SymbolTable();
+    private final SymbolTable threads = new SymbolTable();
+
+    public JsonLogFormat() {
+        this("level", "timestamp", "service", "thread", "message");
+    }
+
+    public JsonLogFormat(String levelName, String timestampName, String serviceName, String threadName,
+                         String messageName) {
+        this.levelName = levelName.getBytes(StandardCharsets.UTF_8);
+        this.timestampName = timestampName.getBytes(StandardCharsets.UTF_8);
+        this.serviceName = serviceName.getBytes(StandardCharsets.UTF_8);
+        this.threadName = threadName.getBytes(StandardCharsets.UTF_8);
+        this.messageName = messageName.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean parse(byte[] source, int start, int length, LogEntry entry) {
+        entry.reset(source);
+        Scanner scanner = new Scanner(source, start, start + length);
+        boolean level = false;
+        boolean timestamp = false;
+        boolean message = false;
+        if (!scanner.consume('{')) {
+            return false;
+        }
+        if (!scanner.consume('}')) {
+            do {
+                if (!scanner.string()) {
+                    return false;
+                }
+                int nameStart = scanner.stringStart;
+                int nameLength = scanner.stringEnd - nameStart;
+                if (!scanner.consume(':')) {
+                    return false;
+                }
+                if (is(source, nameStart, nameLength, timestampName)) {
+                    long value = scanner.number();
+                    if (value < 0) {
+                        return false;
+                    }
+                    entry.setTimestamp(value);
+                    timestamp = true;
+                } else if (is(source, nameStart, nameLength, levelName)) {
+                    if (!scanner.string()) {
+                        return false;
+                    }
+                    entry.setLevel(LogLevel.of(source, scanner.stringStart, scanner.stringEnd - scanner.stringStart));
+                    level = true;
+                } else if (is(source, nameStart, nameLength, messageName)) {
+                    if (!scanner.string()) {
+                        return false;
+                    }
+                    entry.setMessage(scanner.stringStart, scanner.stringEnd - scanner.stringStart, scanner.escaped);
+                    message = true;
+                } else if (is(source, nameStart, nameLength, serviceName)) {
+                    if (!scanner.string()) {
+                        return false;
+                    }
+                    entry.setService(symbol(services, source, scanner));
+                } else if (is(source, nameStart, nameLength, threadName)) {
+                    if (!scanner.string()) {
+                        return false;
+                    }
+                    entry.setThread(symbol(threads, source, scanner));
+                } else if (!scanner.skipValue()) {
+                    return false;
+                }
+            } while (scanner.consume(','));
+            if (!scanner.consume('}')) {
+                return false;
+            }
+        }
+        return level && timestamp && message && scanner.atEnd();
+    }
+
+    private static boolean is(byte[] source, int start, int length, byte[] name) {
+        return name.length == length && Bytes.matches(source, start, start + length, name);
+    }
+
+    private static String symbol(SymbolTable table, byte[] source, Scanner scanner) {
+        int length = scanner.stringEnd - scanner.stringStart;
+        return scanner.escaped
+                ? Bytes.unescapeJson(source, scanner.stringStart, length)
+                : table.lookup(source, scanner.stringStart, length);
+    }
+
+    /**
+     * Cursor over one line. A string read leaves the range of its contents, without the quotes.
+     */
+    private static final class Scanner {
+
+        private final byte[] source;
+        private final int end;
+        private int position;
+        private int stringStart;
+        private int stringEnd;
+        private boolean escaped;
+
+        private Scanner(byte[] source, int start, int end) {
+            this.source = source;
+            this.position = start;
+            this.end = end;
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (position < end && source[position] == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean atEnd() {
+            skipWhitespace();
+            return position == end;
+        }
+
+        boolean string() {
+            if (!consume('"')) {
+                return false;
+            }
+            stringStart = position;
+            escaped = false;
+            while (position < end) {
+                byte b = source[position++];
+                if (b == '"') {
+                    stringEnd = position - 1;
+                    return true;
+                }
+                if (b == '\\') {
+                    escaped = true;
+                    position++;
+                }
+            }
+            return false;
+        }
+
+        long number() {
+            skipWhitespace();
+            int start = position;
+            while (position < end && source[position] >= '0' && source[position] <= '9') {
+                position++;
+            }
+            return Bytes.parseDecimal(source, start, position);
+        }
+
+        /**
+         * Skip a value of any type, nested ones included.
+         */
+        boolean skipValue() {
+            skipWhitespace();
+            int depth = 0;
+            while (position < end) {
+                byte b = source[position];
+                if (b == '"') {
+                    if (!string()) {
+                        return false;
+                    }
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                    position++;
+                } else if (b == '}' || b == ']') {
+                    if (depth == 0) {
+                        return true;
+                    }
+                    depth--;
+                    position++;
+                } else if (b == ',' && depth == 0) {
+                    return true;
+                } else {
+                    position++;
+                }
+                if (depth == 0 && (b == '"' || b == '}' || b == ']')) {
+                    return true;
+                }
+            }
+            return depth == 0;
+        }
+
+        private void skipWhitespace() {
+            while (position < end && (source[position] == ' ' || source[position] == '\t'
+                    || source[position] == '\n' || source[position] == '\r')) {
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.myapp.kafka.log.consumer.parse;
+
+import com.myapp.kafka.schema.log.LogEvent;
+
+/**
+ * A log record broken into its fields, filled in by a {@link LogFormat}.
+ * <p>
+ * Entries are meant to be reused: a listener thread keeps one and parses every record into it.
+ * Level and timestamp are held as an enum and a long, service and thread as canonical strings,
+ * and the message as a range of the record's bytes that is only decoded if asked for, so
+ * parsing a record allocates nothing. The entry is only valid while those bytes are.
+ */
+public class LogEntry {
+
+    private byte[] source;
+    private LogLevel level = LogLevel.UNKNOWN;
+    private long timestamp;
+    private String service;
+    private String thread;
+    private int messageStart;
+    private int messageLength;
+    private boolean messageEscaped;
+    private String messageText;
+
+    /**
+     * Start over for a record with the given bytes.
+     */
+    public void reset(byte[] source) {
+        this.source = source;
+        this.level = LogLevel.UNKNOWN;
+        this.timestamp = 0;
+        this.service = null;
+        this.thread = null;
+        this.messageStart = 0;
+        this.messageLength = 0;
+        this.messageEscaped = false;
+        this.messageText = null;
+    }
+
+    /**
+     * Fill the entry from a binary record's event.
+     */
+    public void set(LogEvent event) {
+        reset(null);
+        this.level = LogLevel.of(event.getLevel());
+        this.timestamp = event.getTimestamp();
+        this.service = event.getService();
+        this.thread = event.getThread();
+        this.messageText = event.getMessage() != null ? event.getMessage() : "";
+    }
+
+    public LogLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(LogLevel level) {
+        this.level = level;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    public void setService(String service) {
+        this.service = service;
+    }
+
+    public String getThread() {
+        return thread;
+    }
+
+    public void setThread(String thread) {
+        this.thread = thread;
+    }
+
+    /**
+     * Set the message to a range of the source bytes, holding a JSON string body if escaped.
+     */
+    public void setMessage(int start, int length, boolean escaped) {
+        this.messageStart = start;
+        this.messageLength = length;
+        this.messageEscaped = escaped;
+        this.messageText = null;
+    }
+
+    /**
+     * The message, decoded now.
+     */
+    public String getMessage() {
+        if (messageText != null) {
+            return messageText;
+        }
+        if (source == null) {
+            return "";
+        }
+        return messageEscaped
+                ? Bytes.unescapeJson(source, messageStart, messageLength)
+                : Bytes.utf8(source, messageStart, messageLength);
+    }
+
+    /**
+     * Whether the message is a plain UTF-8 range of {@link #getSource()} that can be copied as is.
+     */
+    public boolean hasRawMessage() {
+        return messageText == null && source != null && !messageEscaped;
+    }
+
+    public byte[] getSource() {
+        return source;
+    }
+
+    public int getMessageStart() {
+        return messageStart;
+    }
+
+    public int getMessageLength() {
+        return messageLength;
+    }
+
+    /**
+     * The entry in the {@code [LEVEL] - timestamp - service - thread: message} line format.
+     */
+    @Override
+    public String toString() {
+        return "[" + level + "] - " + timestamp + " - " + service + " - " + thread + ": " + getMessage();
+    }
+}
@@ -0,0 +1,21 @@
+package com.myapp.kafka.log.consumer.parse;
+
+/**
+ * A log line layout the aggregator can parse, chosen with {@code app.log.parser.format}.
+ * <p>
+ * Implementations scan the bytes once, without regular expressions or intermediate strings,
+ * and must be safe to share between listener threads.
+ */
+public interface LogFormat {
+
+    /**
+     * Parse {@code source[start, start + length)} into the entry, which is reset first.
+     *
+     * @return false if the bytes are not in this format; the entry is then undefined
+     */
+    boolean parse(byte[] source, int start, int length, LogEntry entry);
+
+    default boolean parse(byte[] source, LogEntry entry) {
+        return parse(source, 0, source.length, entry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.myapp.kafka.log.consumer.parse;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Severity of a parsed log entry. Levels a format does not know parse as {@link #UNKNOWN}.
+ */
+public enum LogLevel {
+    TRACE, DEBUG, INFO, WARN, ERROR, FATAL, UNKNOWN;
+
+    private static final LogLevel[] KNOWN = {TRACE, DEBUG, INFO, WARN, ERROR, FATAL};
+
+    private final byte[] ascii = name().getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The level spelled by the bytes, in any case, or {@link #UNKNOWN}.
+     */
+    public static LogLevel of(byte[] source, int start, int length) {
+        for (LogLevel level : KNOWN) {
+            if (level.ascii.length == length && Bytes.equalsIgnoreCase(source, start, level.ascii)) {
+                return level;
+            }
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * The level with the given name, in any case, or {@link #UNKNOWN}.
+     */
+    public static LogLevel of(String name) {
+        for (LogLevel level : KNOWN) {
+            if (level.name().equalsIgnoreCase(name)) {
+                return level;
+            }
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,145 @@
+package com.myapp.kafka.log.consumer.parse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lines laid out by a Grok-like pattern of literal text and {@code %{FIELD}} placeholders, e.g.
+ * {@code [%{LEVEL}] - %{TIMESTAMP} - %{SERVICE} - %{THREAD}: %{MESSAGE}}, the layout the log
+ * producer writes and {@link #LINE} parses.
+ * <p>
+ * Fields are LEVEL, TIMESTAMP (epoch milliseconds), SERVICE, THREAD, MESSAGE and DATA, which is
+ * skipped. Each field runs up to the first occurrence of the literal after it, except the last,
+ * which runs to the literal the line ends with, or to the end of the line. So consecutive
+ * fields need a literal between them, and a field only ends at the first occurrence of its
+ * delimiter. Unlike Grok there are no regular expressions: a line is matched in a single scan.
+ */
+public class PatternLogFormat implements LogFormat {
+
+    public static final String LINE_PATTERN = "[%{LEVEL}] - %{TIMESTAMP} - %{SERVICE} - %{THREAD}: %{MESSAGE}";
+
+    public static final PatternLogFormat LINE = new PatternLogFormat(LINE_PATTERN);
+
+    private enum Field {
+        LEVEL, TIMESTAMP, SERVICE, THREAD, MESSAGE, DATA
+    }
+
+    private final String pattern;
+    private final byte[] prefix;
+    private final Field[] fields;
+    // delimiters[i] follows fields[i]; only the last may be empty
+    private final byte[][] delimiters;
+    private final SymbolTable services = new SymbolTable();
+    private final SymbolTable threads = new SymbolTable();
+
+    /**
+     * @throws IllegalArgumentException if the pattern is malformed, repeats a field other than
+     *                                  DATA, or has two fields with no literal between them
+     */
+    public PatternLogFormat(String pattern) {
+        this.pattern = pattern;
+        List<Field> fieldList = new ArrayList<>();
+        List<String> literals = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (position < pattern.length()) {
+            int open = pattern.indexOf("%{", position);
+            if (open < 0) {
+                literal.append(pattern, position, pattern.length());
+                break;
+            }
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed field at " + open + " in pattern " + pattern);
+            }
+            literal.append(pattern, position, open);
+            Field field = field(pattern.substring(open + 2, close), pattern);
+            if (field != Field.DATA && fieldList.contains(field)) {
+                throw new IllegalArgumentException("Field " + field + " appears twice in pattern " + pattern);
+            }
+            if (!fieldList.isEmpty() && literal.isEmpty()) {
+                throw new IllegalArgumentException("Fields need a literal between them in pattern " + pattern);
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            fieldList.add(field);
+            position = close + 1;
+        }
+        literals.add(literal.toString());
+
+        this.prefix = literals.get(0).getBytes(StandardCharsets.UTF_8);
+        this.fields = fieldList.toArray(new Field[0]);
+        this.delimiters = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            delimiters[i] = literals.get(i + 1).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public boolean parse(byte[] source, int start, int length, LogEntry entry) {
+        entry.reset(source);
+        int end = start + length;
+        if (!Bytes.matches(source, start, end, prefix)) {
+            return false;
+        }
+        int position = start + prefix.length;
+        int last = fields.length - 1;
+        for (int i = 0; i <= last; i++) {
+            byte[] delimiter = delimiters[i];
+            int valueEnd;
+            if (i < last) {
+                valueEnd = Bytes.indexOf(source, position, end, delimiter);
+                if (valueEnd < 0) {
+                    return false;
+                }
+            } else {
+                valueEnd = end - delimiter.length;
+                if (valueEnd < position || !Bytes.matches(source, valueEnd, end, delimiter)) {
+                    return false;
+                }
+            }
+            if (!assign(fields[i], source, position, valueEnd, entry)) {
+                return false;
+            }
+            position = valueEnd + delimiter.length;
+        }
+        return fields.length > 0 || position == end;
+    }
+
+    private boolean assign(Field field, byte[] source, int start, int end, LogEntry entry) {
+        switch (field) {
+            case LEVEL -> entry.setLevel(LogLevel.of(source, start, end - start));
+            case TIMESTAMP -> {
+                long timestamp = Bytes.parseDecimal(source, start, end);
+                if (timestamp < 0) {
+                    return false;
+                }
+                entry.setTimestamp(timestamp);
+            }
+            case SERVICE -> entry.setService(services.lookup(source, start, end - start));
+            case THREAD -> entry.setThread(threads.lookup(source, start, end - start));
+            case MESSAGE -> entry.setMessage(start, end - start, false);
+            case DATA -> {
+            }
+        }
+        return true;
+    }
+
+    private static Field field(String name, String pattern) {
+        try {
+            return Field.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown field %{" + name + "} in pattern " + pattern);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "pattern " + pattern;
+    }
+}
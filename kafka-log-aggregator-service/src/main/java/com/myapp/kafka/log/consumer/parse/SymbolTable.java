@@ -0,0 +1,52 @@
+package com.myapp.kafka.log.consumer.parse;
+
+/**
+ * Canonical strings for the few distinct service and thread names, looked up by their bytes so
+ * a parsed entry can carry them as strings without decoding every record.
+ * <p>
+ * Lock-free: entries are immutable, and a racing insert may at worst be lost and redone. Once
+ * the table is half full, new names are decoded each time instead of being added, which bounds
+ * the memory an unexpected flood of distinct names can take.
+ */
+final class SymbolTable {
+
+    private static final int CAPACITY = 1024;
+
+    private final Entry[] entries = new Entry[CAPACITY];
+    private int size;
+
+    String lookup(byte[] source, int start, int length) {
+        int hash = hash(source, start, length);
+        for (int i = hash & (CAPACITY - 1); ; i = (i + 1) & (CAPACITY - 1)) {
+            Entry entry = entries[i];
+            if (entry == null) {
+                String value = Bytes.utf8(source, start, length);
+                if (size < CAPACITY / 2) {
+                    byte[] bytes = new byte[length];
+                    System.arraycopy(source, start, bytes, 0, length);
+                    entries[i] = new Entry(hash, bytes, value);
+                    size++;
+                }
+                return value;
+            }
+            if (entry.hash == hash && entry.matches(source, start, length)) {
+                return entry.value;
+            }
+        }
+    }
+
+    private static int hash(byte[] source, int start, int length) {
+        int hash = 0;
+        for (int i = start, end = start + length; i < end; i++) {
+            hash = 31 * hash + source[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private record Entry(int hash, byte[] bytes, String value) {
+
+        boolean matches(byte[] source, int start, int length) {
+            return bytes.length == length && Bytes.matches(source, start, start + length, bytes);
+        }
+    }
+}
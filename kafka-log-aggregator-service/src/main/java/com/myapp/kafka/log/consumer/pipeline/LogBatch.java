@@ -0,0 +1,22 @@
+package com.myapp.kafka.log.consumer.pipeline;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.List;
+
+/**
+ * The records of one poll on their way through the pipeline, with the acknowledgment that
+ * commits their offsets once the sinks have them.
+ */
+final class LogBatch {
+
+    final List<ConsumerRecord<String, Object>> records;
+    final Acknowledgment acknowledgment;
+    volatile boolean delivered;
+
+    LogBatch(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        this.records = records;
+        this.acknowledgment = acknowledgment;
+    }
+}
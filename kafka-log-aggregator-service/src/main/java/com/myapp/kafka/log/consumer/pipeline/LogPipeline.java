@@ -0,0 +1,299 @@
+package com.myapp.kafka.log.consumer.pipeline;
+
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import com.myapp.kafka.log.consumer.parse.LogEntry;
+import com.myapp.kafka.log.consumer.service.LogProcessor;
+import com.myapp.kafka.log.consumer.sink.LogSink;
+import com.myapp.kafka.log.consumer.sink.RejectedLogsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves polled log records from the listener to the sinks in bulk.
+ * <p>
+ * The listener thread only puts each poll on a bounded lock-free queue. Worker threads take
+ * polls off it, process their records, and collect the logs until there are
+ * {@code app.pipeline.flush-records} or the oldest has waited {@code app.pipeline.flush-interval-ms}.
+ * They then write them to every sink in {@code app.pipeline.sinks}, retrying a failing sink with
+ * backoff up to {@code app.pipeline.sink-max-attempts} times, and acknowledge the polls. Logs a
+ * sink still fails on after that, or rejects outright, are counted, logged and skipped for that
+ * sink, so one bad batch never stalls the partitions behind it. Acknowledgments are passed on in the order the polls
+ * arrived, whichever worker finishes first, so a committed offset never skips logs that are
+ * still on their way: after a crash or rebalance, logs are delivered again rather than lost.
+ * A record that fails processing is logged, counted and skipped; any other failure leaves the
+ * worker running with the polls it holds, and it flushes them again.
+ * <p>
+ * A slow sink holds up its worker, the queue fills up, and the listener has polls redelivered
+ * after a pause instead of queueing them, so memory stays bounded and the consumer never falls
+ * out of its group for blocking too long.
+ */
+@Component
+public class LogPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogPipeline.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+    private static final long MAX_ENQUEUE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long INITIAL_RETRY_MILLIS = 100;
+    private static final long MAX_RETRY_MILLIS = 10_000;
+
+    private final LogProcessor processor;
+    private final List<LogSink> availableSinks;
+    private final MeterRegistry registry;
+    private final List<SinkMeters> sinks = new ArrayList<>();
+    // Polls handed to the workers and not yet acknowledged, in arrival order
+    private final ArrayDeque<LogBatch> inFlight = new ArrayDeque<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private MpmcArrayQueue<LogBatch> queue;
+    private Timer delivery;
+    private Counter failedRecords;
+    private volatile boolean running = true;
+
+    @Value("${app.pipeline.sinks:store}")
+    private List<String> sinkNames;
+
+    @Value("${app.pipeline.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${app.pipeline.workers:2}")
+    private int workerCount;
+
+    @Value("${app.pipeline.flush-records:5000}")
+    private int flushRecords;
+
+    @Value("${app.pipeline.flush-interval-ms:500}")
+    private long flushIntervalMs;
+
+    @Value("${app.pipeline.enqueue-timeout-ms:200}")
+    private long enqueueTimeoutMs;
+
+    @Value("${app.pipeline.sink-max-attempts:10}")
+    private int sinkMaxAttempts;
+
+    public LogPipeline(LogProcessor processor, List<LogSink> availableSinks, MeterRegistry registry) {
+        this.processor = processor;
+        this.availableSinks = availableSinks;
+        this.registry = registry;
+    }
+
+    @PostConstruct
+    public void start() {
+        for (String name : sinkNames) {
+            LogSink sink = availableSinks.stream()
+                    .filter(candidate -> candidate.name().equals(name.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown sink in app.pipeline.sinks: " + name));
+            sinks.add(new SinkMeters(sink,
+                    Timer.builder("log.pipeline.sink.write")
+                            .description("Time a sink took to accept a bulk write")
+                            .tag("sink", sink.name())
+                            .publishPercentileHistogram()
+                            .register(registry),
+                    Counter.builder("log.pipeline.sink.failures")
+                            .description("Bulk writes a sink failed")
+                            .tag("sink", sink.name())
+                            .register(registry),
+                    Counter.builder("log.pipeline.sink.dropped")
+                            .description("Logs a sink rejected or kept failing on, skipped for that sink")
+                            .tag("sink", sink.name())
+                            .register(registry)));
+        }
+        queue = new MpmcArrayQueue<>(queueCapacity);
+        Gauge.builder("log.pipeline.queue.size", queue, MpmcArrayQueue::size)
+                .description("Polls waiting for a pipeline worker")
+                .register(registry);
+        delivery = Timer.builder("log.pipeline.delivery")
+                .description("Time from the record timestamp until every sink had the log")
+                .publishPercentileHistogram()
+                .register(registry);
+        failedRecords = Counter.builder("log.pipeline.records.failed")
+                .description("Records that failed processing and were skipped")
+                .register(registry);
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "log-pipeline-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        logger.info("Log pipeline started: {} workers writing to {}", workerCount, sinkNames);
+    }
+
+    /**
+     * Queue a poll, waiting up to {@code app.pipeline.enqueue-timeout-ms} for room.
+     *
+     * @return false if the queue stayed full; the poll was not taken and must be redelivered
+     */
+    public boolean submit(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        LogBatch batch = new LogBatch(records, acknowledgment);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(enqueueTimeoutMs);
+        long park = 1_000;
+        while (!queue.offer(batch)) {
+            if (System.nanoTime() >= deadline || !running) {
+                return false;
+            }
+            LockSupport.parkNanos(park);
+            park = Math.min(park * 2, MAX_ENQUEUE_PARK_NANOS);
+        }
+        synchronized (inFlight) {
+            inFlight.add(batch);
+        }
+        // A worker may have delivered it already
+        acknowledgeDelivered();
+        return true;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // The listener containers have stopped by now; deliver what was queued before they did
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private void work() {
+        LogEntry entry = new LogEntry();
+        List<StoredLog> logs = new ArrayList<>();
+        List<LogBatch> batches = new ArrayList<>();
+        long oldest = 0;
+        while (true) {
+            try {
+                LogBatch batch = queue.poll();
+                if (batch != null) {
+                    if (batches.isEmpty()) {
+                        oldest = System.nanoTime();
+                    }
+                    batches.add(batch);
+                    process(batch, entry, logs);
+                    if (logs.size() < flushRecords) {
+                        continue;
+                    }
+                } else if (batches.isEmpty()) {
+                    if (!running) {
+                        return;
+                    }
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                } else if (running && System.nanoTime() - oldest < TimeUnit.MILLISECONDS.toNanos(flushIntervalMs)) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+
+                if (deliver(logs)) {
+                    long now = System.currentTimeMillis();
+                    for (LogBatch delivered : batches) {
+                        for (ConsumerRecord<String, Object> record : delivered.records) {
+                            delivery.record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS);
+                        }
+                        delivered.delivered = true;
+                    }
+                    acknowledgeDelivered();
+                }
+                logs.clear();
+                batches.clear();
+            } catch (RuntimeException e) {
+                // The polls taken stay in hand and are flushed again, so the in-flight queue never
+                // waits on a worker that is gone
+                logger.error("Log pipeline worker failed holding {} polls, flushing them again in {} ms",
+                        batches.size(), INITIAL_RETRY_MILLIS, e);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(INITIAL_RETRY_MILLIS));
+            }
+        }
+    }
+
+    /**
+     * Add the logs of the poll's records, skipping any record the processor fails on.
+     */
+    private void process(LogBatch batch, LogEntry entry, List<StoredLog> logs) {
+        for (ConsumerRecord<String, Object> record : batch.records) {
+            try {
+                StoredLog log = processor.process(record, entry);
+                if (log != null) {
+                    logs.add(log);
+                }
+            } catch (RuntimeException e) {
+                failedRecords.increment();
+                logger.warn("Skipping log at [Topic: {}, Partition: {}, Offset: {}] that failed processing",
+                        record.topic(), record.partition(), record.offset(), e);
+            }
+        }
+    }
+
+    /**
+     * Write the logs to every sink, retrying each until it accepts them, rejects them, or runs
+     * out of attempts; the last two skip the logs for that sink.
+     *
+     * @return false if shutdown interrupted the retries; the logs will be redelivered
+     */
+    private boolean deliver(List<StoredLog> logs) {
+        if (logs.isEmpty()) {
+            return true;
+        }
+        for (SinkMeters sink : sinks) {
+            long retryMillis = INITIAL_RETRY_MILLIS;
+            for (int attempt = 1; ; attempt++) {
+                long start = System.nanoTime();
+                try {
+                    sink.sink().write(logs);
+                    sink.writes().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    break;
+                } catch (RejectedLogsException e) {
+                    sink.failures().increment();
+                    sink.dropped().increment(logs.size());
+                    logger.error("Sink {} rejected {} logs, skipping them: {}", sink.sink().name(), logs.size(), e.getMessage());
+                    break;
+                } catch (Exception e) {
+                    sink.failures().increment();
+                    if (!running) {
+                        logger.error("Sink {} failed during shutdown; {} logs will be redelivered: {}",
+                                sink.sink().name(), logs.size(), e.getMessage());
+                        return false;
+                    }
+                    if (attempt >= sinkMaxAttempts) {
+                        sink.dropped().increment(logs.size());
+                        logger.error("Sink {} failed {} times to write {} logs, skipping them: {}", sink.sink().name(),
+                                attempt, logs.size(), e.getMessage(), e);
+                        break;
+                    }
+                    logger.warn("Sink {} failed to write {} logs, retrying in {} ms: {}", sink.sink().name(),
+                            logs.size(), retryMillis, e.getMessage());
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(retryMillis));
+                    retryMillis = Math.min(retryMillis * 2, MAX_RETRY_MILLIS);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Acknowledge the delivered polls at the head of the in-flight queue. The container
+     * commits the offsets on its consumer thread.
+     */
+    private void acknowledgeDelivered() {
+        synchronized (inFlight) {
+            while (!inFlight.isEmpty() && inFlight.peekFirst().delivered) {
+                inFlight.pollFirst().acknowledgment.acknowledge();
+            }
+        }
+    }
+
+    private record SinkMeters(LogSink sink, Timer writes, Counter failures, Counter dropped) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.myapp.kafka.log.consumer.pipeline;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded queue for any number of producer and consumer threads, without locks (Dmitry
+ * Vyukov's array queue).
+ * <p>
+ * Every slot carries a sequence number telling whose turn it is: a producer may fill slot
+ * {@code i} once its sequence equals the producer ticket, and a consumer may empty it once the
+ * sequence is one past that. Threads claim tickets by CAS on the head or tail, so contention is
+ * a retry rather than a wait, and a full or empty queue is reported instead of blocking.
+ */
+final class MpmcArrayQueue<E> {
+
+    private final int mask;
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    MpmcArrayQueue(int capacity) {
+        int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = size - 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * @return false if the queue is full
+     */
+    boolean offer(E element) {
+        long ticket = tail.get();
+        while (true) {
+            int index = (int) ticket & mask;
+            long difference = sequences.get(index) - ticket;
+            if (difference == 0) {
+                if (tail.compareAndSet(ticket, ticket + 1)) {
+                    elements[index] = element;
+                    // Publishes the element to the consumer that reads this sequence
+                    sequences.set(index, ticket + 1);
+                    return true;
+                }
+                ticket = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                ticket = tail.get();
+            }
+        }
+    }
+
+    /**
+     * @return null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long ticket = head.get();
+        while (true) {
+            int index = (int) ticket & mask;
+            long difference = sequences.get(index) - (ticket + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(ticket, ticket + 1)) {
+                    E element = (E) elements[index];
+                    elements[index] = null;
+                    // Hands the slot to the producer one lap later
+                    sequences.set(index, ticket + mask + 1);
+                    return element;
+                }
+                ticket = head.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                ticket = head.get();
+            }
+        }
+    }
+
+    /**
+     * Elements queued, exact only while no thread is offering or polling.
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head.get(), elements.length));
+    }
+}
@@ -1,33 +1,36 @@
 package com.myapp.kafka.log.consumer.service;
 
+import com.myapp.kafka.log.consumer.pipeline.LogPipeline;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.List;
+
 @Service
 public class LogConsumerService {
 
-    private static final Logger logger = LoggerFactory.getLogger(LogConsumerService.class);
+    private final LogPipeline pipeline;
 
-    @KafkaListener(topics = "${app.kafka.topic.logs}", groupId = "${spring.kafka.consumer.group-id}")
-    public void listen(ConsumerRecord<String, String> record) {
-        // Here you would process the log message
-        // For this demo, we'll just print it to the console.
-        // In a real application, you might:
-        // - Parse the log format (e.g., JSON, Grok)
-        // - Store it in Elasticsearch, Splunk, or a database
-        // - Send it to an alerting system
-        // - Perform real-time analytics
+    @Value("${app.pipeline.redelivery-delay-ms:1000}")
+    private long redeliveryDelayMs;
 
-        logger.info("Received log from Kafka [Topic: {}, Partition: {}, Offset: {}, Key: {}]: {}",
-                record.topic(), record.partition(), record.offset(), record.key(), record.value());
+    public LogConsumerService(LogPipeline pipeline) {
+        this.pipeline = pipeline;
+    }
 
-        // Example of simple processing: check for ERROR level
-        if (record.value().contains("[ERROR]")) {
-            logger.error("!!! DETECTED ERROR LOG: {}", record.value());
-            // Trigger an alert or further action
+    @KafkaListener(topics = "${app.kafka.topic.logs}", groupId = "${spring.kafka.consumer.group-id}", batch = "true")
+    public void listen(List<ConsumerRecord<String, Object>> records, Acknowledgment acknowledgment) {
+        // The listener only hands each poll to the pipeline, whose workers parse the logs and
+        // write them to the sinks (the local store, files, an HTTP bulk endpoint or a database).
+        // The offsets are committed once every sink has the poll's logs.
+        if (!pipeline.submit(records, acknowledgment)) {
+            // The sinks are behind: pause the consumer and have the poll redelivered rather
+            // than buffer more
+            acknowledgment.nack(0, Duration.ofMillis(redeliveryDelayMs));
         }
     }
 }
@@ -0,0 +1,62 @@
+package com.myapp.kafka.log.consumer.service;
+
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import com.myapp.kafka.log.consumer.parse.LogEntry;
+import com.myapp.kafka.log.consumer.parse.LogFormat;
+import com.myapp.kafka.log.consumer.parse.LogLevel;
+import com.myapp.kafka.schema.log.LogEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns a log record into the form the sinks take, on a pipeline worker thread: parses it,
+ * counts it for the rollups and error rate alerts, and reports errors.
+ */
+@Service
+public class LogProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogProcessor.class);
+
+    private final LogFormat format;
+    private final LogRollupService rollupService;
+
+    public LogProcessor(LogFormat format, LogRollupService rollupService) {
+        this.format = format;
+        this.rollupService = rollupService;
+    }
+
+    /**
+     * Process a record, parsing it into the given entry, which the caller reuses.
+     *
+     * @return the log for the sinks, or null if the record could not be parsed
+     */
+    public StoredLog process(ConsumerRecord<String, Object> record, LogEntry entry) {
+        // Values are LogEvents with app.kafka.format=binary and the bytes of text lines otherwise
+        if (record.value() instanceof LogEvent event) {
+            entry.set(event);
+        } else if (!format.parse((byte[]) record.value(), entry)) {
+            logger.warn("Unparseable log at [Topic: {}, Partition: {}, Offset: {}]: {}", record.topic(),
+                    record.partition(), record.offset(), new String((byte[]) record.value(), StandardCharsets.UTF_8));
+            return null;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Received log from Kafka [Topic: {}, Partition: {}, Offset: {}, Key: {}]: {}",
+                    record.topic(), record.partition(), record.offset(), record.key(), entry);
+        }
+
+        // Windowed counts by service and level, which the error rate alerts are evaluated on
+        rollupService.record(entry);
+
+        // Example of simple processing: check for ERROR level
+        if (entry.getLevel() == LogLevel.ERROR) {
+            logger.error("!!! DETECTED ERROR LOG: {}", entry);
+        }
+        return new StoredLog(entry.getTimestamp(), entry.getLevel(), entry.getService(), entry.getThread(),
+                entry.getMessage());
+    }
+}
@@ -0,0 +1,120 @@
+package com.myapp.kafka.log.consumer.service;
+
+import com.myapp.kafka.log.consumer.model.LevelRollup;
+import com.myapp.kafka.log.consumer.model.LogRollup;
+import com.myapp.kafka.log.consumer.parse.LogEntry;
+import com.myapp.kafka.log.consumer.parse.LogLevel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sliding-window log counts by service and level, updated by the listener for every log.
+ * <p>
+ * Logs are counted in the second they arrive, not by their own timestamp, so replayed or
+ * late logs show as current traffic and producer clocks do not matter. Each service gets a
+ * slot the first time it is seen; once {@code app.rollup.max-services} are taken, further
+ * services are counted together as {@value #OTHER_SERVICES}.
+ */
+@Service
+public class LogRollupService {
+
+    static final String OTHER_SERVICES = "other";
+    static final String UNKNOWN_SERVICE = "unknown";
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+    private static final int OTHER_INDEX = 0;
+
+    private final int windowSeconds;
+    private final int maxServices;
+    private final StripedWindowCounter counter;
+    private final Map<String, Integer> serviceIndexes = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> serviceNames;
+    private final AtomicInteger serviceCount = new AtomicInteger(1);
+
+    public LogRollupService(@Value("${app.rollup.window-seconds:60}") int windowSeconds,
+                            @Value("${app.rollup.max-services:64}") int maxServices) {
+        this.windowSeconds = windowSeconds;
+        this.maxServices = maxServices;
+        this.counter = new StripedWindowCounter((maxServices + 1) * LEVELS.length, windowSeconds);
+        this.serviceNames = new AtomicReferenceArray<>(maxServices + 1);
+        serviceNames.set(OTHER_INDEX, OTHER_SERVICES);
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void record(LogEntry entry) {
+        counter.increment(serviceIndex(entry.getService()) * LEVELS.length + entry.getLevel().ordinal(),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Counts over the second in progress and the given number of seconds before it.
+     *
+     * @throws IllegalArgumentException if the window is longer than {@code app.rollup.window-seconds}
+     */
+    public LogRollup rollup(int seconds) {
+        long now = System.currentTimeMillis();
+        long[] counts = counter.sum(seconds, now);
+        long[] all = new long[LEVELS.length];
+        Map<String, LevelRollup> services = new LinkedHashMap<>();
+        for (int service = 0, count = Math.min(serviceCount.get(), maxServices + 1); service < count; service++) {
+            String name = serviceNames.get(service);
+            if (name == null) {
+                continue;
+            }
+            int offset = service * LEVELS.length;
+            long total = 0;
+            for (int level = 0; level < LEVELS.length; level++) {
+                total += counts[offset + level];
+                all[level] += counts[offset + level];
+            }
+            if (total > 0) {
+                services.put(name, levelRollup(counts, offset));
+            }
+        }
+        return new LogRollup(seconds, Instant.ofEpochMilli(now), levelRollup(all, 0), services);
+    }
+
+    private int serviceIndex(String service) {
+        String name = service != null ? service : UNKNOWN_SERVICE;
+        Integer index = serviceIndexes.get(name);
+        if (index != null) {
+            return index;
+        }
+        if (serviceCount.get() > maxServices) {
+            return OTHER_INDEX;
+        }
+        return serviceIndexes.computeIfAbsent(name, key -> {
+            int next = serviceCount.getAndIncrement();
+            if (next > maxServices) {
+                return OTHER_INDEX;
+            }
+            serviceNames.set(next, key);
+            return next;
+        });
+    }
+
+    private static LevelRollup levelRollup(long[] counts, int offset) {
+        Map<LogLevel, Long> levels = new EnumMap<>(LogLevel.class);
+        long total = 0;
+        for (int level = 0; level < LEVELS.length; level++) {
+            long count = counts[offset + level];
+            if (count > 0) {
+                levels.put(LEVELS[level], count);
+                total += count;
+            }
+        }
+        long errors = counts[offset + LogLevel.ERROR.ordinal()] + counts[offset + LogLevel.FATAL.ordinal()];
+        return new LevelRollup(total, total == 0 ? 0 : (double) errors / total, levels);
+    }
+}
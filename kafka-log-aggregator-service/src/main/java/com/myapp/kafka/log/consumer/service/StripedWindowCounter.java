@@ -0,0 +1,103 @@
+package com.myapp.kafka.log.consumer.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Event counts per cell over a sliding window of one-second buckets, written by many threads
+ * without locks.
+ * <p>
+ * Counts are striped: there are at least as many stripes as cores, and each thread always adds
+ * to the stripe its id maps to, so listener threads on different cores do not contend on the
+ * same counters. Each stripe keeps a ring of buckets, one per second. The first write in a new
+ * second takes over the oldest bucket and clears it. A write racing that clear on the same
+ * stripe can be lost, which needs two threads sharing a stripe at the turn of a second. Reads
+ * sum the buckets across stripes without locking, so writes in flight may be missed.
+ */
+class StripedWindowCounter {
+
+    private final int cells;
+    private final int buckets;
+    private final int stripeMask;
+    private final Stripe[] stripes;
+
+    /**
+     * @param cells         number of distinct counters per bucket
+     * @param windowSeconds longest window that can be summed
+     */
+    StripedWindowCounter(int cells, int windowSeconds) {
+        this.cells = cells;
+        // The second in progress plus a full window of past seconds
+        this.buckets = windowSeconds + 1;
+        int cores = Runtime.getRuntime().availableProcessors();
+        int stripeCount = cores <= 1 ? 1 : Integer.highestOneBit(cores - 1) << 1;
+        this.stripeMask = stripeCount - 1;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(buckets, cells);
+        }
+    }
+
+    int cells() {
+        return cells;
+    }
+
+    void increment(int cell, long nowMillis) {
+        Stripe stripe = stripes[stripeIndex()];
+        long second = nowMillis / 1000;
+        int bucket = (int) (second % buckets);
+        long stamped = stripe.seconds.get(bucket);
+        if (stamped != second) {
+            if (stamped > second) {
+                // A clock that lagged a whole window behind another thread's; too old to count
+                return;
+            }
+            if (stripe.seconds.compareAndSet(bucket, stamped, second)) {
+                for (int i = bucket * cells, end = i + cells; i < end; i++) {
+                    stripe.counts.set(i, 0);
+                }
+            }
+        }
+        stripe.counts.getAndIncrement(bucket * cells + cell);
+    }
+
+    /**
+     * Counts per cell over the second in progress and the given number of seconds before it.
+     */
+    long[] sum(int seconds, long nowMillis) {
+        if (seconds < 1 || seconds >= buckets) {
+            throw new IllegalArgumentException("Window must be between 1 and " + (buckets - 1) + " seconds");
+        }
+        long now = nowMillis / 1000;
+        long[] totals = new long[cells];
+        for (Stripe stripe : stripes) {
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                long second = stripe.seconds.get(bucket);
+                if (second < now - seconds || second > now) {
+                    continue;
+                }
+                for (int cell = 0, i = bucket * cells; cell < cells; cell++, i++) {
+                    totals[cell] += stripe.counts.get(i);
+                }
+            }
+        }
+        return totals;
+    }
+
+    private int stripeIndex() {
+        return (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32) & stripeMask;
+    }
+
+    private static final class Stripe {
+
+        private final AtomicLongArray seconds;
+        private final AtomicLongArray counts;
+
+        private Stripe(int buckets, int cells) {
+            this.seconds = new AtomicLongArray(buckets);
+            for (int i = 0; i < buckets; i++) {
+                seconds.set(i, -1);
+            }
+            this.counts = new AtomicLongArray(buckets * cells);
+        }
+    }
+}
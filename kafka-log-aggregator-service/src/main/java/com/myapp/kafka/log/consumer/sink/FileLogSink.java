@@ -0,0 +1,68 @@
+package com.myapp.kafka.log.consumer.sink;
+
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Appends logs as text lines to a file per day in {@code app.pipeline.file.dir}, named
+ * {@code logs-<date>.log} after the UTC date of writing. Each write is forced to disk before it
+ * is acknowledged.
+ */
+@Component
+public class FileLogSink implements LogSink {
+
+    private final Path directory;
+    private LocalDate day;
+    private FileChannel channel;
+
+    public FileLogSink(@Value("${app.pipeline.file.dir:${java.io.tmpdir}/log-sink}") String directory) {
+        this.directory = Path.of(directory);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void write(List<StoredLog> logs) throws IOException {
+        StringBuilder lines = new StringBuilder(logs.size() * 128);
+        for (StoredLog log : logs) {
+            lines.append('[').append(log.getLevel()).append("] - ").append(log.getTimestamp()).append(" - ")
+                    .append(log.getService()).append(" - ").append(log.getThread()).append(": ")
+                    .append(log.getMessage()).append('\n');
+        }
+        FileChannel file = channel();
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            file.write(bytes);
+        }
+        file.force(false);
+    }
+
+    private FileChannel channel() throws IOException {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (!today.equals(day)) {
+            if (channel != null) {
+                channel.close();
+            }
+            Files.createDirectories(directory);
+            channel = FileChannel.open(directory.resolve("logs-" + today + ".log"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            day = today;
+        }
+        return channel;
+    }
+}
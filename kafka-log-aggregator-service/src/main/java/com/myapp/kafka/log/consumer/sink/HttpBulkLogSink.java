@@ -0,0 +1,64 @@
+package com.myapp.kafka.log.consumer.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Posts logs as newline-delimited JSON to {@code app.pipeline.http.url}, in the manner of a bulk
+ * indexing API such as Elasticsearch's. The write is acknowledged on a 2xx response; any other
+ * 4xx than 408 and 429 rejects the logs for good. By default it posts to the stand-in endpoint
+ * the aggregator serves itself at /api/bulk.
+ */
+@Component
+public class HttpBulkLogSink implements LogSink {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper;
+    private final URI url;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    public HttpBulkLogSink(ObjectMapper objectMapper,
+                           @Value("${app.pipeline.http.url:http://localhost:${server.port:8080}/api/bulk}") String url) {
+        this.objectMapper = objectMapper;
+        this.url = URI.create(url);
+    }
+
+    @Override
+    public String name() {
+        return "http";
+    }
+
+    @Override
+    public void write(List<StoredLog> logs) throws IOException, InterruptedException, RejectedLogsException {
+        StringBuilder body = new StringBuilder(logs.size() * 160);
+        for (StoredLog log : logs) {
+            body.append(objectMapper.writeValueAsString(log)).append('\n');
+        }
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        int status = response.statusCode();
+        if (status / 100 != 2) {
+            IOException failure = new IOException("Bulk endpoint " + url + " answered " + status + ": " + response.body());
+            // The same request would get the same answer, except for a timeout or rate limit
+            if (status / 100 == 4 && status != 408 && status != 429) {
+                throw new RejectedLogsException(failure.getMessage(), failure);
+            }
+            throw failure;
+        }
+    }
+}
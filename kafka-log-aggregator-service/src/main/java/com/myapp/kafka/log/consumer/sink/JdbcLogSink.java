@@ -0,0 +1,47 @@
+package com.myapp.kafka.log.consumer.sink;
+
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Inserts logs into the {@code logs} table of the application's data source in JDBC batches.
+ * Without {@code spring.datasource.url} that is an in-memory H2 database, created by schema.sql.
+ * Logs the table cannot hold, such as a service name longer than its column, are rejected for
+ * good rather than retried.
+ */
+@Component
+public class JdbcLogSink implements LogSink {
+
+    private static final String INSERT = "INSERT INTO logs (ts, level, service, thread, message) VALUES (?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcLogSink(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+        return "jdbc";
+    }
+
+    @Override
+    public void write(List<StoredLog> logs) throws RejectedLogsException {
+        try {
+            jdbcTemplate.batchUpdate(INSERT, logs, BATCH_SIZE, (statement, log) -> {
+                statement.setLong(1, log.getTimestamp());
+                statement.setString(2, log.getLevel().name());
+                statement.setString(3, log.getService());
+                statement.setString(4, log.getThread());
+                statement.setString(5, log.getMessage());
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new RejectedLogsException("Logs do not fit the logs table: " + e.getMostSpecificCause().getMessage(), e);
+        }
+    }
+}
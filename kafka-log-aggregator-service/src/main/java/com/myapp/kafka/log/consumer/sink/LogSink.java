@@ -0,0 +1,22 @@
+package com.myapp.kafka.log.consumer.sink;
+
+import com.myapp.kafka.log.consumer.model.StoredLog;
+
+import java.util.List;
+
+/**
+ * An output of the log pipeline, selected by name in {@code app.pipeline.sinks}.
+ * <p>
+ * Sinks are called by several pipeline workers at once. Returning from {@link #write} is the
+ * acknowledgment: the offsets of the logs may be committed, so a sink must not return before
+ * it holds them. A sink that throws is called again with the same logs, up to
+ * {@code app.pipeline.sink-max-attempts} times, so after a partial failure it may receive logs
+ * it already holds. A sink that throws {@link RejectedLogsException} is not called with those
+ * logs again.
+ */
+public interface LogSink {
+
+    String name();
+
+    void write(List<StoredLog> logs) throws Exception;
+}
@@ -0,0 +1,11 @@
+package com.myapp.kafka.log.consumer.sink;
+
+/**
+ * Thrown by a sink that will never accept the logs it was given, such as a bulk endpoint
+ * answering 400, so the pipeline skips them for that sink instead of retrying.
+ */
+public class RejectedLogsException extends Exception {
+    public RejectedLogsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,33 @@
+package com.myapp.kafka.log.consumer.sink;
+
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import com.myapp.kafka.log.consumer.store.LogStore;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes logs to the embedded {@link LogStore}, where they can be searched at /api/logs/search.
+ */
+@Component
+public class StoreLogSink implements LogSink {
+
+    private final LogStore logStore;
+
+    public StoreLogSink(LogStore logStore) {
+        this.logStore = logStore;
+    }
+
+    @Override
+    public String name() {
+        return "store";
+    }
+
+    @Override
+    public void write(List<StoredLog> logs) throws IOException {
+        // The flush puts the last partial batch into the segment, so all of the logs are held
+        logStore.append(logs);
+        logStore.flush();
+    }
+}
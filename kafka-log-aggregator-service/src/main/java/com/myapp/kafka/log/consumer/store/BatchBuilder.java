@@ -0,0 +1,151 @@
+package com.myapp.kafka.log.consumer.store;
+
+import com.myapp.kafka.log.consumer.model.StoredLog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Collects log records for the next batch and encodes them in the layout {@link Segment}
+ * describes. Reused from batch to batch.
+ */
+final class BatchBuilder {
+
+    static final String UNKNOWN_SERVICE = "unknown";
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Map<String, Integer> services = new LinkedHashMap<>();
+    private byte[] records = new byte[8192];
+    private int size;
+    private int count;
+    private long minTimestamp;
+    private long maxTimestamp;
+    private int levelMask;
+    private byte[] compressed = new byte[8192];
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Uncompressed size of the records so far.
+     */
+    int size() {
+        return size;
+    }
+
+    void add(StoredLog log) {
+        long timestamp = log.getTimestamp();
+        if (count == 0 || timestamp < minTimestamp) {
+            minTimestamp = timestamp;
+        }
+        if (count == 0 || timestamp > maxTimestamp) {
+            maxTimestamp = timestamp;
+        }
+        count++;
+        levelMask |= 1 << log.getLevel().ordinal();
+        String service = log.getService() != null ? log.getService() : UNKNOWN_SERVICE;
+        Integer serviceIndex = services.get(service);
+        if (serviceIndex == null) {
+            serviceIndex = services.size();
+            services.put(service, serviceIndex);
+        }
+
+        // Timestamps are stored as they come and zig-zag encoded, as they need not be in order
+        writeVarLong((timestamp << 1) ^ (timestamp >> 63));
+        writeByte(log.getLevel().ordinal());
+        writeVarLong(serviceIndex);
+        writeString(log.getThread());
+        writeString(log.getMessage());
+    }
+
+    /**
+     * The batch with its header, ready to be appended to a segment.
+     */
+    ByteBuffer encode() {
+        deflater.reset();
+        deflater.setInput(records, 0, size);
+        deflater.finish();
+        int compressedLength = 0;
+        while (!deflater.finished()) {
+            if (compressedLength == compressed.length) {
+                compressed = Arrays.copyOf(compressed, compressed.length * 2);
+            }
+            compressedLength += deflater.deflate(compressed, compressedLength, compressed.length - compressedLength);
+        }
+
+        byte[][] names = new byte[services.size()][];
+        int namesLength = 0;
+        int i = 0;
+        for (String service : services.keySet()) {
+            names[i] = service.getBytes(StandardCharsets.UTF_8);
+            namesLength += 2 + names[i++].length;
+        }
+        ByteBuffer batch = ByteBuffer.allocate(Segment.HEADER_BYTES + namesLength + compressedLength);
+        batch.position(8);
+        batch.putInt(count).putLong(minTimestamp).putLong(maxTimestamp).putInt(levelMask);
+        batch.putShort((short) names.length);
+        for (byte[] name : names) {
+            batch.putShort((short) name.length).put(name);
+        }
+        batch.putInt(size);
+        batch.put(compressed, 0, compressedLength);
+        CRC32 crc = new CRC32();
+        crc.update(batch.array(), 8, batch.capacity() - 8);
+        batch.putInt(0, batch.capacity() - 4);
+        batch.putInt(4, (int) crc.getValue());
+        return batch.flip();
+    }
+
+    int count() {
+        return count;
+    }
+
+    void reset() {
+        services.clear();
+        size = 0;
+        count = 0;
+        levelMask = 0;
+    }
+
+    void close() {
+        deflater.end();
+    }
+
+    private void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            records[size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        records[size++] = (byte) value;
+    }
+
+    private void writeString(String value) {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        writeVarLong(bytes.length);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    private void writeByte(int value) {
+        ensure(1);
+        records[size++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] source, int start, int length) {
+        ensure(length);
+        System.arraycopy(source, start, records, size, length);
+        size += length;
+    }
+
+    private void ensure(int length) {
+        if (size + length > records.length) {
+            records = Arrays.copyOf(records, Math.max(records.length * 2, size + length));
+        }
+    }
+}
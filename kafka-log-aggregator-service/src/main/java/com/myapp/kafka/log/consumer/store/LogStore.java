@@ -0,0 +1,249 @@
+package com.myapp.kafka.log.consumer.store;
+
+import com.myapp.kafka.log.consumer.model.LogQuery;
+import com.myapp.kafka.log.consumer.model.LogSearchResult;
+import com.myapp.kafka.log.consumer.model.LogStoreStats;
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.Inflater;
+
+/**
+ * Embedded store of the logs the aggregator receives, searchable by time range, service, level
+ * and message text.
+ * <p>
+ * Logs are collected into batches of about {@code app.store.batch-bytes}, which are compressed
+ * and appended to memory-mapped {@link Segment} files of {@code app.store.segment-bytes} in
+ * {@code app.store.dir}. Logs are searchable once their batch is written, when it is full or
+ * flushed; the pipeline's store sink flushes after every write. Segments are kept until they
+ * exceed {@code app.store.retention-bytes} together or their newest log is older than
+ * {@code app.store.retention-hours}, except for the one being written.
+ * <p>
+ * A search asks each segment's indexes which batches may match and only inflates those, newest
+ * first, so a narrow search of a large store reads little of it. Appends and index lookups are
+ * serialized; batches are read outside the lock, from segments the search holds a reader slot
+ * of, so retention unmaps and deletes a segment only once the searches reading it are done.
+ */
+@Component
+public class LogStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogStore.class);
+
+    public static final int MAX_LIMIT = 10_000;
+
+    private static final int MIN_SEGMENT_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final int batchBytes;
+    private final long retentionBytes;
+    private final Duration retention;
+    // Oldest first; the last one is written to
+    private final List<Segment> segments = new ArrayList<>();
+    private final BatchBuilder batch = new BatchBuilder();
+
+    public LogStore(@Value("${app.store.dir:${java.io.tmpdir}/log-store}") String directory,
+                    @Value("${app.store.segment-bytes:16777216}") int segmentBytes,
+                    @Value("${app.store.batch-bytes:65536}") int batchBytes,
+                    @Value("${app.store.retention-bytes:268435456}") long retentionBytes,
+                    @Value("${app.store.retention-hours:24}") int retentionHours) throws IOException {
+        if (segmentBytes < MIN_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("app.store.segment-bytes must be at least " + MIN_SEGMENT_BYTES);
+        }
+        this.directory = Path.of(directory);
+        this.segmentBytes = segmentBytes;
+        this.batchBytes = batchBytes;
+        this.retentionBytes = retentionBytes;
+        this.retention = Duration.ofHours(retentionHours);
+
+        Files.createDirectories(this.directory);
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(Segment.SUFFIX)).sorted().toList()) {
+                segments.add(Segment.open(file));
+            }
+        }
+        if (!segments.isEmpty()) {
+            logger.info("Opened log store {}: {}", directory, stats());
+        }
+    }
+
+    /**
+     * Add logs to the batch being collected, writing it out each time it is full.
+     *
+     * @throws IOException if a batch could not be written; its logs are dropped
+     */
+    public synchronized void append(List<StoredLog> logs) throws IOException {
+        for (StoredLog log : logs) {
+            batch.add(log);
+            if (batch.size() >= batchBytes) {
+                writeBatch();
+            }
+        }
+    }
+
+    /**
+     * Write out the batch being collected, even if it is not full.
+     *
+     * @throws IOException if it could not be written; its logs are dropped
+     */
+    public synchronized void flush() throws IOException {
+        if (!batch.isEmpty()) {
+            writeBatch();
+        }
+    }
+
+    @Scheduled(fixedDelay = 60_000)
+    public synchronized void applyRetention() {
+        long cutoff = System.currentTimeMillis() - retention.toMillis();
+        long bytes = 0;
+        for (Segment segment : segments) {
+            bytes += segment.size();
+        }
+        while (segments.size() > 1) {
+            Segment oldest = segments.get(0);
+            if (bytes <= retentionBytes && oldest.maxTimestamp() >= cutoff) {
+                break;
+            }
+            segments.remove(0);
+            bytes -= oldest.size();
+            try {
+                oldest.retire();
+            } catch (IOException e) {
+                logger.warn("Failed to delete log segment {}: {}", oldest.file(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Logs matching the query, most recently stored first.
+     *
+     * @throws IllegalArgumentException if the time range is inverted or the limit out of range
+     */
+    public LogSearchResult search(LogQuery query) {
+        if (query.getFrom() > query.getTo()) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (query.getLimit() < 1 || query.getLimit() > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        List<Segment> matchingSegments = new ArrayList<>();
+        List<int[]> matchingBatches = new ArrayList<>();
+        synchronized (this) {
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                Segment segment = segments.get(i);
+                BitSet candidates = segment.candidates(query);
+                if (!candidates.isEmpty()) {
+                    segment.acquire();
+                    matchingSegments.add(segment);
+                    // Positions copied under the lock, as appends may replace the segment's index
+                    matchingBatches.add(segment.positions(candidates));
+                }
+            }
+        }
+
+        List<StoredLog> logs = new ArrayList<>();
+        List<StoredLog> matches = new ArrayList<>();
+        int segmentsScanned = 0;
+        int batchesScanned = 0;
+        boolean truncated = false;
+        Inflater inflater = new Inflater();
+        try {
+            search:
+            for (int i = 0; i < matchingSegments.size(); i++) {
+                segmentsScanned++;
+                int[] positions = matchingBatches.get(i);
+                for (int b = positions.length - 1; b >= 0; b--) {
+                    batchesScanned++;
+                    matches.clear();
+                    matchingSegments.get(i).scan(positions[b], query, inflater, matches);
+                    for (int m = matches.size() - 1; m >= 0; m--) {
+                        if (logs.size() == query.getLimit()) {
+                            truncated = true;
+                            break search;
+                        }
+                        logs.add(matches.get(m));
+                    }
+                }
+            }
+        } finally {
+            inflater.end();
+            release(matchingSegments);
+        }
+        return new LogSearchResult(logs, segmentsScanned, batchesScanned, truncated);
+    }
+
+    public synchronized LogStoreStats stats() {
+        long bytes = 0;
+        long batches = 0;
+        long records = 0;
+        long oldest = Long.MAX_VALUE;
+        long newest = Long.MIN_VALUE;
+        for (Segment segment : segments) {
+            bytes += segment.size();
+            batches += segment.batches();
+            records += segment.records();
+            if (segment.batches() > 0) {
+                oldest = Math.min(oldest, segment.minTimestamp());
+                newest = Math.max(newest, segment.maxTimestamp());
+            }
+        }
+        return new LogStoreStats(segments.size(), bytes, batches, records, batch.count(),
+                records == 0 ? 0 : oldest, records == 0 ? 0 : newest);
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        try {
+            flush();
+        } catch (IOException e) {
+            logger.error("Failed to store the last {} logs: {}", batch.count(), e.getMessage());
+        }
+        segments.forEach(Segment::flush);
+        batch.close();
+    }
+
+    private synchronized void release(List<Segment> held) {
+        for (Segment segment : held) {
+            try {
+                segment.release();
+            } catch (IOException e) {
+                logger.warn("Failed to delete log segment {}: {}", segment.file(), e.getMessage());
+            }
+        }
+    }
+
+    private void writeBatch() throws IOException {
+        ByteBuffer encoded = batch.encode();
+        int count = batch.count();
+        batch.reset();
+        Segment active = segments.isEmpty() ? roll() : segments.get(segments.size() - 1);
+        if (!active.append(encoded)) {
+            active.flush();
+            if (!roll().append(encoded)) {
+                logger.warn("Dropped a batch of {} logs: {} bytes do not fit in a segment", count, encoded.remaining());
+            }
+        }
+    }
+
+    private Segment roll() throws IOException {
+        long sequence = segments.isEmpty() ? 0 : segments.get(segments.size() - 1).sequence() + 1;
+        Segment segment = Segment.create(directory, sequence, segmentBytes);
+        segments.add(segment);
+        applyRetention();
+        return segment;
+    }
+}
@@ -0,0 +1,370 @@
+package com.myapp.kafka.log.consumer.store;
+
+import com.myapp.kafka.log.consumer.model.LogQuery;
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import com.myapp.kafka.log.consumer.parse.LogLevel;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * One file of the log store: a fixed-size, memory-mapped file that batches are appended to
+ * until the next one does not fit. The file is created sparse, so unused space takes no disk.
+ * <p>
+ * A batch is laid out as
+ * <pre>
+ * int    length of the rest of the batch; 0 ends the segment
+ * int    CRC32 of the rest of the batch after this field
+ * int    record count
+ * long   lowest and highest record timestamp
+ * int    bit mask of the record levels, by ordinal
+ * short  service count, then per service a short length and the UTF-8 name
+ * int    uncompressed length of the records
+ * byte[] the records, deflated: zig-zag varint timestamp, level byte, varint service
+ *        number, then varint length and UTF-8 bytes of thread and message
+ * </pre>
+ * The headers stay uncompressed, so the index is rebuilt on startup without inflating
+ * anything. The length is written last, after a zero length past the batch, so a batch torn by
+ * a crash fails its CRC or is never reached, and the segment ends before it.
+ * <p>
+ * The index, kept in memory, has each batch's position and timestamp range, a sparse time
+ * index, and for every service and level a bitmap of the batches holding any of its records.
+ * Not thread-safe: {@link LogStore} guards appends, index reads and the reader count; batches
+ * once written do not change and may be read by any thread that holds a reader slot. A retired
+ * segment is unmapped and deleted when its last reader leaves, rather than whenever the
+ * collector gets to its mapping.
+ */
+final class Segment {
+
+    static final String SUFFIX = ".segment";
+    // length, CRC, count, timestamps, level mask, service count and uncompressed length
+    static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 8 + 4 + 2 + 4;
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+    // Unsafe.invokeCleaner(ByteBuffer), or null if this JVM does not offer it
+    private static final MethodHandle INVOKE_CLEANER = invokeCleaner();
+
+    private final Path file;
+    private final long sequence;
+    private final MappedByteBuffer buffer;
+    private int size;
+    private int batches;
+    private int[] positions = new int[64];
+    private long[] minTimestamps = new long[64];
+    private long[] maxTimestamps = new long[64];
+    private long records;
+    private long minTimestamp = Long.MAX_VALUE;
+    private long maxTimestamp = Long.MIN_VALUE;
+    private final Map<String, BitSet> serviceIndex = new HashMap<>();
+    private final BitSet[] levelIndex = new BitSet[LEVELS.length];
+    private int readers;
+    private boolean retired;
+
+    private Segment(Path file, long sequence, MappedByteBuffer buffer) {
+        this.file = file;
+        this.sequence = sequence;
+        this.buffer = buffer;
+        for (int i = 0; i < levelIndex.length; i++) {
+            levelIndex[i] = new BitSet();
+        }
+    }
+
+    static Segment create(Path directory, long sequence, int capacity) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", sequence, SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return new Segment(file, sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    /**
+     * Map an existing segment and index the batches it holds.
+     */
+    static Segment open(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        long sequence = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        Segment segment;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = new Segment(file, sequence, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+        segment.recover();
+        return segment;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int batches() {
+        return batches;
+    }
+
+    long records() {
+        return records;
+    }
+
+    long minTimestamp() {
+        return minTimestamp;
+    }
+
+    long maxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * Append an encoded batch.
+     *
+     * @return false if the batch does not fit in what is left of the segment
+     */
+    boolean append(ByteBuffer batch) {
+        int length = batch.remaining();
+        // Room for the batch and the zero length that ends the segment after it
+        if (size + length + 4 > buffer.capacity()) {
+            return false;
+        }
+        buffer.put(size + 4, batch, batch.position() + 4, length - 4);
+        buffer.putInt(size + length, 0);
+        buffer.putInt(size, length - 4);
+        index(size);
+        size += length;
+        return true;
+    }
+
+    void flush() {
+        buffer.force();
+    }
+
+    /**
+     * Numbers of the batches that may hold logs matching the query.
+     */
+    BitSet candidates(LogQuery query) {
+        BitSet candidates = new BitSet();
+        if (batches == 0 || maxTimestamp < query.getFrom() || minTimestamp > query.getTo()) {
+            return candidates;
+        }
+        candidates.set(0, batches);
+        if (query.getServices() != null && !query.getServices().isEmpty()) {
+            BitSet services = new BitSet();
+            for (String service : query.getServices()) {
+                BitSet batchesOfService = serviceIndex.get(service);
+                if (batchesOfService != null) {
+                    services.or(batchesOfService);
+                }
+            }
+            candidates.and(services);
+        }
+        if (query.getLevels() != null && !query.getLevels().isEmpty()) {
+            BitSet levels = new BitSet();
+            for (LogLevel level : query.getLevels()) {
+                levels.or(levelIndex[level.ordinal()]);
+            }
+            candidates.and(levels);
+        }
+        for (int batch = candidates.nextSetBit(0); batch >= 0; batch = candidates.nextSetBit(batch + 1)) {
+            if (maxTimestamps[batch] < query.getFrom() || minTimestamps[batch] > query.getTo()) {
+                candidates.clear(batch);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Positions of the given batches, in batch order, for {@link #scan}. Read under the same
+     * lock as appends, which may replace the position index.
+     */
+    int[] positions(BitSet batches) {
+        int[] selected = new int[batches.cardinality()];
+        int i = 0;
+        for (int batch = batches.nextSetBit(0); batch >= 0; batch = batches.nextSetBit(batch + 1)) {
+            selected[i++] = positions[batch];
+        }
+        return selected;
+    }
+
+    /**
+     * Add the logs of the batch at the given position that match the query, in the order they
+     * were stored.
+     */
+    void scan(int position, LogQuery query, Inflater inflater, List<StoredLog> matches) {
+        ByteBuffer header = buffer.duplicate();
+        // Past length, CRC, count, timestamps and level mask to the service names
+        header.position(position + 32);
+        String[] services = new String[header.getShort() & 0xFFFF];
+        for (int i = 0; i < services.length; i++) {
+            byte[] name = new byte[header.getShort() & 0xFFFF];
+            header.get(name);
+            services[i] = new String(name, StandardCharsets.UTF_8);
+        }
+        byte[] records = new byte[header.getInt()];
+        int compressedStart = header.position();
+        int compressedLength = position + 4 + header.getInt(position) - compressedStart;
+        inflater.reset();
+        inflater.setInput(header.slice(compressedStart, compressedLength));
+        try {
+            inflater.inflate(records);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt batch at " + position + " in " + file, e);
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(records);
+        while (in.hasRemaining()) {
+            long zigZag = readVarLong(in);
+            long timestamp = (zigZag >>> 1) ^ -(zigZag & 1);
+            LogLevel level = LEVELS[in.get()];
+            String service = services[(int) readVarLong(in)];
+            int threadLength = (int) readVarLong(in);
+            int threadStart = in.position();
+            in.position(threadStart + threadLength);
+            int messageLength = (int) readVarLong(in);
+            int messageStart = in.position();
+            in.position(messageStart + messageLength);
+
+            if (timestamp < query.getFrom() || timestamp > query.getTo()
+                    || (query.getLevels() != null && !query.getLevels().isEmpty() && !query.getLevels().contains(level))
+                    || (query.getServices() != null && !query.getServices().isEmpty() && !query.getServices().contains(service))) {
+                continue;
+            }
+            String message = new String(records, messageStart, messageLength, StandardCharsets.UTF_8);
+            if (query.getContains() != null && !message.contains(query.getContains())) {
+                continue;
+            }
+            String thread = new String(records, threadStart, threadLength, StandardCharsets.UTF_8);
+            matches.add(new StoredLog(timestamp, level, service, thread, message));
+        }
+    }
+
+    private void recover() {
+        CRC32 crc = new CRC32();
+        while (size + 4 <= buffer.capacity()) {
+            int length = buffer.getInt(size);
+            if (length < HEADER_BYTES - 4 || size + 4 + length > buffer.capacity()) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(size + 8, length - 4));
+            if ((int) crc.getValue() != buffer.getInt(size + 4)) {
+                break;
+            }
+            index(size);
+            size += 4 + length;
+        }
+    }
+
+    private void index(int position) {
+        if (batches == positions.length) {
+            positions = Arrays.copyOf(positions, batches * 2);
+            minTimestamps = Arrays.copyOf(minTimestamps, batches * 2);
+            maxTimestamps = Arrays.copyOf(maxTimestamps, batches * 2);
+        }
+        ByteBuffer header = buffer.duplicate();
+        header.position(position + 8);
+        int count = header.getInt();
+        long min = header.getLong();
+        long max = header.getLong();
+        int levelMask = header.getInt();
+        int serviceCount = header.getShort() & 0xFFFF;
+        for (int i = 0; i < serviceCount; i++) {
+            byte[] name = new byte[header.getShort() & 0xFFFF];
+            header.get(name);
+            serviceIndex.computeIfAbsent(new String(name, StandardCharsets.UTF_8), key -> new BitSet()).set(batches);
+        }
+        for (int level = 0; level < LEVELS.length; level++) {
+            if ((levelMask & (1 << level)) != 0) {
+                levelIndex[level].set(batches);
+            }
+        }
+        positions[batches] = position;
+        minTimestamps[batches] = min;
+        maxTimestamps[batches] = max;
+        minTimestamp = Math.min(minTimestamp, min);
+        maxTimestamp = Math.max(maxTimestamp, max);
+        records += count;
+        batches++;
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Take a reader slot, keeping the mapping open until {@link #release()}.
+     */
+    void acquire() {
+        readers++;
+    }
+
+    void release() throws IOException {
+        if (--readers == 0 && retired) {
+            close();
+        }
+    }
+
+    /**
+     * Take the segment out of the store: it is unmapped and deleted as soon as no reader holds it.
+     */
+    void retire() throws IOException {
+        retired = true;
+        if (readers == 0) {
+            close();
+        }
+    }
+
+    private void close() throws IOException {
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invokeExact(buffer);
+            } catch (Throwable e) {
+                throw new IOException("Failed to unmap " + file, e);
+            }
+        }
+        Files.deleteIfExists(file);
+    }
+
+    private static MethodHandle invokeCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            return MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+                    .bindTo(theUnsafe.get(null))
+                    .asType(MethodType.methodType(void.class, MappedByteBuffer.class));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Mappings are then released by the garbage collector
+            return null;
+        }
+    }
+}
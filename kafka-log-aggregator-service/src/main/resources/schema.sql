@@ -0,0 +1,11 @@
+-- Table of the jdbc log sink
+CREATE TABLE IF NOT EXISTS logs (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ts      BIGINT       NOT NULL,
+    level   VARCHAR(16)  NOT NULL,
+    service VARCHAR(255),
+    thread  VARCHAR(255),
+    message CLOB
+);
+
+CREATE INDEX IF NOT EXISTS logs_ts ON logs (ts);
@@ -0,0 +1,84 @@
+package com.myapp.kafka.log.consumer.parse;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonLogFormatTest {
+
+    private final JsonLogFormat format = new JsonLogFormat();
+    private final LogEntry entry = new LogEntry();
+
+    @Test
+    void parsesTheTopLevelFields() {
+        assertThat(parse("{\"level\":\"ERROR\",\"timestamp\":1700000000000,\"service\":\"OrderService\","
+                + "\"thread\":\"main\",\"message\":\"Payment failed\"}")).isTrue();
+
+        assertThat(entry.getLevel()).isEqualTo(LogLevel.ERROR);
+        assertThat(entry.getTimestamp()).isEqualTo(1700000000000L);
+        assertThat(entry.getService()).isEqualTo("OrderService");
+        assertThat(entry.getThread()).isEqualTo("main");
+        assertThat(entry.getMessage()).isEqualTo("Payment failed");
+        assertThat(entry.hasRawMessage()).isTrue();
+    }
+
+    @Test
+    void skipsOtherMembersOfAnyType() {
+        assertThat(parse(" { \"host\" : \"a\", \"tags\": [1, {\"x\": \"}\"}], \"level\": \"info\", \"ok\": true,"
+                + " \"timestamp\": 5, \"extra\": {\"nested\": [\"]\"]}, \"message\": \"m\" } ")).isTrue();
+
+        assertThat(entry.getLevel()).isEqualTo(LogLevel.INFO);
+        assertThat(entry.getTimestamp()).isEqualTo(5L);
+        assertThat(entry.getMessage()).isEqualTo("m");
+    }
+
+    @Test
+    void resolvesEscapesWhenTheMessageIsDecoded() {
+        assertThat(parse("{\"level\":\"WARN\",\"timestamp\":1,\"message\":\"say \\\"hi\\\"\\n\\u00e9\\\\\"}")).isTrue();
+
+        assertThat(entry.hasRawMessage()).isFalse();
+        assertThat(entry.getMessage()).isEqualTo("say \"hi\"\né\\");
+    }
+
+    @Test
+    void keepsAMalformedUnicodeEscapeAsWritten() {
+        assertThat(parse("{\"level\":\"WARN\",\"timestamp\":1,\"message\":\"bad \\uZZZZ and short \\u12\"}")).isTrue();
+
+        assertThat(entry.getMessage()).isEqualTo("bad \\uZZZZ and short \\u12");
+    }
+
+    @Test
+    void readsFieldsUnderConfiguredNames() {
+        JsonLogFormat custom = new JsonLogFormat("severity", "ts", "app", "thread_name", "msg");
+
+        assertThat(custom.parse(bytes("{\"severity\":\"debug\",\"ts\":9,\"app\":\"billing\",\"msg\":\"x\"}"), entry)).isTrue();
+        assertThat(entry.getLevel()).isEqualTo(LogLevel.DEBUG);
+        assertThat(entry.getService()).isEqualTo("billing");
+        assertThat(entry.getThread()).isNull();
+    }
+
+    @Test
+    void rejectsLinesMissingARequiredField() {
+        assertThat(parse("{\"timestamp\":1,\"message\":\"no level\"}")).isFalse();
+        assertThat(parse("{\"level\":\"INFO\",\"message\":\"no timestamp\"}")).isFalse();
+        assertThat(parse("{\"level\":\"INFO\",\"timestamp\":1}")).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThat(parse("[INFO] - 1 - svc - main: not json")).isFalse();
+        assertThat(parse("{\"level\":\"INFO\",\"timestamp\":\"1\",\"message\":\"m\"}")).isFalse();
+        assertThat(parse("{\"level\":\"INFO\",\"timestamp\":1,\"message\":\"unterminated}")).isFalse();
+        assertThat(parse("{\"level\":\"INFO\",\"timestamp\":1,\"message\":\"m\"} trailing")).isFalse();
+    }
+
+    private boolean parse(String line) {
+        return format.parse(bytes(line), entry);
+    }
+
+    private static byte[] bytes(String line) {
+        return line.getBytes(StandardCharsets.UTF_8);
+    }
+}
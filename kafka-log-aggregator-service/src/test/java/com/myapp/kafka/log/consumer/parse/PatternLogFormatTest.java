@@ -0,0 +1,94 @@
+package com.myapp.kafka.log.consumer.parse;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PatternLogFormatTest {
+
+    private final LogEntry entry = new LogEntry();
+
+    @Test
+    void parsesTheProducerLineLayout() {
+        assertThat(PatternLogFormat.LINE.parse(bytes("[ERROR] - 1700000000000 - OrderService - main: Payment failed: card declined"), entry))
+                .isTrue();
+
+        assertThat(entry.getLevel()).isEqualTo(LogLevel.ERROR);
+        assertThat(entry.getTimestamp()).isEqualTo(1700000000000L);
+        assertThat(entry.getService()).isEqualTo("OrderService");
+        assertThat(entry.getThread()).isEqualTo("main");
+        assertThat(entry.getMessage()).isEqualTo("Payment failed: card declined");
+        assertThat(entry.hasRawMessage()).isTrue();
+    }
+
+    @Test
+    void parsesARangeInsideALargerArray() {
+        byte[] line = bytes("[INFO] - 1 - svc - worker-1: héllo");
+        byte[] framed = new byte[line.length + 4];
+        System.arraycopy(line, 0, framed, 2, line.length);
+
+        assertThat(PatternLogFormat.LINE.parse(framed, 2, line.length, entry)).isTrue();
+        assertThat(entry.getMessage()).isEqualTo("héllo");
+        assertThat(entry.getThread()).isEqualTo("worker-1");
+    }
+
+    @Test
+    void parsesUnknownLevelsAsUnknown() {
+        assertThat(PatternLogFormat.LINE.parse(bytes("[NOTICE] - 1 - svc - main: hi"), entry)).isTrue();
+        assertThat(entry.getLevel()).isEqualTo(LogLevel.UNKNOWN);
+    }
+
+    @Test
+    void rejectsLinesInAnotherLayout() {
+        assertThat(PatternLogFormat.LINE.parse(bytes("ERROR 1700000000000 OrderService main failed"), entry)).isFalse();
+        assertThat(PatternLogFormat.LINE.parse(bytes("[ERROR] - yesterday - svc - main: failed"), entry)).isFalse();
+        assertThat(PatternLogFormat.LINE.parse(bytes("[ERROR] - 1 - svc"), entry)).isFalse();
+    }
+
+    @Test
+    void endsTheLastFieldAtTheTrailingLiteral() {
+        PatternLogFormat format = new PatternLogFormat("%{TIMESTAMP} %{LEVEL} <%{MESSAGE}>");
+
+        assertThat(format.parse(bytes("42 warn <a <nested> message>"), entry)).isTrue();
+        assertThat(entry.getLevel()).isEqualTo(LogLevel.WARN);
+        assertThat(entry.getMessage()).isEqualTo("a <nested> message");
+        assertThat(format.parse(bytes("42 warn <unterminated"), entry)).isFalse();
+    }
+
+    @Test
+    void skipsDataFields() {
+        PatternLogFormat format = new PatternLogFormat("%{TIMESTAMP} %{DATA} %{DATA} %{LEVEL} %{MESSAGE}");
+
+        assertThat(format.parse(bytes("7 host-1 pid=12 INFO started"), entry)).isTrue();
+        assertThat(entry.getTimestamp()).isEqualTo(7L);
+        assertThat(entry.getMessage()).isEqualTo("started");
+    }
+
+    @Test
+    void returnsCanonicalServiceAndThreadNames() {
+        PatternLogFormat.LINE.parse(bytes("[INFO] - 1 - OrderService - main: a"), entry);
+        String service = entry.getService();
+        PatternLogFormat.LINE.parse(bytes("[INFO] - 2 - OrderService - main: b"), entry);
+
+        assertThat(entry.getService()).isSameAs(service);
+    }
+
+    @Test
+    void rejectsMalformedPatterns() {
+        assertThatThrownBy(() -> new PatternLogFormat("%{LEVEL"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Unclosed field");
+        assertThatThrownBy(() -> new PatternLogFormat("%{LEVEL} %{HOST}"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("Unknown field %{HOST}");
+        assertThatThrownBy(() -> new PatternLogFormat("%{LEVEL} %{LEVEL}"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("appears twice");
+        assertThatThrownBy(() -> new PatternLogFormat("%{LEVEL}%{MESSAGE}"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("need a literal");
+    }
+
+    private static byte[] bytes(String line) {
+        return line.getBytes(StandardCharsets.UTF_8);
+    }
+}
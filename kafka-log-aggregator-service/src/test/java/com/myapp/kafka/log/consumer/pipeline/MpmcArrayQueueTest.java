@@ -0,0 +1,118 @@
+package com.myapp.kafka.log.consumer.pipeline;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MpmcArrayQueueTest {
+
+    @Test
+    void roundsTheCapacityUpToAPowerOfTwo() {
+        assertThat(new MpmcArrayQueue<>(0).capacity()).isEqualTo(1);
+        assertThat(new MpmcArrayQueue<>(1).capacity()).isEqualTo(1);
+        assertThat(new MpmcArrayQueue<>(5).capacity()).isEqualTo(8);
+        assertThat(new MpmcArrayQueue<>(256).capacity()).isEqualTo(256);
+    }
+
+    @Test
+    void pollsInFifoOrderAndReportsEmpty() {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(4);
+        queue.offer(1);
+        queue.offer(2);
+        queue.offer(3);
+
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(queue.poll()).isEqualTo(1);
+        assertThat(queue.poll()).isEqualTo(2);
+        assertThat(queue.poll()).isEqualTo(3);
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.size()).isZero();
+    }
+
+    @Test
+    void refusesOffersWhenFullUntilAnElementIsPolled() {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(2);
+
+        assertThat(queue.offer(1)).isTrue();
+        assertThat(queue.offer(2)).isTrue();
+        assertThat(queue.offer(3)).isFalse();
+        assertThat(queue.poll()).isEqualTo(1);
+        assertThat(queue.offer(3)).isTrue();
+        assertThat(queue.poll()).isEqualTo(2);
+        assertThat(queue.poll()).isEqualTo(3);
+    }
+
+    @Test
+    void reusesSlotsOverManyLaps() {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(4);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(queue.offer(i)).isTrue();
+            assertThat(queue.offer(-i)).isTrue();
+            assertThat(queue.poll()).isEqualTo(i);
+            assertThat(queue.poll()).isEqualTo(-i);
+        }
+        assertThat(queue.poll()).isNull();
+    }
+
+    @Test
+    void handsEveryElementToExactlyOneConsumer() throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20_000;
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(64);
+        AtomicInteger remaining = new AtomicInteger(producers * perProducer);
+        ExecutorService threads = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            for (int p = 0; p < producers; p++) {
+                int first = p * perProducer;
+                threads.submit(() -> {
+                    for (int i = first; i < first + perProducer; i++) {
+                        while (!queue.offer(i)) {
+                            Thread.yield();
+                        }
+                    }
+                });
+            }
+            List<Future<boolean[]>> results = new ArrayList<>();
+            for (int c = 0; c < consumers; c++) {
+                results.add(threads.submit(() -> {
+                    boolean[] seen = new boolean[producers * perProducer];
+                    while (remaining.get() > 0) {
+                        Integer element = queue.poll();
+                        if (element == null) {
+                            Thread.yield();
+                            continue;
+                        }
+                        assertThat(seen[element]).isFalse();
+                        seen[element] = true;
+                        remaining.decrementAndGet();
+                    }
+                    return seen;
+                }));
+            }
+
+            boolean[] all = new boolean[producers * perProducer];
+            for (Future<boolean[]> result : results) {
+                boolean[] seen = result.get(60, TimeUnit.SECONDS);
+                for (int i = 0; i < seen.length; i++) {
+                    assertThat(all[i] && seen[i]).as("element %d polled twice", i).isFalse();
+                    all[i] |= seen[i];
+                }
+            }
+            for (int i = 0; i < all.length; i++) {
+                assertThat(all[i]).as("element %d polled", i).isTrue();
+            }
+            assertThat(queue.poll()).isNull();
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.myapp.kafka.log.consumer.store;
+
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import com.myapp.kafka.log.consumer.parse.LogLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchBuilderTest {
+
+    private final BatchBuilder builder = new BatchBuilder();
+
+    @AfterEach
+    void tearDown() {
+        builder.close();
+    }
+
+    @Test
+    void writesTheSummaryHeaderUncompressed() {
+        builder.add(new StoredLog(3_000, LogLevel.WARN, "orders", "main", "late"));
+        builder.add(new StoredLog(1_000, LogLevel.ERROR, "billing", "main", "early"));
+        builder.add(new StoredLog(2_000, LogLevel.WARN, "orders", "main", "middle"));
+
+        ByteBuffer batch = builder.encode();
+
+        assertThat(batch.getInt(0)).isEqualTo(batch.remaining() - 4);
+        assertThat(batch.getInt(8)).isEqualTo(3);
+        assertThat(batch.getLong(12)).isEqualTo(1_000);
+        assertThat(batch.getLong(20)).isEqualTo(3_000);
+        assertThat(batch.getInt(28)).isEqualTo(1 << LogLevel.WARN.ordinal() | 1 << LogLevel.ERROR.ordinal());
+        batch.position(32);
+        assertThat(batch.getShort()).isEqualTo((short) 2);
+        assertThat(name(batch)).isEqualTo("orders");
+        assertThat(name(batch)).isEqualTo("billing");
+        assertThat(batch.getInt()).isEqualTo(builder.size());
+    }
+
+    @Test
+    void checksumsEverythingAfterTheChecksum() {
+        builder.add(new StoredLog(1, LogLevel.INFO, "orders", "main", "checked"));
+
+        ByteBuffer batch = builder.encode();
+        CRC32 crc = new CRC32();
+        crc.update(batch.array(), 8, batch.remaining() - 8);
+
+        assertThat(batch.getInt(4)).isEqualTo((int) crc.getValue());
+    }
+
+    @Test
+    void startsEmptyAgainAfterReset() {
+        builder.add(new StoredLog(1, LogLevel.ERROR, "orders", "main", "first"));
+        builder.reset();
+
+        assertThat(builder.isEmpty()).isTrue();
+        assertThat(builder.size()).isZero();
+        builder.add(new StoredLog(9, LogLevel.INFO, "billing", "main", "second"));
+        ByteBuffer batch = builder.encode();
+
+        assertThat(batch.getInt(8)).isEqualTo(1);
+        assertThat(batch.getLong(12)).isEqualTo(9);
+        assertThat(batch.getInt(28)).isEqualTo(1 << LogLevel.INFO.ordinal());
+        batch.position(32);
+        assertThat(batch.getShort()).isEqualTo((short) 1);
+        assertThat(name(batch)).isEqualTo("billing");
+    }
+
+    private static String name(ByteBuffer batch) {
+        byte[] name = new byte[batch.getShort()];
+        batch.get(name);
+        return new String(name, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,220 @@
+package com.myapp.kafka.log.consumer.store;
+
+import com.myapp.kafka.log.consumer.model.LogQuery;
+import com.myapp.kafka.log.consumer.model.StoredLog;
+import com.myapp.kafka.log.consumer.parse.LogLevel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Inflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SegmentTest {
+
+    private static final StoredLog ORDER_ERROR = new StoredLog(1_000, LogLevel.ERROR, "orders", "main", "Payment failed");
+    private static final StoredLog ORDER_INFO = new StoredLog(2_000, LogLevel.INFO, "orders", "worker-1", "Order placed");
+    private static final StoredLog BILLING_WARN = new StoredLog(5_000, LogLevel.WARN, "billing", "main", "Retrying invoice");
+
+    @TempDir
+    Path directory;
+
+    private final BatchBuilder builder = new BatchBuilder();
+    private final Inflater inflater = new Inflater();
+
+    @AfterEach
+    void tearDown() {
+        builder.close();
+        inflater.end();
+    }
+
+    @Test
+    void findsAppendedLogsByTimeServiceLevelAndText() throws IOException {
+        Segment segment = Segment.create(directory, 1, 64 * 1024);
+        assertThat(segment.append(batch(ORDER_ERROR, ORDER_INFO))).isTrue();
+        assertThat(segment.append(batch(BILLING_WARN))).isTrue();
+
+        assertThat(segment.batches()).isEqualTo(2);
+        assertThat(segment.records()).isEqualTo(3);
+        assertThat(segment.minTimestamp()).isEqualTo(1_000);
+        assertThat(segment.maxTimestamp()).isEqualTo(5_000);
+        assertThat(search(segment, query(0, Long.MAX_VALUE, null, null, null)))
+                .containsExactly(ORDER_ERROR, ORDER_INFO, BILLING_WARN);
+        assertThat(search(segment, query(1_500, 6_000, null, null, null))).containsExactly(ORDER_INFO, BILLING_WARN);
+        assertThat(search(segment, query(0, Long.MAX_VALUE, Set.of("billing"), null, null))).containsExactly(BILLING_WARN);
+        assertThat(search(segment, query(0, Long.MAX_VALUE, null, Set.of(LogLevel.ERROR), null))).containsExactly(ORDER_ERROR);
+        assertThat(search(segment, query(0, Long.MAX_VALUE, null, null, "Order"))).containsExactly(ORDER_INFO);
+    }
+
+    @Test
+    void skipsBatchesTheIndexRulesOut() throws IOException {
+        Segment segment = Segment.create(directory, 1, 64 * 1024);
+        segment.append(batch(ORDER_ERROR, ORDER_INFO));
+        segment.append(batch(BILLING_WARN));
+
+        assertThat(segment.candidates(query(0, Long.MAX_VALUE, Set.of("billing"), null, null))).isEqualTo(bits(1));
+        assertThat(segment.candidates(query(0, Long.MAX_VALUE, null, Set.of(LogLevel.ERROR), null))).isEqualTo(bits(0));
+        assertThat(segment.candidates(query(4_000, 6_000, null, null, null))).isEqualTo(bits(1));
+        assertThat(segment.candidates(query(0, Long.MAX_VALUE, Set.of("shipping"), null, null))).isEqualTo(bits());
+        assertThat(segment.candidates(query(10_000, 20_000, null, null, null))).isEqualTo(bits());
+    }
+
+    @Test
+    void refusesABatchThatDoesNotFit() throws IOException {
+        ByteBuffer first = batch(ORDER_ERROR);
+        Segment segment = Segment.create(directory, 1, first.remaining() + 8);
+
+        assertThat(segment.append(first)).isTrue();
+        assertThat(segment.append(batch(ORDER_INFO))).isFalse();
+        assertThat(segment.batches()).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildsTheIndexWhenReopened() throws IOException {
+        Segment segment = Segment.create(directory, 7, 64 * 1024);
+        segment.append(batch(ORDER_ERROR, ORDER_INFO));
+        segment.append(batch(BILLING_WARN));
+        segment.flush();
+
+        Segment reopened = Segment.open(segment.file());
+
+        assertThat(reopened.sequence()).isEqualTo(7);
+        assertThat(reopened.size()).isEqualTo(segment.size());
+        assertThat(reopened.batches()).isEqualTo(2);
+        assertThat(reopened.records()).isEqualTo(3);
+        assertThat(reopened.candidates(query(0, Long.MAX_VALUE, Set.of("billing"), null, null))).isEqualTo(bits(1));
+        assertThat(search(reopened, query(0, Long.MAX_VALUE, null, null, null)))
+                .containsExactly(ORDER_ERROR, ORDER_INFO, BILLING_WARN);
+    }
+
+    @Test
+    void dropsABatchThatFailsItsChecksumOnReopen() throws IOException {
+        Segment segment = Segment.create(directory, 1, 64 * 1024);
+        segment.append(batch(ORDER_ERROR));
+        int torn = segment.size();
+        segment.append(batch(ORDER_INFO));
+        segment.flush();
+
+        // Flip a byte of the second batch's compressed records, as a crash mid-write would leave it
+        overwrite(segment.file(), segment.size() - 1, (byte) ~readByte(segment.file(), segment.size() - 1));
+        Segment reopened = Segment.open(segment.file());
+
+        assertThat(reopened.batches()).isEqualTo(1);
+        assertThat(reopened.size()).isEqualTo(torn);
+        assertThat(search(reopened, query(0, Long.MAX_VALUE, null, null, null))).containsExactly(ORDER_ERROR);
+    }
+
+    @Test
+    void endsAtABatchWhoseLengthWasNeverWritten() throws IOException {
+        Segment segment = Segment.create(directory, 1, 64 * 1024);
+        segment.append(batch(ORDER_ERROR));
+        int torn = segment.size();
+        segment.append(batch(ORDER_INFO));
+        segment.flush();
+
+        // The length is written last, so a crash before it leaves a zero there
+        overwrite(segment.file(), torn, (byte) 0, (byte) 0, (byte) 0, (byte) 0);
+        Segment reopened = Segment.open(segment.file());
+
+        assertThat(reopened.batches()).isEqualTo(1);
+        assertThat(reopened.size()).isEqualTo(torn);
+    }
+
+    @Test
+    void appendsAfterTheRecoveredBatches() throws IOException {
+        Segment segment = Segment.create(directory, 1, 64 * 1024);
+        segment.append(batch(ORDER_ERROR));
+        segment.flush();
+
+        Segment reopened = Segment.open(segment.file());
+        assertThat(reopened.append(batch(BILLING_WARN))).isTrue();
+
+        assertThat(search(reopened, query(0, Long.MAX_VALUE, null, null, null))).containsExactly(ORDER_ERROR, BILLING_WARN);
+        assertThat(Segment.open(segment.file()).batches()).isEqualTo(2);
+    }
+
+    @Test
+    void storesMissingServicesAsUnknown() throws IOException {
+        Segment segment = Segment.create(directory, 1, 64 * 1024);
+        segment.append(batch(new StoredLog(1, LogLevel.DEBUG, null, null, "héllo")));
+
+        assertThat(search(segment, query(0, Long.MAX_VALUE, Set.of(BatchBuilder.UNKNOWN_SERVICE), null, null)))
+                .containsExactly(new StoredLog(1, LogLevel.DEBUG, BatchBuilder.UNKNOWN_SERVICE, "", "héllo"));
+    }
+
+    @Test
+    void keepsARetiredSegmentUntilItsLastReaderLeaves() throws IOException {
+        Segment segment = Segment.create(directory, 1, 64 * 1024);
+        segment.append(batch(ORDER_ERROR, ORDER_INFO));
+        segment.acquire();
+
+        segment.retire();
+
+        assertThat(segment.file()).exists();
+        assertThat(search(segment, query(0, Long.MAX_VALUE, null, null, null))).containsExactly(ORDER_ERROR, ORDER_INFO);
+        segment.release();
+        assertThat(segment.file()).doesNotExist();
+    }
+
+    @Test
+    void deletesARetiredSegmentNoOneReads() throws IOException {
+        Segment segment = Segment.create(directory, 1, 64 * 1024);
+        segment.append(batch(ORDER_ERROR));
+
+        segment.retire();
+
+        assertThat(segment.file()).doesNotExist();
+    }
+
+    private ByteBuffer batch(StoredLog... logs) {
+        builder.reset();
+        for (StoredLog log : logs) {
+            builder.add(log);
+        }
+        return builder.encode();
+    }
+
+    private List<StoredLog> search(Segment segment, LogQuery query) {
+        List<StoredLog> matches = new ArrayList<>();
+        for (int position : segment.positions(segment.candidates(query))) {
+            segment.scan(position, query, inflater, matches);
+        }
+        return matches;
+    }
+
+    private static LogQuery query(long from, long to, Set<String> services, Set<LogLevel> levels, String contains) {
+        return new LogQuery(from, to, services, levels, contains, 100);
+    }
+
+    private static BitSet bits(int... batches) {
+        BitSet bits = new BitSet();
+        for (int batch : batches) {
+            bits.set(batch);
+        }
+        return bits;
+    }
+
+    private static byte readByte(Path file, int position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, position);
+            return one.get(0);
+        }
+    }
+
+    private static void overwrite(Path file, int position, byte... bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.myapp.kafka.log.producer.config;
+
+import com.myapp.kafka.schema.FileSchemaRegistry;
+import com.myapp.kafka.schema.SchemaRegistry;
+import com.myapp.kafka.schema.log.LogEventSerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Publishes log events as binary records instead of text lines, enabled with
+ * {@code app.kafka.format=binary}. The aggregator must run with the same format and registry directory.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.kafka.format", havingValue = "binary")
+public class LogSerializationConfig {
+
+    @Bean
+    public SchemaRegistry schemaRegistry(@Value("${app.kafka.schema-registry.dir}") String directory) {
+        return new FileSchemaRegistry(Path.of(directory));
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaProducerFactoryCustomizer logEventSerializerCustomizer(SchemaRegistry schemaRegistry) {
+        Serializer<?> serializer = new LogEventSerializer(schemaRegistry);
+        return producerFactory -> ((DefaultKafkaProducerFactory<Object, Object>) producerFactory)
+                .setValueSerializer((Serializer<Object>) serializer);
+    }
+}
@@ -0,0 +1,59 @@
+package com.myapp.kafka.log.producer.controller;
+
+import com.myapp.kafka.log.producer.model.LoadProfile;
+import com.myapp.kafka.log.producer.model.LoadReport;
+import com.myapp.kafka.log.producer.service.LoadGeneratorService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Starts and watches load runs, e.g.
+ * {@code curl -X POST localhost:8080/api/load/start -H 'Content-Type: application/json' -d '{"ratePerSecond":200000,"threads":8}'}
+ */
+@RestController
+@RequestMapping("/api/load")
+public class LoadTestController {
+
+    private final LoadGeneratorService loadGenerator;
+
+    public LoadTestController(LoadGeneratorService loadGenerator) {
+        this.loadGenerator = loadGenerator;
+    }
+
+    @PostMapping("/start")
+    public ResponseEntity<LoadReport> start(@RequestBody(required = false) LoadProfile profile) {
+        LoadReport report = loadGenerator.start(profile != null ? profile : new LoadProfile());
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<LoadReport> stop() {
+        LoadReport report = loadGenerator.stop();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Achieved rates and ack latency percentiles of the current or last run.
+     */
+    @GetMapping("/report")
+    public ResponseEntity<LoadReport> report() {
+        LoadReport report = loadGenerator.report();
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.notFound().build();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleInvalidProfile(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleRunInProgress(IllegalStateException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
+    }
+}
@@ -0,0 +1,35 @@
+package com.myapp.kafka.log.producer.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shape of a load run. Fields left out of a request keep these defaults.
+ */
+@Data
+@NoArgsConstructor
+public class LoadProfile {
+    /** Target log events per second across all threads. */
+    private int ratePerSecond = 10_000;
+    private int durationSeconds = 60;
+    /** Producer threads sharing the target rate. */
+    private int threads = 4;
+    /** Number of distinct record keys, spreading records over partitions. */
+    private int keyCardinality = 1_000;
+    /** Relative weight of each log level; the weights add up to at most Integer.MAX_VALUE. */
+    private Map<String, Integer> levelWeights = defaultLevelWeights();
+    /** Length of the message part of each log line, in characters; at most 1 KiB under the producer's max.request.size. */
+    private int payloadBytes = 128;
+
+    private static Map<String, Integer> defaultLevelWeights() {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        weights.put("INFO", 70);
+        weights.put("DEBUG", 15);
+        weights.put("WARN", 10);
+        weights.put("ERROR", 5);
+        return weights;
+    }
+}
@@ -0,0 +1,32 @@
+package com.myapp.kafka.log.producer.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Progress of a load run, or its outcome once it has finished. Rates are per second over the
+ * time since the run started; ack latencies are from handing a record to the producer until
+ * the broker acknowledged it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadReport {
+    private boolean running;
+    private Instant startedAt;
+    private double elapsedSeconds;
+    private int targetRate;
+    private long sent;
+    private long acked;
+    private long failed;
+    private double sendRate;
+    private double ackRate;
+    private double ackLatencyP50Millis;
+    private double ackLatencyP90Millis;
+    private double ackLatencyP99Millis;
+    private double ackLatencyP999Millis;
+    private double ackLatencyMaxMillis;
+}
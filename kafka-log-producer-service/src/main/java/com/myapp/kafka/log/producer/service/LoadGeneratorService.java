@@ -0,0 +1,315 @@
+package com.myapp.kafka.log.producer.service;
+
+import com.myapp.kafka.log.producer.model.LoadProfile;
+import com.myapp.kafka.log.producer.model.LoadReport;
+import com.myapp.kafka.schema.log.LogEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes log events at a target rate for capacity tests of the aggregator.
+ * <p>
+ * The rate is split evenly over the producer threads. Each thread works out from the clock how
+ * many events are due and sends them back to back, then parks until the next one is due, so
+ * the rate holds at hundreds of thousands per second where sleeping between single sends could
+ * not, and a thread that fell behind catches up instead of losing the difference. Sends share
+ * one producer whose batching settings are in application.properties. Text lines come from
+ * {@link LogLineTemplates}, so generating them does not allocate. Every acknowledgement
+ * is timed into a histogram for the run report.
+ * <p>
+ * One run at a time; the report of the last run stays available after it ends.
+ */
+@Service
+public class LoadGeneratorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGeneratorService.class);
+
+    static final int MAX_RATE = 1_000_000;
+    static final int MAX_THREADS = 64;
+    static final int MAX_KEY_CARDINALITY = 1_000_000;
+    static final int MAX_PAYLOAD_BYTES = 1_048_576;
+    static final int MAX_DURATION_SECONDS = 86_400;
+    // Room left in a request for the key, the other fields of the event and the record headers
+    static final int RECORD_OVERHEAD_BYTES = 1024;
+
+    // Longest the threads park between bursts; short enough to keep bursts small at high rates
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${app.kafka.topic.logs}")
+    private String logsTopic;
+
+    @Value("${app.kafka.format:text}")
+    private String format;
+
+    @Value("${spring.kafka.producer.properties.max.request.size:1048576}")
+    private int maxRequestSize;
+
+    private LoadRun current;
+
+    public LoadGeneratorService(KafkaTemplate<String, Object> kafkaTemplate) {
+        this.kafkaTemplate = kafkaTemplate;
+    }
+
+    /**
+     * Start a load run.
+     *
+     * @throws IllegalArgumentException if the profile is out of range
+     * @throws IllegalStateException    if a run is in progress
+     */
+    public synchronized LoadReport start(LoadProfile profile) {
+        validate(profile);
+        if (current != null && current.isRunning()) {
+            throw new IllegalStateException("A load run is already in progress");
+        }
+        current = new LoadRun(profile);
+        current.start();
+        return current.report();
+    }
+
+    /**
+     * Stop the current run early. Events already sent are still awaited and counted.
+     */
+    public synchronized LoadReport stop() {
+        if (current == null) {
+            return null;
+        }
+        current.stop();
+        return current.report();
+    }
+
+    /**
+     * The report of the current or last run, or null if there was none.
+     */
+    public synchronized LoadReport report() {
+        return current == null ? null : current.report();
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (current != null) {
+            current.stop();
+        }
+    }
+
+    private void validate(LoadProfile profile) {
+        requireRange("ratePerSecond", profile.getRatePerSecond(), MAX_RATE);
+        requireRange("durationSeconds", profile.getDurationSeconds(), MAX_DURATION_SECONDS);
+        requireRange("threads", profile.getThreads(), MAX_THREADS);
+        requireRange("keyCardinality", profile.getKeyCardinality(), MAX_KEY_CARDINALITY);
+        // A larger event would exceed the producer's request size and every send would fail
+        requireRange("payloadBytes", profile.getPayloadBytes(),
+                Math.min(MAX_PAYLOAD_BYTES, maxRequestSize - RECORD_OVERHEAD_BYTES));
+        if (profile.getLevelWeights() == null || profile.getLevelWeights().isEmpty()) {
+            throw new IllegalArgumentException("levelWeights must name at least one level");
+        }
+        // Summed as a long: the run draws levels from an int range, which must not overflow
+        long total = 0;
+        for (Map.Entry<String, Integer> weight : profile.getLevelWeights().entrySet()) {
+            if (weight.getValue() == null || weight.getValue() < 0) {
+                throw new IllegalArgumentException("Weight of level " + weight.getKey() + " must not be negative");
+            }
+            total += weight.getValue();
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("levelWeights must not all be zero");
+        }
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("levelWeights must add up to at most " + Integer.MAX_VALUE);
+        }
+    }
+
+    private static void requireRange(String name, int value, int max) {
+        if (value < 1 || value > max) {
+            throw new IllegalArgumentException(name + " must be between 1 and " + max);
+        }
+    }
+
+    /**
+     * One load run: its worker threads, counters and latency histogram.
+     */
+    private final class LoadRun {
+
+        private final LoadProfile profile;
+        private final String[] keys;
+        private final String[] levels;
+        private final int[] cumulativeWeights;
+        private final String[] messages;
+        private final LogLineTemplates templates;
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder acked = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LatencyHistogram ackLatency = new LatencyHistogram();
+        private final List<Thread> workers = new ArrayList<>();
+        private final Instant startedAt = Instant.now();
+        private final long startNanos = System.nanoTime();
+        private volatile long endNanos;
+        private volatile boolean stopping;
+
+        private LoadRun(LoadProfile profile) {
+            this.profile = profile;
+            this.keys = new String[profile.getKeyCardinality()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = "key-" + i;
+            }
+            this.levels = profile.getLevelWeights().keySet().toArray(new String[0]);
+            this.cumulativeWeights = new int[levels.length];
+            int total = 0;
+            for (int i = 0; i < levels.length; i++) {
+                total += profile.getLevelWeights().get(levels[i]);
+                cumulativeWeights[i] = total;
+            }
+            this.messages = new String[LogGeneratorService.MESSAGES.length];
+            for (int i = 0; i < messages.length; i++) {
+                messages[i] = sized(LogGeneratorService.MESSAGES[i], profile.getPayloadBytes());
+            }
+            this.templates = new LogLineTemplates(levels, LogGeneratorService.SERVICES, messages);
+        }
+
+        private void start() {
+            int threads = Math.min(profile.getThreads(), profile.getRatePerSecond());
+            for (int i = 0; i < threads; i++) {
+                // Spread the remainder so the thread rates add up to the target exactly
+                int rate = profile.getRatePerSecond() / threads + (i < profile.getRatePerSecond() % threads ? 1 : 0);
+                Thread worker = new Thread(() -> generate(rate), "load-generator-" + i);
+                worker.setDaemon(true);
+                workers.add(worker);
+            }
+            Thread coordinator = new Thread(this::awaitCompletion, "load-generator-coordinator");
+            coordinator.setDaemon(true);
+            workers.forEach(Thread::start);
+            coordinator.start();
+            logger.info("Load run started: {} events/s for {}s on {} threads", profile.getRatePerSecond(),
+                    profile.getDurationSeconds(), threads);
+        }
+
+        private void stop() {
+            stopping = true;
+        }
+
+        private boolean isRunning() {
+            return endNanos == 0;
+        }
+
+        private void generate(int rate) {
+            long durationNanos = TimeUnit.SECONDS.toNanos(profile.getDurationSeconds());
+            double nanosPerEvent = 1e9 / rate;
+            long generated = 0;
+            while (!stopping) {
+                long elapsed = System.nanoTime() - startNanos;
+                if (elapsed >= durationNanos) {
+                    return;
+                }
+                long due = (long) (elapsed / nanosPerEvent) + 1;
+                for (; generated < due && !stopping; generated++) {
+                    send();
+                }
+                long untilNext = (long) (generated * nanosPerEvent) - (System.nanoTime() - startNanos);
+                if (untilNext > 0) {
+                    LockSupport.parkNanos(Math.min(untilNext, MAX_PARK_NANOS));
+                }
+            }
+        }
+
+        private void send() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int level = level(random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]));
+            int service = random.nextInt(templates.serviceCount());
+            int message = random.nextInt(messages.length);
+            long timestamp = System.currentTimeMillis();
+            Object payload = "binary".equals(format)
+                    ? new LogEvent(levels[level], timestamp, LogGeneratorService.SERVICES[service],
+                    Thread.currentThread().getName(), messages[message])
+                    : templates.line(level, service, message, timestamp);
+            long sentAt = System.nanoTime();
+            try {
+                kafkaTemplate.send(logsTopic, keys[random.nextInt(keys.length)], payload)
+                        .whenComplete((result, error) -> {
+                            if (error == null) {
+                                ackLatency.record(System.nanoTime() - sentAt);
+                                acked.increment();
+                            } else {
+                                failed.increment();
+                            }
+                        });
+                sent.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                logger.warn("Failed to send load event: {}", e.getMessage());
+            }
+        }
+
+        private int level(int draw) {
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (draw < cumulativeWeights[i]) {
+                    return i;
+                }
+            }
+            return levels.length - 1;
+        }
+
+        /**
+         * Wait for the workers to finish, then for the acknowledgement of everything they sent.
+         */
+        private void awaitCompletion() {
+            try {
+                for (Thread worker : workers) {
+                    worker.join();
+                }
+                kafkaTemplate.flush();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+                while (acked.sum() + failed.sum() < sent.sum() && System.nanoTime() < deadline) {
+                    Thread.sleep(10);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                endNanos = System.nanoTime();
+                LoadReport report = report();
+                logger.info("Load run finished: {} sent, {} acked, {} failed, {} acked/s, ack latency p50 {} ms, p99 {} ms, max {} ms",
+                        report.getSent(), report.getAcked(), report.getFailed(), Math.round(report.getAckRate()),
+                        report.getAckLatencyP50Millis(), report.getAckLatencyP99Millis(), report.getAckLatencyMaxMillis());
+            }
+        }
+
+        private LoadReport report() {
+            long end = endNanos;
+            double seconds = ((end == 0 ? System.nanoTime() : end) - startNanos) / 1e9;
+            long sentCount = sent.sum();
+            long ackedCount = acked.sum();
+            return new LoadReport(end == 0, startedAt, seconds, profile.getRatePerSecond(), sentCount, ackedCount,
+                    failed.sum(), seconds == 0 ? 0 : sentCount / seconds, seconds == 0 ? 0 : ackedCount / seconds,
+                    ackLatency.percentileMillis(0.50), ackLatency.percentileMillis(0.90),
+                    ackLatency.percentileMillis(0.99), ackLatency.percentileMillis(0.999), ackLatency.maxMillis());
+        }
+    }
+
+    /**
+     * The message padded with filler text, or cut, to exactly the given length.
+     */
+    private static String sized(String message, int length) {
+        if (message.length() >= length) {
+            return message.substring(0, length);
+        }
+        StringBuilder sized = new StringBuilder(length).append(message);
+        while (sized.length() < length) {
+            sized.append(" lorem ipsum");
+        }
+        sized.setLength(length);
+        return sized.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.myapp.kafka.log.producer.service;
 
+import com.myapp.kafka.schema.log.LogEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -7,51 +8,56 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class LogGeneratorService {
 
     private static final Logger logger = LoggerFactory.getLogger(LogGeneratorService.class);
-    private final KafkaTemplate<String, String> kafkaTemplate;
+
+    static final String[] LEVELS = {"INFO", "WARN", "ERROR", "DEBUG"};
+    static final String[] SERVICES = {"UserService", "ProductService", "OrderService", "PaymentService"};
+    static final String[] MESSAGES = {
+            "Request processed successfully.",
+            "Database connection failed.",
+            "Invalid input detected.",
+            "User login attempt.",
+            "Resource not found.",
+            "Transaction committed.",
+            "Unexpected error occurred.",
+            "Cache refreshed."
+    };
+
+    private static final LogLineTemplates TEMPLATES = new LogLineTemplates(LEVELS, SERVICES, MESSAGES);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
 
     @Value("${app.kafka.topic.logs}")
     private String logsTopic;
 
-    private final Random random = new Random();
+    // text: the formatted line as UTF-8 bytes; binary: the event as a schema-encoded record
+    @Value("${app.kafka.format:text}")
+    private String format;
 
-    public LogGeneratorService(KafkaTemplate<String, String> kafkaTemplate) {
+    public LogGeneratorService(KafkaTemplate<String, Object> kafkaTemplate) {
         this.kafkaTemplate = kafkaTemplate;
     }
 
     @Scheduled(fixedRate = 2000) // Generate a log every 2 seconds
     public void generateAndSendLog() {
-        String logMessage = createRandomLogMessage();
-        logger.info("Generated log: {}", logMessage); // Also log locally
-
-        // Send the log message to Kafka
-        kafkaTemplate.send(logsTopic, "producer-key", logMessage);
-    }
-
-    private String createRandomLogMessage() {
-        String[] logLevels = {"INFO", "WARN", "ERROR", "DEBUG"};
-        String[] services = {"UserService", "ProductService", "OrderService", "PaymentService"};
-        String[] messages = {
-                "Request processed successfully.",
-                "Database connection failed.",
-                "Invalid input detected.",
-                "User login attempt.",
-                "Resource not found.",
-                "Transaction committed.",
-                "Unexpected error occurred.",
-                "Cache refreshed."
-        };
-
-        String level = logLevels[random.nextInt(logLevels.length)];
-        String service = services[random.nextInt(services.length)];
-        String message = messages[random.nextInt(messages.length)];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int level = random.nextInt(LEVELS.length);
+        int service = random.nextInt(SERVICES.length);
+        int message = random.nextInt(MESSAGES.length);
         long timestamp = System.currentTimeMillis();
-
-        return String.format("[%s] - %d - %s - %s: %s", level, timestamp, service, Thread.currentThread().getName(), message);
+        if (logger.isInfoEnabled()) {
+            logger.info("Generated log: {}", TEMPLATES.text(level, service, message, timestamp)); // Also log locally
+        }
+
+        // Send the log message to Kafka; the line is copied into the producer's batch before send returns
+        Object payload = "binary".equals(format)
+                ? new LogEvent(LEVELS[level], timestamp, SERVICES[service], Thread.currentThread().getName(), MESSAGES[message])
+                : TEMPLATES.line(level, service, message, timestamp);
+        kafkaTemplate.send(logsTopic, "producer-key", payload);
     }
 }
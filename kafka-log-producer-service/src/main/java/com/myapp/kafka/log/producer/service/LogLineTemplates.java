@@ -0,0 +1,134 @@
+package com.myapp.kafka.log.producer.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Log lines in the {@code [LEVEL] - timestamp - service - thread: message} format, produced
+ * without allocating.
+ * <p>
+ * Every combination of level, service and message is encoded once per thread, with that
+ * thread's name, into a byte array of its final length. Producing a line only writes the
+ * timestamp digits into the array for that combination and returns it. The array is reused by
+ * the thread's next line with the same combination, so it must be consumed before then; the
+ * Kafka producer serializes and copies the value within {@code send}, which is enough.
+ * <p>
+ * Lines longer than {@value #MAX_CACHED_LINE} bytes are built afresh every time, so very large
+ * payloads do not pin a copy per combination and thread; at that size the copy dominates anyway.
+ */
+public class LogLineTemplates {
+
+    static final int MAX_CACHED_LINE = 8192;
+
+    private static final int TIMESTAMP_DIGITS = 13;
+    private static final long MIN_TIMESTAMP = 1_000_000_000_000L;
+    private static final long MAX_TIMESTAMP = 9_999_999_999_999L;
+    private static final byte[] LEVEL_START = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] LEVEL_END = "] - ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SEPARATOR = " - ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] THREAD_END = ": ".getBytes(StandardCharsets.UTF_8);
+
+    private final String[] levelNames;
+    private final byte[][] levels;
+    private final String[] serviceNames;
+    private final byte[][] services;
+    private final String[] messageTexts;
+    private final byte[][] messages;
+    private final ThreadLocal<ThreadLines> threadLines = ThreadLocal.withInitial(this::newThreadLines);
+
+    public LogLineTemplates(String[] levels, String[] services, String[] messages) {
+        this.levelNames = levels.clone();
+        this.levels = encode(levels);
+        this.serviceNames = services.clone();
+        this.services = encode(services);
+        this.messageTexts = messages.clone();
+        this.messages = encode(messages);
+    }
+
+    public int levelCount() {
+        return levels.length;
+    }
+
+    public int serviceCount() {
+        return services.length;
+    }
+
+    public int messageCount() {
+        return messages.length;
+    }
+
+    /**
+     * The UTF-8 line for the given template indexes and timestamp, logged from the calling
+     * thread. Valid until this thread asks for the same combination again.
+     */
+    public byte[] line(int level, int service, int message, long timestamp) {
+        if (timestamp < MIN_TIMESTAMP || timestamp > MAX_TIMESTAMP) {
+            // Outside 2001 to 2286 the timestamp does not have the 13 digits the templates reserve
+            return text(level, service, message, timestamp).getBytes(StandardCharsets.UTF_8);
+        }
+        ThreadLines lines = threadLines.get();
+        int index = (level * services.length + service) * messages.length + message;
+        byte[] line = lines.lines[index];
+        if (line == null) {
+            line = build(level, service, message, lines.threadName);
+            if (line.length <= MAX_CACHED_LINE) {
+                lines.lines[index] = line;
+            }
+        }
+        writeTimestamp(line, LEVEL_START.length + levels[level].length + LEVEL_END.length, timestamp);
+        return line;
+    }
+
+    /**
+     * The same line as a string, for logging it locally.
+     */
+    public String text(int level, int service, int message, long timestamp) {
+        return "[" + levelNames[level] + "] - " + timestamp + " - " + serviceNames[service] + " - "
+                + Thread.currentThread().getName() + ": " + messageTexts[message];
+    }
+
+    private byte[] build(int level, int service, int message, byte[] threadName) {
+        int length = LEVEL_START.length + levels[level].length + LEVEL_END.length + TIMESTAMP_DIGITS
+                + SEPARATOR.length + services[service].length + SEPARATOR.length + threadName.length
+                + THREAD_END.length + messages[message].length;
+        byte[] line = new byte[length];
+        int position = put(line, 0, LEVEL_START);
+        position = put(line, position, levels[level]);
+        position = put(line, position, LEVEL_END);
+        position += TIMESTAMP_DIGITS;
+        position = put(line, position, SEPARATOR);
+        position = put(line, position, services[service]);
+        position = put(line, position, SEPARATOR);
+        position = put(line, position, threadName);
+        position = put(line, position, THREAD_END);
+        put(line, position, messages[message]);
+        return line;
+    }
+
+    private ThreadLines newThreadLines() {
+        return new ThreadLines(Thread.currentThread().getName().getBytes(StandardCharsets.UTF_8),
+                new byte[levels.length * services.length * messages.length][]);
+    }
+
+    private static void writeTimestamp(byte[] line, int offset, long timestamp) {
+        for (int i = offset + TIMESTAMP_DIGITS - 1; i >= offset; i--) {
+            line[i] = (byte) ('0' + timestamp % 10);
+            timestamp /= 10;
+        }
+    }
+
+    private static int put(byte[] line, int position, byte[] part) {
+        System.arraycopy(part, 0, line, position, part.length);
+        return position + part.length;
+    }
+
+    private static byte[][] encode(String[] values) {
+        byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = values[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    private record ThreadLines(byte[] threadName, byte[][] lines) {
+    }
+}
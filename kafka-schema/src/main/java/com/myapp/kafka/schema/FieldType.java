@@ -0,0 +1,19 @@
+package com.myapp.kafka.schema;
+
+/**
+ * Types a schema field can have, with their binary encoding.
+ */
+public enum FieldType {
+    /** One byte, 0 or 1. */
+    BOOLEAN,
+    /** Zig-zag varint, 1 to 5 bytes. */
+    INT,
+    /** Zig-zag varint, 1 to 10 bytes. */
+    LONG,
+    /** Eight bytes, IEEE 754 big-endian. */
+    DOUBLE,
+    /** Varint byte length followed by the UTF-8 bytes. */
+    STRING,
+    /** Varint byte length followed by the bytes. */
+    BYTES
+}
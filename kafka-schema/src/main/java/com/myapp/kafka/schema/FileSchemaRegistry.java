@@ -0,0 +1,139 @@
+package com.myapp.kafka.schema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Schema registry kept in a local directory, standing in for a registry service when producers
+ * and consumers share a host or a mounted volume.
+ * <p>
+ * Each schema is a JSON file named after its id, {@code 1.json}, {@code 2.json} and so on.
+ * A new schema is written to a temporary file and hard-linked under the next free id; linking
+ * fails if that id was taken meanwhile, so processes registering concurrently never overwrite
+ * each other and an equal schema registered by another process is found and reused. Files are
+ * never modified once linked, so lookups cache them for good.
+ */
+public class FileSchemaRegistry implements SchemaRegistry {
+
+    private static final String SUFFIX = ".json";
+
+    private final Path directory;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Integer, Schema> schemas = new ConcurrentHashMap<>();
+    private final Map<Schema, Integer> ids = new ConcurrentHashMap<>();
+
+    public FileSchemaRegistry(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create schema registry directory " + directory, e);
+        }
+        loadAll();
+    }
+
+    @Override
+    public int register(Schema schema) {
+        Integer known = ids.get(schema);
+        if (known != null) {
+            return known;
+        }
+        synchronized (this) {
+            loadAll();
+            known = ids.get(schema);
+            if (known != null) {
+                return known;
+            }
+            for (int id = schemas.size() + 1; ; id++) {
+                if (tryCreate(id, schema)) {
+                    cache(id, schema);
+                    return id;
+                }
+                Schema existing = load(id);
+                if (schema.equals(existing)) {
+                    return id;
+                }
+            }
+        }
+    }
+
+    @Override
+    public Schema getById(int id) {
+        Schema schema = schemas.get(id);
+        if (schema == null) {
+            // Possibly registered by another process since we last looked
+            schema = load(id);
+        }
+        if (schema == null) {
+            throw new IllegalArgumentException("No schema with id " + id + " in " + directory);
+        }
+        return schema;
+    }
+
+    private boolean tryCreate(int id, Schema schema) {
+        Path target = directory.resolve(id + SUFFIX);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "schema-", ".tmp");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), schema);
+            Files.createLink(target, temp);
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot register schema " + schema.getName() + " in " + directory, e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // A leftover temporary file is harmless, it is never read
+                }
+            }
+        }
+    }
+
+    private void loadAll() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    int id = Integer.parseInt(name.substring(0, name.length() - SUFFIX.length()));
+                    if (!schemas.containsKey(id)) {
+                        load(id);
+                    }
+                } catch (NumberFormatException e) {
+                    // Not a schema file
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list schema registry directory " + directory, e);
+        }
+    }
+
+    private Schema load(int id) {
+        try {
+            Schema schema = objectMapper.readValue(Files.readAllBytes(directory.resolve(id + SUFFIX)), Schema.class);
+            cache(id, schema);
+            return schema;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read schema " + id + " from " + directory, e);
+        }
+    }
+
+    private void cache(int id, Schema schema) {
+        schemas.put(id, schema);
+        ids.putIfAbsent(schema, id);
+    }
+}
@@ -0,0 +1,182 @@
+package com.myapp.kafka.schema;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Read-only view of an encoded record, decoding fields in place from the bytes it wraps.
+ * <p>
+ * Nothing is copied when a view is created. The first field access walks the record once to
+ * find where each field starts; every access after that decodes just the requested field, so
+ * a reader that needs two fields of a wide record pays for those two. {@link #getBytes} returns
+ * a window onto the wrapped bytes rather than a copy.
+ * <p>
+ * Fields are looked up by name in the schema the record was written with. A field that schema
+ * does not have reads as absent: null for strings and bytes, zero or false otherwise. The view
+ * must not be used after the bytes it wraps are reused.
+ */
+public final class RecordView {
+
+    private static final int NULL = -1;
+
+    private final Schema schema;
+    private final byte[] data;
+    private final int start;
+    private final int end;
+    private int[] offsets;
+
+    public RecordView(Schema schema, byte[] data, int offset, int length) {
+        this.schema = schema;
+        this.data = data;
+        this.start = offset;
+        this.end = offset + length;
+    }
+
+    public Schema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Whether the record's schema has the named field.
+     */
+    public boolean has(String name) {
+        return schema.indexOf(name) >= 0;
+    }
+
+    /**
+     * Whether the named field is absent or null.
+     */
+    public boolean isNull(String name) {
+        return offset(name, null) == NULL;
+    }
+
+    public boolean getBoolean(String name) {
+        int offset = offset(name, FieldType.BOOLEAN);
+        return offset != NULL && data[offset] != 0;
+    }
+
+    public int getInt(String name) {
+        int offset = offset(name, FieldType.INT);
+        if (offset == NULL) {
+            return 0;
+        }
+        int raw = (int) readVarLong(offset);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public long getLong(String name) {
+        int offset = offset(name, FieldType.LONG);
+        if (offset == NULL) {
+            return 0L;
+        }
+        long raw = readVarLong(offset);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public double getDouble(String name) {
+        int offset = offset(name, FieldType.DOUBLE);
+        if (offset == NULL) {
+            return 0.0;
+        }
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits = (bits << 8) | (data[offset + i] & 0xFF);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    public String getString(String name) {
+        int offset = offset(name, FieldType.STRING);
+        if (offset == NULL) {
+            return null;
+        }
+        int length = (int) readVarLong(offset);
+        return new String(data, skipVarLong(offset), length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The named bytes field as a read-only buffer over the wrapped bytes, valid as long as the view is.
+     */
+    public ByteBuffer getBytes(String name) {
+        int offset = offset(name, FieldType.BYTES);
+        if (offset == NULL) {
+            return null;
+        }
+        int length = (int) readVarLong(offset);
+        return ByteBuffer.wrap(data, skipVarLong(offset), length).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Where the value of the named field starts, or {@link #NULL} if it is absent or null.
+     */
+    private int offset(String name, FieldType expected) {
+        int index = schema.indexOf(name);
+        if (index < 0) {
+            return NULL;
+        }
+        FieldType actual = schema.getFields().get(index).type();
+        if (expected != null && actual != expected) {
+            throw new IllegalArgumentException("Field " + name + " of " + schema.getName()
+                    + " is " + actual + ", not " + expected);
+        }
+        if (offsets == null) {
+            offsets = index();
+        }
+        return offsets[index];
+    }
+
+    private int[] index() {
+        int[] result = new int[schema.getFields().size()];
+        int position = start;
+        for (int i = 0; i < result.length; i++) {
+            Schema.Field field = schema.getFields().get(i);
+            if (field.nullable()) {
+                checkAvailable(position, 1);
+                if (data[position++] == 0) {
+                    result[i] = NULL;
+                    continue;
+                }
+            }
+            result[i] = position;
+            position = switch (field.type()) {
+                case BOOLEAN -> position + 1;
+                case INT, LONG -> skipVarLong(position);
+                case DOUBLE -> position + 8;
+                case STRING, BYTES -> {
+                    int length = (int) readVarLong(position);
+                    yield skipVarLong(position) + length;
+                }
+            };
+            checkAvailable(position, 0);
+        }
+        return result;
+    }
+
+    private long readVarLong(int position) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            checkAvailable(position, 1);
+            byte b = data[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in " + schema.getName() + " record");
+    }
+
+    private int skipVarLong(int position) {
+        while (true) {
+            checkAvailable(position, 1);
+            if (data[position++] >= 0) {
+                return position;
+            }
+        }
+    }
+
+    private void checkAvailable(int position, int bytes) {
+        if (position + bytes > end) {
+            throw new IllegalArgumentException("Truncated " + schema.getName() + " record of " + (end - start) + " bytes");
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.myapp.kafka.schema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes one record at a time into a growable buffer that is reused across records.
+ * <p>
+ * Fields are written in schema order with the method matching their type; each call is checked
+ * against the schema, so a codec that writes fields out of order or of the wrong type fails
+ * straight away instead of producing a payload no reader can decode. Not thread-safe.
+ */
+public final class RecordWriter {
+
+    private byte[] buffer;
+    private int position;
+    private Schema schema;
+    private int field;
+
+    public RecordWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     * Discard the previous record and start one with the given schema.
+     */
+    public void reset(Schema schema) {
+        this.schema = schema;
+        this.position = 0;
+        this.field = 0;
+    }
+
+    public void writeBoolean(boolean value) {
+        next(FieldType.BOOLEAN, true);
+        ensure(1);
+        buffer[position++] = (byte) (value ? 1 : 0);
+    }
+
+    public void writeInt(int value) {
+        next(FieldType.INT, true);
+        writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    public void writeLong(long value) {
+        next(FieldType.LONG, true);
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public void writeDouble(double value) {
+        next(FieldType.DOUBLE, true);
+        writeRawLong(Double.doubleToRawLongBits(value));
+    }
+
+    public void writeString(String value) {
+        if (next(FieldType.STRING, value != null)) {
+            writeUtf8(value);
+        }
+    }
+
+    public void writeBytes(byte[] value) {
+        if (next(FieldType.BYTES, value != null)) {
+            writeLengthPrefixed(value);
+        }
+    }
+
+    /**
+     * The encoded record, copied to an array of its exact length.
+     *
+     * @throws IllegalStateException if not every field of the schema was written
+     */
+    public byte[] toByteArray() {
+        if (schema != null && field != schema.getFields().size()) {
+            throw new IllegalStateException("Only " + field + " of " + schema.getFields().size()
+                    + " fields of " + schema.getName() + " were written");
+        }
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Write bytes that are not a field, such as a payload header. Only valid before the first field.
+     */
+    void writeRawByte(byte value) {
+        ensure(1);
+        buffer[position++] = value;
+    }
+
+    void writeRawInt(int value) {
+        ensure(4);
+        buffer[position++] = (byte) (value >>> 24);
+        buffer[position++] = (byte) (value >>> 16);
+        buffer[position++] = (byte) (value >>> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    /**
+     * Check that the next field has the given type and write its presence byte if it is nullable.
+     *
+     * @return whether a value follows
+     */
+    private boolean next(FieldType type, boolean present) {
+        if (field == schema.getFields().size()) {
+            throw new IllegalStateException("All fields of " + schema.getName() + " were already written");
+        }
+        Schema.Field expected = schema.getFields().get(field);
+        if (expected.type() != type) {
+            throw new IllegalStateException("Field " + expected.name() + " of " + schema.getName()
+                    + " is " + expected.type() + ", not " + type);
+        }
+        field++;
+        if (expected.nullable()) {
+            writeRawByte((byte) (present ? 1 : 0));
+        } else if (!present) {
+            throw new IllegalArgumentException("Field " + expected.name() + " of " + schema.getName() + " must not be null");
+        }
+        return present;
+    }
+
+    /**
+     * Encode the string as UTF-8. ASCII strings, the common case for log payloads, are copied
+     * straight into the buffer without an intermediate byte array.
+     */
+    private void writeUtf8(String value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) >= 0x80) {
+                // Let the JDK handle multi-byte characters and surrogate pairs
+                writeLengthPrefixed(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+        writeVarLong(length);
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            buffer[position++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeLengthPrefixed(byte[] value) {
+        writeVarLong(value.length);
+        ensure(value.length);
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+    }
+
+    private void writeVarLong(long value) {
+        ensure(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeRawLong(long value) {
+        ensure(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.myapp.kafka.schema;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The layout of a binary record: a name and an ordered list of fields. Fields are encoded back
+ * to back in this order with no tags, so decoding needs the exact schema a record was written
+ * with; the schema id in each payload identifies it. Readers look fields up by name in that
+ * schema, so a reader expecting a field the writer did not have sees it as absent.
+ * <p>
+ * Two schemas are equal when their names and fields are, which is what the registry uses to
+ * give an unchanged schema the same id again.
+ */
+public final class Schema {
+
+    private final String name;
+    private final List<Field> fields;
+    private final Map<String, Integer> positions;
+
+    @JsonCreator
+    public Schema(@JsonProperty("name") String name, @JsonProperty("fields") List<Field> fields) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.fields = List.copyOf(fields);
+        this.positions = new HashMap<>(fields.size() * 2);
+        for (int i = 0; i < this.fields.size(); i++) {
+            if (positions.put(this.fields.get(i).name(), i) != null) {
+                throw new IllegalArgumentException("Duplicate field " + this.fields.get(i).name() + " in schema " + name);
+            }
+        }
+    }
+
+    public static Schema of(String name, Field... fields) {
+        return new Schema(name, List.of(fields));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * The position of the named field, or -1 if the schema has no such field.
+     */
+    public int indexOf(String fieldName) {
+        Integer position = positions.get(fieldName);
+        return position == null ? -1 : position;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Schema schema && name.equals(schema.name) && fields.equals(schema.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name + fields;
+    }
+
+    /**
+     * A field of a schema. Nullable fields carry a presence byte ahead of their value.
+     */
+    public record Field(String name, FieldType type, boolean nullable) {
+
+        public Field {
+            Objects.requireNonNull(name, "name");
+            Objects.requireNonNull(type, "type");
+        }
+
+        public static Field required(String name, FieldType type) {
+            return new Field(name, type, false);
+        }
+
+        public static Field optional(String name, FieldType type) {
+            return new Field(name, type, true);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.myapp.kafka.schema;
+
+/**
+ * Maps one payload type to and from its binary record. Implement one per type and plug it into
+ * a {@link SchemaSerializer} and a {@link SchemaDeserializer}.
+ *
+ * @param <T> the payload type
+ */
+public interface SchemaCodec<T> {
+
+    /**
+     * The schema records are written with. It is registered on first use.
+     */
+    Schema schema();
+
+    /**
+     * Write the fields of the value in {@link #schema()} order.
+     */
+    void write(T value, RecordWriter writer);
+
+    /**
+     * Build a value from a record. The record may have been written with an older or newer
+     * schema, so fields are read by name; the view must not be kept after this returns.
+     */
+    T read(RecordView record);
+}
@@ -0,0 +1,74 @@
+package com.myapp.kafka.schema;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Kafka deserializer for payloads written by {@link SchemaSerializer}.
+ * <p>
+ * The consumer hands over record values as buffers onto the fetched batch; when that buffer is
+ * backed by an array the codec reads straight from it, without the copy into a separate array
+ * the default {@link Deserializer} path makes. The writer's schema is looked up by the id in
+ * the payload, so values written with an earlier or later version of the codec's schema are
+ * still read.
+ *
+ * @param <T> the value type
+ */
+public class SchemaDeserializer<T> implements Deserializer<T> {
+
+    private final SchemaCodec<T> codec;
+    private SchemaRegistry registry;
+
+    public SchemaDeserializer(SchemaCodec<T> codec) {
+        this.codec = codec;
+    }
+
+    public SchemaDeserializer(SchemaCodec<T> codec, SchemaRegistry registry) {
+        this.codec = codec;
+        this.registry = registry;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        if (registry == null) {
+            registry = SchemaSerializer.registryFrom(configs);
+        }
+    }
+
+    @Override
+    public T deserialize(String topic, byte[] data) {
+        return data == null ? null : read(topic, data, 0, data.length);
+    }
+
+    @Override
+    public T deserialize(String topic, Headers headers, ByteBuffer data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.hasArray()) {
+            return read(topic, data.array(), data.arrayOffset() + data.position(), data.remaining());
+        }
+        byte[] copy = new byte[data.remaining()];
+        data.duplicate().get(copy);
+        return read(topic, copy, 0, copy.length);
+    }
+
+    private T read(String topic, byte[] data, int offset, int length) {
+        if (length < SchemaSerializer.HEADER_SIZE || data[offset] != SchemaSerializer.MAGIC_BYTE) {
+            throw new SerializationException("Value on topic " + topic + " is not a schema-encoded record");
+        }
+        int schemaId = ((data[offset + 1] & 0xFF) << 24) | ((data[offset + 2] & 0xFF) << 16)
+                | ((data[offset + 3] & 0xFF) << 8) | (data[offset + 4] & 0xFF);
+        try {
+            Schema schema = registry.getById(schemaId);
+            return codec.read(new RecordView(schema, data, offset + SchemaSerializer.HEADER_SIZE,
+                    length - SchemaSerializer.HEADER_SIZE));
+        } catch (RuntimeException e) {
+            throw new SerializationException("Cannot deserialize record with schema " + schemaId + " from topic " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.myapp.kafka.schema;
+
+/**
+ * Assigns ids to schemas so payloads carry a four-byte id instead of their schema.
+ */
+public interface SchemaRegistry {
+
+    /**
+     * Register a schema, or look up the id it was registered under before.
+     *
+     * @return the id of the schema, the same for every equal schema
+     */
+    int register(Schema schema);
+
+    /**
+     * The schema registered under the id.
+     *
+     * @throws IllegalArgumentException if no schema has that id
+     */
+    Schema getById(int id);
+}
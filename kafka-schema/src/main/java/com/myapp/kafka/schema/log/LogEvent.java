@@ -0,0 +1,26 @@
+package com.myapp.kafka.schema.log;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One application log line as published to the logs topic.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogEvent {
+    private String level;
+    private long timestamp;
+    private String service;
+    private String thread;
+    private String message;
+
+    /**
+     * The text form of the event, {@code [LEVEL] - timestamp - service - thread: message}.
+     */
+    public String toText() {
+        return "[" + level + "] - " + timestamp + " - " + service + " - " + thread + ": " + message;
+    }
+}
@@ -0,0 +1,43 @@
+package com.myapp.kafka.schema.log;
+
+import com.myapp.kafka.schema.FieldType;
+import com.myapp.kafka.schema.RecordView;
+import com.myapp.kafka.schema.RecordWriter;
+import com.myapp.kafka.schema.Schema;
+import com.myapp.kafka.schema.SchemaCodec;
+
+import static com.myapp.kafka.schema.Schema.Field.required;
+
+/**
+ * Binary layout of {@link LogEvent}. The timestamp is a varint, so the whole header of a log
+ * line takes a few bytes more than its level, service and thread names.
+ */
+public class LogEventCodec implements SchemaCodec<LogEvent> {
+
+    public static final Schema SCHEMA = Schema.of("LogEvent",
+            required("level", FieldType.STRING),
+            required("timestamp", FieldType.LONG),
+            required("service", FieldType.STRING),
+            required("thread", FieldType.STRING),
+            required("message", FieldType.STRING));
+
+    @Override
+    public Schema schema() {
+        return SCHEMA;
+    }
+
+    @Override
+    public void write(LogEvent value, RecordWriter writer) {
+        writer.writeString(value.getLevel());
+        writer.writeLong(value.getTimestamp());
+        writer.writeString(value.getService());
+        writer.writeString(value.getThread());
+        writer.writeString(value.getMessage());
+    }
+
+    @Override
+    public LogEvent read(RecordView record) {
+        return new LogEvent(record.getString("level"), record.getLong("timestamp"), record.getString("service"),
+                record.getString("thread"), record.getString("message"));
+    }
+}
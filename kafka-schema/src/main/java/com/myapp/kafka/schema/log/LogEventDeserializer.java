@@ -0,0 +1,18 @@
+package com.myapp.kafka.schema.log;
+
+import com.myapp.kafka.schema.SchemaDeserializer;
+import com.myapp.kafka.schema.SchemaRegistry;
+
+/**
+ * {@link SchemaDeserializer} for log events, usable as a {@code value.deserializer} class name.
+ */
+public class LogEventDeserializer extends SchemaDeserializer<LogEvent> {
+
+    public LogEventDeserializer() {
+        super(new LogEventCodec());
+    }
+
+    public LogEventDeserializer(SchemaRegistry registry) {
+        super(new LogEventCodec(), registry);
+    }
+}
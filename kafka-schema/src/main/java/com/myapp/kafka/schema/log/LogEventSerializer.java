@@ -0,0 +1,18 @@
+package com.myapp.kafka.schema.log;
+
+import com.myapp.kafka.schema.SchemaRegistry;
+import com.myapp.kafka.schema.SchemaSerializer;
+
+/**
+ * {@link SchemaSerializer} for log events, usable as a {@code value.serializer} class name.
+ */
+public class LogEventSerializer extends SchemaSerializer<LogEvent> {
+
+    public LogEventSerializer() {
+        super(new LogEventCodec());
+    }
+
+    public LogEventSerializer(SchemaRegistry registry) {
+        super(new LogEventCodec(), registry);
+    }
+}
@@ -0,0 +1,123 @@
+package com.myapp.kafka.schema;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static com.myapp.kafka.schema.Schema.Field.optional;
+import static com.myapp.kafka.schema.Schema.Field.required;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordViewTest {
+
+    private static final Schema SCHEMA = Schema.of("event",
+            required("flag", FieldType.BOOLEAN),
+            required("count", FieldType.INT),
+            required("timestamp", FieldType.LONG),
+            required("ratio", FieldType.DOUBLE),
+            optional("message", FieldType.STRING),
+            optional("payload", FieldType.BYTES));
+
+    @Test
+    void readsBackEveryFieldWritten() {
+        RecordView view = view(encode(true, Integer.MIN_VALUE, Long.MAX_VALUE, -0.25, "héllo wörld", new byte[]{1, 2, 3}));
+
+        assertThat(view.getBoolean("flag")).isTrue();
+        assertThat(view.getInt("count")).isEqualTo(Integer.MIN_VALUE);
+        assertThat(view.getLong("timestamp")).isEqualTo(Long.MAX_VALUE);
+        assertThat(view.getDouble("ratio")).isEqualTo(-0.25);
+        assertThat(view.getString("message")).isEqualTo("héllo wörld");
+        assertThat(view.getBytes("payload")).isEqualTo(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    void readsFieldsInAnyOrder() {
+        RecordView view = view(encode(false, -7, 42L, 1.5, "last", null));
+
+        assertThat(view.getString("message")).isEqualTo("last");
+        assertThat(view.getInt("count")).isEqualTo(-7);
+        assertThat(view.getLong("timestamp")).isEqualTo(42L);
+    }
+
+    @Test
+    void readsNullOptionalFieldsAsNull() {
+        RecordView view = view(encode(false, 0, 0L, 0.0, null, null));
+
+        assertThat(view.isNull("message")).isTrue();
+        assertThat(view.getString("message")).isNull();
+        assertThat(view.getBytes("payload")).isNull();
+        assertThat(view.isNull("count")).isFalse();
+    }
+
+    @Test
+    void readsFieldsTheWriterDidNotHaveAsAbsent() {
+        RecordView view = view(encode(true, 1, 1L, 1.0, "x", null));
+
+        assertThat(view.has("missing")).isFalse();
+        assertThat(view.isNull("missing")).isTrue();
+        assertThat(view.getInt("missing")).isZero();
+        assertThat(view.getBoolean("missing")).isFalse();
+        assertThat(view.getString("missing")).isNull();
+    }
+
+    @Test
+    void decodesARecordInTheMiddleOfALargerArray() {
+        byte[] record = encode(true, 3, 4L, 5.0, "inner", null);
+        byte[] framed = new byte[record.length + 6];
+        Arrays.fill(framed, (byte) 0xFF);
+        System.arraycopy(record, 0, framed, 3, record.length);
+
+        RecordView view = new RecordView(SCHEMA, framed, 3, record.length);
+
+        assertThat(view.getString("message")).isEqualTo("inner");
+        assertThat(view.getLong("timestamp")).isEqualTo(4L);
+    }
+
+    @Test
+    void getBytesIsAReadOnlyWindowOntoTheRecord() {
+        byte[] record = encode(true, 0, 0L, 0.0, null, new byte[]{9, 8});
+        ByteBuffer payload = view(record).getBytes("payload");
+
+        assertThat(payload.isReadOnly()).isTrue();
+        assertThat(payload.remaining()).isEqualTo(2);
+        record[record.length - 1] = 1;
+        assertThat(payload.get(1)).isEqualTo((byte) 1);
+    }
+
+    @Test
+    void rejectsReadingAFieldAsTheWrongType() {
+        RecordView view = view(encode(true, 1, 1L, 1.0, null, null));
+
+        assertThatThrownBy(() -> view.getLong("count"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Field count of event is INT, not LONG");
+    }
+
+    @Test
+    void rejectsATruncatedRecord() {
+        byte[] record = encode(true, 1, 1L, 1.0, "truncated", null);
+        RecordView view = new RecordView(SCHEMA, record, 0, record.length - 4);
+
+        assertThatThrownBy(() -> view.getBoolean("flag"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Truncated event record");
+    }
+
+    private static RecordView view(byte[] record) {
+        return new RecordView(SCHEMA, record, 0, record.length);
+    }
+
+    private static byte[] encode(boolean flag, int count, long timestamp, double ratio, String message, byte[] payload) {
+        RecordWriter writer = new RecordWriter(64);
+        writer.reset(SCHEMA);
+        writer.writeBoolean(flag);
+        writer.writeInt(count);
+        writer.writeLong(timestamp);
+        writer.writeDouble(ratio);
+        writer.writeString(message);
+        writer.writeBytes(payload);
+        return writer.toByteArray();
+    }
+}
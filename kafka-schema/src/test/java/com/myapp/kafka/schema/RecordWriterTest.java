@@ -0,0 +1,100 @@
+package com.myapp.kafka.schema;
+
+import org.junit.jupiter.api.Test;
+
+import static com.myapp.kafka.schema.Schema.Field.optional;
+import static com.myapp.kafka.schema.Schema.Field.required;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordWriterTest {
+
+    private static final Schema SCHEMA = Schema.of("event",
+            required("id", FieldType.LONG),
+            optional("message", FieldType.STRING),
+            required("level", FieldType.INT));
+
+    private final RecordWriter writer = new RecordWriter(16);
+
+    @Test
+    void encodesFieldsBackToBackInSchemaOrder() {
+        writer.reset(SCHEMA);
+        writer.writeLong(-1);
+        writer.writeString("hi");
+        writer.writeInt(2);
+
+        // Zig-zag -1, presence byte, length 2, "hi", zig-zag 2
+        assertThat(writer.toByteArray()).containsExactly(1, 1, 2, 'h', 'i', 4);
+    }
+
+    @Test
+    void writesOnlyAPresenceByteForANullOptionalField() {
+        writer.reset(SCHEMA);
+        writer.writeLong(0);
+        writer.writeString(null);
+        writer.writeInt(0);
+
+        assertThat(writer.toByteArray()).containsExactly(0, 0, 0);
+    }
+
+    @Test
+    void rejectsAFieldOfTheWrongType() {
+        writer.reset(SCHEMA);
+
+        assertThatThrownBy(() -> writer.writeInt(1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Field id of event is LONG, not INT");
+    }
+
+    @Test
+    void rejectsNullForARequiredField() {
+        Schema schema = Schema.of("named", required("name", FieldType.STRING));
+        writer.reset(schema);
+
+        assertThatThrownBy(() -> writer.writeString(null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("must not be null");
+    }
+
+    @Test
+    void rejectsMoreFieldsThanTheSchemaHas() {
+        writer.reset(Schema.of("flag", required("on", FieldType.BOOLEAN)));
+        writer.writeBoolean(true);
+
+        assertThatThrownBy(() -> writer.writeBoolean(false))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already written");
+    }
+
+    @Test
+    void refusesToHandOutAnIncompleteRecord() {
+        writer.reset(SCHEMA);
+        writer.writeLong(1);
+
+        assertThatThrownBy(writer::toByteArray)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Only 1 of 3 fields");
+    }
+
+    @Test
+    void growsTheBufferAndStartsAfreshOnReset() {
+        Schema schema = Schema.of("blob", required("data", FieldType.BYTES));
+        byte[] large = new byte[1000];
+        large[999] = 7;
+        writer.reset(schema);
+        writer.writeBytes(large);
+        assertThat(writer.toByteArray()).hasSize(1002).endsWith(7);
+
+        writer.reset(schema);
+        writer.writeBytes(new byte[]{5});
+        assertThat(writer.toByteArray()).containsExactly(1, 5);
+    }
+
+    @Test
+    void encodesNonAsciiStringsAsUtf8() {
+        writer.reset(Schema.of("text", required("value", FieldType.STRING)));
+        writer.writeString("é");
+
+        assertThat(writer.toByteArray()).containsExactly(2, 0xC3, 0xA9);
+    }
+}
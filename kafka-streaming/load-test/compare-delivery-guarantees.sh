@@ -0,0 +1,81 @@
+#!/usr/bin/env bash
+# Compares the throughput of the consume-transform-produce pipeline with exactly-once and
+# at-least-once delivery.
+#
+# Publishes a backlog of messages to the demo topic once, then starts the packaged application
+# once per guarantee with a fresh consumer group, so each run transforms the same backlog from
+# the beginning, and prints the pipeline stats when the whole backlog has been processed.
+# Other consumers and the streams rollups are switched off during the runs.
+#
+# Requirements: the Kafka cluster from application.properties, curl and jq.
+#
+# Usage: load-test/compare-delivery-guarantees.sh [messages] [message-bytes]
+#   defaults: 1000000 messages of 100 bytes
+set -euo pipefail
+
+MESSAGES=${1:-1000000}
+MESSAGE_BYTES=${2:-100}
+BATCH=10000
+PORT=${PORT:-8081}
+BASE_URL="http://localhost:${PORT}/api/kafka"
+DIR=$(cd "$(dirname "$0")" && pwd)
+JAR=$(ls "${DIR}"/../target/kafka-streaming-*.jar | head -1)
+RUN_ID=$(date +%s)
+
+start_app() {
+  local log=$1
+  shift
+  java -jar "${JAR}" --server.port="${PORT}" --kafka.consumer.mode=none --kafka.streams.enabled=false "$@" \
+    > "${log}" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 120); do
+    if curl -sf -o /dev/null "${BASE_URL}/messages/stats"; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "application did not start, see ${log}" >&2
+  return 1
+}
+
+stop_app() {
+  kill "${APP_PID}" 2>/dev/null || true
+  wait "${APP_PID}" 2>/dev/null || true
+}
+
+publish_backlog() {
+  echo "=== publishing ${MESSAGES} messages of ${MESSAGE_BYTES} bytes ==="
+  start_app /tmp/pipeline-publish.log --kafka.pipeline.guarantee=none
+  local body payload
+  body=$(mktemp)
+  payload=$(head -c "${MESSAGE_BYTES}" /dev/zero | tr '\0' 'x')
+  for ((sent = 0; sent < MESSAGES; sent += BATCH)); do
+    local count=$((MESSAGES - sent < BATCH ? MESSAGES - sent : BATCH))
+    seq 1 "${count}" | jq -R --arg v "${payload}" '{value: $v}' | jq -s . > "${body}"
+    curl -sf -o /dev/null -X POST -H 'Content-Type: application/json' --data-binary "@${body}" "${BASE_URL}/messages/batch"
+  done
+  rm -f "${body}"
+  stop_app
+}
+
+run_guarantee() {
+  local guarantee=$1
+  echo "=== ${guarantee} ==="
+  start_app "/tmp/pipeline-${guarantee}.log" --kafka.pipeline.guarantee="${guarantee}" \
+    --kafka.pipeline.group-id="pipeline-${guarantee}-${RUN_ID}" \
+    --kafka.pipeline.output-topic="demo-topic-processed-${guarantee}"
+  while true; do
+    local stats
+    stats=$(curl -sf "${BASE_URL}/pipeline/stats")
+    if [ "$(jq .records <<< "${stats}")" -ge "${MESSAGES}" ]; then
+      jq . <<< "${stats}"
+      break
+    fi
+    sleep 1
+  done
+  stop_app
+}
+
+publish_backlog
+run_guarantee at-least-once
+run_guarantee exactly-once
@@ -0,0 +1,46 @@
+package com.myapp.poc.kafka.client;
+
+import com.myapp.poc.kafka.model.ConsumerStats;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Batch size and processing time of the batch consumer, updated lock-free from every listener
+ * thread.
+ */
+@Component
+public class ConsumerBatchMetrics {
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder processingNanos = new LongAdder();
+    private final LongAccumulator maxBatchSize = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxProcessingNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder failedBatches = new LongAdder();
+
+    public void recordBatch(int size, long nanos) {
+        batches.increment();
+        records.add(size);
+        processingNanos.add(nanos);
+        maxBatchSize.accumulate(size);
+        maxProcessingNanos.accumulate(nanos);
+    }
+
+    public void recordFailure() {
+        failedBatches.increment();
+    }
+
+    public ConsumerStats snapshot() {
+        long batchCount = batches.sum();
+        long recordCount = records.sum();
+        long nanos = processingNanos.sum();
+        return new ConsumerStats(batchCount, recordCount, failedBatches.sum(),
+                batchCount == 0 ? 0 : (double) recordCount / batchCount,
+                maxBatchSize.get(),
+                batchCount == 0 ? 0 : nanos / 1e6 / batchCount,
+                maxProcessingNanos.get() / 1e6,
+                nanos == 0 ? 0 : recordCount * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,51 @@
+package com.myapp.poc.kafka.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Consumes the demo topic a poll at a time, enabled with {@code kafka.consumer.mode=batch}.
+ * <p>
+ * Offsets are committed once per batch, after every record in it has been processed. If a
+ * record fails, the batch is reported as failed at that record: the records before it are
+ * committed and the rest is redelivered by the container's error handler.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "batch")
+public class KafkaBatchEventConsumer {
+
+    private final ConsumerBatchMetrics metrics;
+
+    @KafkaListener(topics = "demo-topic-partition", groupId = "demo-group",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void consume(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        long started = System.nanoTime();
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                process(records.get(i));
+            } catch (RuntimeException e) {
+                metrics.recordFailure();
+                throw new BatchListenerFailedException("Failed to process record " + i + " of batch", e, i);
+            }
+        }
+        acknowledgment.acknowledge();
+        metrics.recordBatch(records.size(), System.nanoTime() - started);
+        log.debug("Consumer [Thread-{}] processed batch of {} records", Thread.currentThread().getName(), records.size());
+    }
+
+    private void process(ConsumerRecord<String, String> record) {
+        if (log.isTraceEnabled()) {
+            log.trace("Received message from partition [{}] at offset {}: {}", record.partition(), record.offset(), record.value());
+        }
+    }
+}
@@ -1,18 +1,22 @@
 package com.myapp.poc.kafka.client;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "record", matchIfMissing = true)
 public class KafkaEventConsumer {
     @KafkaListener(topics = "demo-topic-partition", groupId = "demo-group", concurrency = "3")
     public void consume(ConsumerRecord<String, String> record) {
         String threadId = Thread.currentThread().getName();
         String message = record.value();
         int partition = record.partition();
-        System.out.println("Consumer [Thread-" + threadId + "] received message from partition [" + partition + "]: " + message);
+        log.debug("Consumer [Thread-{}] received message from partition [{}]: {}", threadId, partition, message);
     }
 }
@@ -1,18 +1,170 @@
 package com.myapp.poc.kafka.client;
 
-import lombok.RequiredArgsConstructor;
+import com.myapp.poc.kafka.model.BatchSendResult;
+import com.myapp.poc.kafka.model.MessageRecord;
+import com.myapp.poc.kafka.model.ProducerStats;
+import com.myapp.poc.kafka.model.RecordAck;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishes messages to the demo topic.
+ * <p>
+ * Sends are asynchronous and every one is tracked until the broker acknowledges it. The number
+ * of unacknowledged records is bounded by a semaphore: once {@code kafka.producer.max-in-flight}
+ * records are pending, senders wait up to {@code kafka.producer.acquire-timeout} for a slot and
+ * then get a {@link ProducerBackpressureException}, so a burst slows callers down instead of
+ * filling the heap, and no record is dropped without being counted and logged.
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class KafkaEventProducer {
     private static final String TOPIC = "demo-topic-partition";
+
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final long acquireTimeoutNanos;
+    // Keys are unique per JVM run: a start-time prefix and a sequence number
+    private final String keyPrefix = "key-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+    private final AtomicLong keySequence = new AtomicLong();
+    private final LongAdder acked = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public KafkaEventProducer(KafkaTemplate<String, String> kafkaTemplate,
+                              @Value("${kafka.producer.max-in-flight:100000}") int maxInFlight,
+                              @Value("${kafka.producer.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
 
+    /**
+     * Publish one message without waiting for the broker; failures are logged and counted.
+     */
     public void sendMessage(String message) {
-        String key = "key-" + System.currentTimeMillis(); // Unique key for each message
-        kafkaTemplate.send(TOPIC, key, message);
-        System.out.println("Message sent to topic " + TOPIC + " with key " + key + ": " + message);
+        send(null, message).whenComplete((result, error) -> {
+            if (error == null) {
+                log.debug("Message sent to topic {} with key {}", TOPIC, result.getProducerRecord().key());
+            }
+        });
+    }
+
+    /**
+     * Publish one message.
+     *
+     * @param key the record key, or null to generate a unique one
+     * @return completes when the broker has acknowledged the record
+     * @throws ProducerBackpressureException if no in-flight slot became free in time
+     */
+    public CompletableFuture<SendResult<String, String>> send(String key, String message) {
+        acquire();
+        String recordKey = key != null ? key : nextKey();
+        CompletableFuture<SendResult<String, String>> future;
+        try {
+            future = kafkaTemplate.send(TOPIC, recordKey, message);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            failed.increment();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> {
+            inFlight.release();
+            if (error == null) {
+                acked.increment();
+            } else {
+                failed.increment();
+                log.warn("Failed to send message with key {} to topic {}: {}", recordKey, TOPIC, error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Publish a batch of messages and wait for all of them to be acknowledged or to fail. The
+     * records are handed to the producer back to back, so they share its batches.
+     *
+     * If the producer stays saturated, sending stops at the first record it has no room for:
+     * the records before it are still awaited and acknowledged, and that record and the rest are
+     * returned as rejected, so the caller can retry exactly those.
+     *
+     * @return one acknowledgement per record, in input order
+     */
+    public BatchSendResult sendBatch(List<MessageRecord> records) {
+        List<String> keys = new ArrayList<>(records.size());
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(records.size());
+        String rejection = null;
+        for (MessageRecord record : records) {
+            String key = record.getKey() != null ? record.getKey() : nextKey();
+            keys.add(key);
+            try {
+                futures.add(send(key, record.getValue()));
+            } catch (ProducerBackpressureException e) {
+                rejection = e.getMessage();
+                // The rejected record was counted by acquire(); count the ones never tried too
+                rejected.add(records.size() - keys.size());
+                break;
+            }
+        }
+        List<RecordAck> acks = new ArrayList<>(records.size());
+        int ackedCount = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                RecordMetadata metadata = futures.get(i).join().getRecordMetadata();
+                acks.add(new RecordAck(i, keys.get(i), metadata.partition(), metadata.offset(), null, null));
+                ackedCount++;
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                acks.add(new RecordAck(i, keys.get(i), null, null, cause.getMessage(), null));
+            }
+        }
+        for (int i = futures.size(); i < records.size(); i++) {
+            String key = i < keys.size() ? keys.get(i) : records.get(i).getKey();
+            acks.add(new RecordAck(i, key, null, null, rejection, true));
+        }
+        int rejectedCount = records.size() - futures.size();
+        int failedCount = futures.size() - ackedCount;
+        if (rejectedCount > 0) {
+            log.warn("Producer saturated, rejected {} of a batch of {} messages: {}", rejectedCount, records.size(), rejection);
+        }
+        log.info("Sent batch of {} messages to topic {}: {} acked, {} failed, {} rejected",
+                records.size(), TOPIC, ackedCount, failedCount, rejectedCount);
+        return new BatchSendResult(ackedCount, failedCount, rejectedCount, acks);
+    }
+
+    public ProducerStats getStats() {
+        return new ProducerStats(maxInFlight - inFlight.availablePermits(), maxInFlight,
+                acked.sum(), failed.sum(), rejected.sum());
+    }
+
+    private void acquire() {
+        try {
+            if (inFlight.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new ProducerBackpressureException(maxInFlight + " messages are awaiting acknowledgement, try again later");
+    }
+
+    private String nextKey() {
+        return keyPrefix + keySequence.incrementAndGet();
     }
 }
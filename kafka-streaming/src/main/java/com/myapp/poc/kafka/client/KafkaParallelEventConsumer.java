@@ -0,0 +1,104 @@
+package com.myapp.poc.kafka.client;
+
+import com.myapp.poc.kafka.metrics.KafkaListenerMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+/**
+ * Consumes the demo topic with more parallelism than it has partitions, enabled with
+ * {@code kafka.consumer.mode=parallel}.
+ * <p>
+ * The listener thread only hands records to a {@link KeyOrderedExecutor}, so records of one
+ * partition are processed concurrently while records with the same key are still processed in
+ * offset order. Each record is acknowledged when its processing ends; the container is set up
+ * for out-of-order acknowledgements and commits a partition's offset only up to its lowest
+ * unfinished record, so a crash redelivers everything that had not completed. The container
+ * delivers the next poll once all records of the previous one are acknowledged, which bounds
+ * the work in flight to {@code max.poll.records} per listener.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "kafka.consumer.mode", havingValue = "parallel")
+public class KafkaParallelEventConsumer {
+
+    private static final int MAX_ATTEMPTS = 3;
+    private static final String GROUP_ID = "demo-group";
+
+    private final KeyOrderedExecutor executor;
+    private final Duration processingDelay;
+    private final KafkaListenerMetrics metrics;
+
+    public KafkaParallelEventConsumer(KafkaListenerMetrics metrics,
+                                      @Value("${kafka.consumer.parallel.workers:16}") int workers,
+                                      @Value("${kafka.consumer.parallel.virtual-threads:false}") boolean virtualThreads,
+                                      @Value("${kafka.consumer.processing-delay:PT0S}") Duration processingDelay) {
+        this.executor = new KeyOrderedExecutor(workers, virtualThreads);
+        this.processingDelay = processingDelay;
+        this.metrics = metrics;
+    }
+
+    @KafkaListener(topics = "demo-topic-partition", groupId = GROUP_ID,
+            containerFactory = "parallelKafkaListenerContainerFactory")
+    public void consume(ConsumerRecord<String, String> record, Acknowledgment acknowledgment) {
+        executor.submit(record.key(), () -> {
+            long started = System.nanoTime();
+            try {
+                if (processWithRetries(record)) {
+                    metrics.recordProcessed(GROUP_ID, record, System.nanoTime() - started);
+                } else {
+                    metrics.recordFailed(GROUP_ID, "record");
+                }
+            } finally {
+                acknowledgment.acknowledge();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    /**
+     * @return whether the record was processed, false if it was skipped after the last attempt
+     */
+    private boolean processWithRetries(ConsumerRecord<String, String> record) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                process(record);
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    // Matches the batch consumer's error handler: log and skip after the retries
+                    log.error("Skipping record at partition {} offset {} after {} attempts",
+                            record.partition(), record.offset(), attempt, e);
+                    return false;
+                }
+                log.warn("Failed to process record at partition {} offset {}, retrying: {}",
+                        record.partition(), record.offset(), e.getMessage());
+            }
+        }
+    }
+
+    private void process(ConsumerRecord<String, String> record) {
+        if (!processingDelay.isZero()) {
+            // Stands in for slow per-message work such as a remote call
+            try {
+                Thread.sleep(processingDelay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing", e);
+            }
+        }
+        if (log.isTraceEnabled()) {
+            log.trace("Processed message from partition [{}] at offset {}: {}", record.partition(), record.offset(), record.value());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.myapp.poc.kafka.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks on a shared pool while keeping the tasks of each key in submission order.
+ * <p>
+ * The tasks of one key are chained: a task starts only after the previous task of its key has
+ * finished, while tasks of different keys run concurrently. Unlike hashing keys onto a fixed set
+ * of single-threaded lanes, a slow key never holds up an unrelated key that happens to share its
+ * lane. Only keys with pending tasks are tracked.
+ */
+@Slf4j
+public class KeyOrderedExecutor implements AutoCloseable {
+
+    private final ExecutorService pool;
+    private final Map<Object, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+    /**
+     * @param threads        the number of worker threads
+     * @param virtualThreads run every task on its own virtual thread instead, when the JVM has
+     *                       them; {@code threads} is then ignored
+     */
+    public KeyOrderedExecutor(int threads, boolean virtualThreads) {
+        ExecutorService virtual = virtualThreads ? newVirtualThreadExecutor() : null;
+        this.pool = virtual != null ? virtual : Executors.newFixedThreadPool(threads, new WorkerThreadFactory());
+    }
+
+    /**
+     * Run the task after all previously submitted tasks of the same key. Tasks with a null key
+     * are not ordered.
+     *
+     * @return completes when the task has run; exceptionally if it threw
+     */
+    public CompletableFuture<Void> submit(Object key, Runnable task) {
+        if (key == null) {
+            return CompletableFuture.runAsync(task, pool);
+        }
+        CompletableFuture<Void>[] next = newFutureHolder();
+        tails.compute(key, (k, tail) -> {
+            // A failed task must not stop the tasks queued behind it
+            next[0] = tail == null
+                    ? CompletableFuture.runAsync(task, pool)
+                    : tail.handle((result, error) -> null).thenRunAsync(task, pool);
+            return next[0];
+        });
+        CompletableFuture<Void> future = next[0];
+        future.whenComplete((result, error) -> tails.remove(key, future));
+        return future;
+    }
+
+    /**
+     * The number of keys with queued or running tasks.
+     */
+    public int getActiveKeys() {
+        return tails.size();
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+        try {
+            if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+                pool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pool.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<Void>[] newFutureHolder() {
+        return new CompletableFuture[1];
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.warn("Virtual threads are not available on Java {}, using platform threads", Runtime.version().feature());
+            return null;
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "kafka-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
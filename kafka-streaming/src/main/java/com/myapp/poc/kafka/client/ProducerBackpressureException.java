@@ -0,0 +1,11 @@
+package com.myapp.poc.kafka.client;
+
+/**
+ * Thrown when the producer has too many unacknowledged records to accept another one in time.
+ * Callers should retry later rather than queue more work.
+ */
+public class ProducerBackpressureException extends RuntimeException {
+    public ProducerBackpressureException(String message) {
+        super(message);
+    }
+}
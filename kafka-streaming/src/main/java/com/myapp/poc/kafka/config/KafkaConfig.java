@@ -1,14 +1,24 @@
 package com.myapp.poc.kafka.config;
 
+import com.myapp.poc.kafka.metrics.KafkaListenerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.IsolationLevel;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultAfterRollbackProcessor;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+import org.springframework.util.backoff.BackOff;
+import org.springframework.util.backoff.FixedBackOff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -16,6 +26,11 @@ import java.util.Map;
 @Configuration
 public class KafkaConfig {
 
+    private static final long PIPELINE_RETRY_INTERVAL_MS = 5000L;
+
+    private final MeterRegistry meterRegistry;
+    private final KafkaListenerMetrics listenerMetrics;
+
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
@@ -28,6 +43,35 @@ public class KafkaConfig {
     @Value("${spring.kafka.listener.concurrency}")
     private int concurrentListeners;
 
+    @Value("${spring.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    // Producer throughput settings: records wait up to linger.ms to fill batches of batch-size
+    // bytes per partition, and each batch is compressed as a whole
+    @Value("${spring.kafka.producer.properties.linger.ms:10}")
+    private int lingerMs;
+
+    @Value("${spring.kafka.producer.batch-size:131072}")
+    private int batchSize;
+
+    @Value("${spring.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${spring.kafka.producer.buffer-memory:134217728}")
+    private long bufferMemory;
+
+    @Value("${spring.kafka.producer.acks:all}")
+    private String acks;
+
+    // Must differ between running instances; producers of one instance get numbered ids under it
+    @Value("${kafka.pipeline.transaction-id-prefix:demo-pipeline-tx-}")
+    private String transactionIdPrefix;
+
+    public KafkaConfig(MeterRegistry meterRegistry, KafkaListenerMetrics listenerMetrics) {
+        this.meterRegistry = meterRegistry;
+        this.listenerMetrics = listenerMetrics;
+    }
+
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -36,7 +80,7 @@ public class KafkaConfig {
         props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, autoOffsetReset);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        return new DefaultKafkaConsumerFactory<>(props);
+        return instrumented(new DefaultKafkaConsumerFactory<>(props));
     }
 
     @Bean
@@ -44,10 +88,100 @@ public class KafkaConfig {
         ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
         factory.setConcurrency(concurrentListeners);
+        factory.setRecordInterceptor(listenerMetrics);
+        return factory;
+    }
+
+    /**
+     * Consumer factory for batch listeners: up to {@code max.poll.records} records per poll and
+     * no auto-commit, the listener acknowledges each batch once it is processed.
+     */
+    @Bean
+    public ConsumerFactory<String, String> batchConsumerFactory() {
+        Map<String, Object> props = new HashMap<>(consumerFactory().getConfigurationProperties());
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return instrumented(new DefaultKafkaConsumerFactory<>(props));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> batchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setConcurrency(concurrentListeners);
+        factory.setBatchListener(true);
+        factory.setBatchInterceptor(listenerMetrics);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        // A failed record is retried twice, one second apart, then logged and skipped
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, 2L)));
+        return factory;
+    }
+
+    /**
+     * Container factory for the at-least-once pipeline: a batch listener that acknowledges
+     * each batch itself, like the batch consumer, but a failed batch is never skipped. It is
+     * retried every {@link #PIPELINE_RETRY_INTERVAL_MS} milliseconds until its output reaches
+     * the broker, with the partitions paused in between so the consumer stays in its group.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> atLeastOnceKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setConcurrency(concurrentListeners);
+        factory.setBatchListener(true);
+        factory.setBatchInterceptor(listenerMetrics);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(retryUntilDelivered()));
+        return factory;
+    }
+
+    /**
+     * Container factory for the parallel consumer: records are acknowledged by worker threads
+     * in any order, and the container commits each partition only up to its first unacknowledged
+     * offset. The listener only hands records off, so the workers report their own metrics.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> parallelKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setConcurrency(concurrentListeners);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks(true);
+        return factory;
+    }
+
+    /**
+     * Consumer factory for the exactly-once pipeline: offsets are committed by the producer
+     * transaction, and records of transactions that are still open or were aborted are skipped.
+     */
+    @Bean
+    public ConsumerFactory<String, String> readCommittedConsumerFactory() {
+        Map<String, Object> props = new HashMap<>(batchConsumerFactory().getConfigurationProperties());
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, IsolationLevel.READ_COMMITTED.toString());
+        return instrumented(new DefaultKafkaConsumerFactory<>(props));
+    }
+
+    /**
+     * Container factory for exactly-once consume-transform-produce. The container begins a
+     * transaction before each batch, the listener's sends join it, and the batch's offsets are
+     * sent to the same transaction before it commits; if the listener throws, the transaction
+     * is aborted and the batch redelivered, so its output is never visible twice. Redelivery
+     * goes on until the batch commits; a batch is never skipped.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String> exactlyOnceKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(readCommittedConsumerFactory());
+        factory.setConcurrency(concurrentListeners);
+        factory.setBatchListener(true);
+        factory.setBatchInterceptor(listenerMetrics);
+        factory.getContainerProperties().setTransactionManager(kafkaTransactionManager());
+        factory.setAfterRollbackProcessor(new DefaultAfterRollbackProcessor<>(retryUntilDelivered()));
         return factory;
     }
 
     @Bean
+    @Primary
     public ProducerFactory<String, String> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
@@ -55,11 +189,60 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         configProps.put(ProducerConfig.PARTITIONER_ADPATIVE_PARTITIONING_ENABLE_CONFIG, false); // Disable sticky partitioning
         configProps.put(ProducerConfig.PARTITIONER_CLASS_CONFIG, "org.apache.kafka.clients.producer.RoundRobinPartitioner");
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        // Idempotence keeps retries from duplicating or reordering records with up to 5 requests in flight
+        configProps.put(ProducerConfig.ACKS_CONFIG, acks);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, "all".equals(acks));
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
+    @Primary
     public KafkaTemplate<String, String> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
+
+    /**
+     * Producer factory whose producers are idempotent and transactional, for the exactly-once pipeline.
+     */
+    @Bean
+    public ProducerFactory<String, String> transactionalProducerFactory() {
+        Map<String, Object> configProps = new HashMap<>(producerFactory().getConfigurationProperties());
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        DefaultKafkaProducerFactory<String, String> factory = new DefaultKafkaProducerFactory<>(configProps);
+        factory.setTransactionIdPrefix(transactionIdPrefix);
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> transactionalKafkaTemplate() {
+        return new KafkaTemplate<>(transactionalProducerFactory());
+    }
+
+    @Bean
+    public KafkaTransactionManager<String, String> kafkaTransactionManager() {
+        return new KafkaTransactionManager<>(transactionalProducerFactory());
+    }
+
+    /**
+     * Back-off for the pipelines, which must not lose a batch: retry at a fixed interval with no
+     * limit on attempts, so the error handlers never get to log and skip it.
+     */
+    private static BackOff retryUntilDelivered() {
+        return new FixedBackOff(PIPELINE_RETRY_INTERVAL_MS, FixedBackOff.UNLIMITED_ATTEMPTS);
+    }
+
+    /**
+     * Bind the Kafka client metrics of the factory's consumers, among them the per-partition
+     * {@code records-lag}, to the meter registry.
+     */
+    private ConsumerFactory<String, String> instrumented(DefaultKafkaConsumerFactory<String, String> factory) {
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
 }
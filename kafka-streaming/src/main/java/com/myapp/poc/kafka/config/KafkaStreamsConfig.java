@@ -0,0 +1,71 @@
+package com.myapp.poc.kafka.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.StreamsConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBeanConfigurer;
+import org.springframework.kafka.streams.KafkaStreamsMicrometerListener;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Streams runtime for the windowed rollups, enabled with {@code kafka.streams.enabled=true}.
+ * <p>
+ * The streams application joins its own consumer group, named after {@code kafka.streams.application-id},
+ * so it reads every message of the demo topic independently of the demo listeners.
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "kafka.streams.enabled", havingValue = "true")
+public class KafkaStreamsConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${kafka.streams.application-id:demo-rollups}")
+    private String applicationId;
+
+    @Value("${kafka.streams.state-dir:${java.io.tmpdir}/kafka-streams}")
+    private String stateDir;
+
+    @Value("${kafka.streams.num-stream-threads:3}")
+    private int streamThreads;
+
+    // host:port this instance serves rollup queries on; other instances redirect queries for
+    // keys owned here to it. Empty when running a single instance.
+    @Value("${kafka.streams.application-server:}")
+    private String applicationServer;
+
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfiguration() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(StreamsConfig.DEFAULT_KEY_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.DEFAULT_VALUE_SERDE_CLASS_CONFIG, Serdes.StringSerde.class);
+        props.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        props.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, streamThreads);
+        // Flush the record caches every second, so queries see counts that are at most a second old
+        props.put(StreamsConfig.COMMIT_INTERVAL_MS_CONFIG, 1000);
+        if (!applicationServer.isBlank()) {
+            props.put(StreamsConfig.APPLICATION_SERVER_CONFIG, applicationServer);
+        }
+        return new KafkaStreamsConfiguration(props);
+    }
+
+    /**
+     * Publish the Kafka Streams client metrics, such as process rate and commit latency, to the meter registry.
+     */
+    @Bean
+    public StreamsBuilderFactoryBeanConfigurer streamsMetricsConfigurer(MeterRegistry meterRegistry) {
+        return factoryBean -> factoryBean.addListener(new KafkaStreamsMicrometerListener(meterRegistry));
+    }
+}
@@ -0,0 +1,24 @@
+package com.myapp.poc.kafka.controller;
+
+import com.myapp.poc.kafka.client.ConsumerBatchMetrics;
+import com.myapp.poc.kafka.model.ConsumerStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/kafka/consumer")
+public class KafkaConsumerController {
+
+    private final ConsumerBatchMetrics metrics;
+
+    /**
+     * Batch size and processing time of the batch consumer.
+     */
+    @GetMapping("/stats")
+    public ConsumerStats getStats() {
+        return metrics.snapshot();
+    }
+}
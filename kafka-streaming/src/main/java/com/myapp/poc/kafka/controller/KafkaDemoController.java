@@ -1,17 +1,30 @@
 package com.myapp.poc.kafka.controller;
 
 import com.myapp.poc.kafka.client.KafkaEventProducer;
+import com.myapp.poc.kafka.client.ProducerBackpressureException;
+import com.myapp.poc.kafka.model.BatchSendResult;
+import com.myapp.poc.kafka.model.MessageRecord;
+import com.myapp.poc.kafka.model.ProducerStats;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/kafka/messages")
 public class KafkaDemoController {
 
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     private final KafkaEventProducer producerService;
 
     @PostMapping(
@@ -21,4 +34,41 @@ public class KafkaDemoController {
         producerService.sendMessage(message);
         return "Message sent: " + message;
     }
+
+    /**
+     * Publish a batch of messages and report, per record, the partition and offset it was
+     * stored at or the error that prevented it. Records rejected because the producer is
+     * saturated are marked as such and the response carries {@code Retry-After}; it is 503 when
+     * none of the batch was sent.
+     */
+    @PostMapping(
+            value = "/batch",
+            consumes = "application/json"
+    )
+    public ResponseEntity<BatchSendResult> sendBatch(@RequestBody List<MessageRecord> records) {
+        if (records.isEmpty() || records.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        BatchSendResult result = producerService.sendBatch(records);
+        if (result.getRejected() == records.size()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(result);
+        }
+        if (result.getRejected() > 0) {
+            return ResponseEntity.status(HttpStatus.MULTI_STATUS).header(HttpHeaders.RETRY_AFTER, "1").body(result);
+        }
+        HttpStatus status = result.getFailed() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(result);
+    }
+
+    @GetMapping("/stats")
+    public ProducerStats getStats() {
+        return producerService.getStats();
+    }
+
+    @ExceptionHandler(ProducerBackpressureException.class)
+    public ResponseEntity<String> handleBackpressure(ProducerBackpressureException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
 }
@@ -0,0 +1,26 @@
+package com.myapp.poc.kafka.controller;
+
+import com.myapp.poc.kafka.model.PipelineStats;
+import com.myapp.poc.kafka.pipeline.PipelineMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/kafka/pipeline")
+@ConditionalOnExpression("'${kafka.pipeline.guarantee:none}' != 'none'")
+public class PipelineController {
+
+    private final PipelineMetrics metrics;
+
+    /**
+     * Records processed by the consume-transform-produce pipeline and its throughput.
+     */
+    @GetMapping("/stats")
+    public PipelineStats getStats() {
+        return metrics.snapshot();
+    }
+}
@@ -0,0 +1,92 @@
+package com.myapp.poc.kafka.controller;
+
+import com.myapp.poc.kafka.model.WindowedAggregate;
+import com.myapp.poc.kafka.stream.RollupQueryService;
+import com.myapp.poc.kafka.stream.RollupWindow;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.state.HostInfo;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Windowed message counts and lengths per key, read straight from the streams state stores.
+ * Time ranges select windows by their start and default to everything still retained.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/kafka/rollups")
+@ConditionalOnProperty(name = "kafka.streams.enabled", havingValue = "true")
+public class RollupController {
+
+    private static final int MAX_LIMIT = 10_000;
+
+    private final RollupQueryService queryService;
+
+    /**
+     * Windows of the keys held by this instance.
+     */
+    @GetMapping("/{window}")
+    public ResponseEntity<List<WindowedAggregate>> getAll(@PathVariable String window,
+                                                          @RequestParam(required = false) Instant from,
+                                                          @RequestParam(required = false) Instant to,
+                                                          @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        RollupWindow kind = RollupWindow.fromName(window);
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : queryService.oldestRetained(kind, end);
+        return ResponseEntity.ok(queryService.fetchAll(kind, start, end, limit));
+    }
+
+    /**
+     * Windows of one key. If another instance holds the key, the client is redirected there.
+     */
+    @GetMapping("/{window}/{key}")
+    public ResponseEntity<List<WindowedAggregate>> getByKey(@PathVariable String window,
+                                                            @PathVariable String key,
+                                                            @RequestParam(required = false) Instant from,
+                                                            @RequestParam(required = false) Instant to) {
+        RollupWindow kind = RollupWindow.fromName(window);
+        Optional<HostInfo> owner = queryService.remoteOwner(kind, key);
+        if (owner.isPresent()) {
+            URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .host(owner.get().host())
+                    .port(owner.get().port())
+                    .build()
+                    .toUri();
+            return ResponseEntity.status(HttpStatus.TEMPORARY_REDIRECT).location(location).build();
+        }
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : queryService.oldestRetained(kind, end);
+        return ResponseEntity.ok(queryService.fetch(kind, key, start, end));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidStateStoreException.class)
+    public ResponseEntity<String> handleStoreUnavailable(InvalidStateStoreException ex) {
+        // Stores are unavailable while streams start up or partitions move between instances
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+}
@@ -0,0 +1,170 @@
+package com.myapp.poc.kafka.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer instrumentation of the Kafka listeners, installed as record and batch interceptor
+ * on the listener container factories.
+ * <p>
+ * Meters, tagged with the consumer group so each listener can be told apart:
+ * <ul>
+ *     <li>{@code kafka.listener.records} and {@code kafka.listener.bytes}: counters per topic
+ *     and partition, from which Prometheus derives records/sec and bytes/sec</li>
+ *     <li>{@code kafka.listener.processing}: listener time per call, by {@code mode} record
+ *     or batch, as a histogram</li>
+ *     <li>{@code kafka.listener.end.to.end}: from the record timestamp to the end of its
+ *     processing, per topic, as a histogram</li>
+ *     <li>{@code kafka.listener.failures}: listener calls that threw</li>
+ * </ul>
+ * Per-partition lag comes from the Kafka consumer's own {@code records-lag} metric, bound to
+ * the same registry by the consumer factories. Meters are looked up once and cached, so the
+ * per-record cost is a map lookup and a few counter increments.
+ */
+@Component
+public class KafkaListenerMetrics implements RecordInterceptor<String, String>, BatchInterceptor<String, String> {
+
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofMinutes(10);
+
+    private final MeterRegistry registry;
+    private final Map<PartitionKey, PartitionMeters> partitions = new ConcurrentHashMap<>();
+    private final Map<String, Timer> processingTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> endToEndTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> failureCounters = new ConcurrentHashMap<>();
+    // A listener container polls and invokes its listener on one thread, which belongs to one group
+    private final ThreadLocal<CallState> calls = new ThreadLocal<>();
+
+    public KafkaListenerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public ConsumerRecord<String, String> intercept(ConsumerRecord<String, String> record,
+                                                    Consumer<String, String> consumer) {
+        callState(consumer).started = System.nanoTime();
+        return record;
+    }
+
+    @Override
+    public void success(ConsumerRecord<String, String> record, Consumer<String, String> consumer) {
+        CallState call = callState(consumer);
+        recordProcessed(call.group, record, System.nanoTime() - call.started);
+    }
+
+    @Override
+    public void failure(ConsumerRecord<String, String> record, Exception exception, Consumer<String, String> consumer) {
+        recordFailed(callState(consumer).group, "record");
+    }
+
+    @Override
+    public ConsumerRecords<String, String> intercept(ConsumerRecords<String, String> records,
+                                                     Consumer<String, String> consumer) {
+        callState(consumer).started = System.nanoTime();
+        return records;
+    }
+
+    @Override
+    public void success(ConsumerRecords<String, String> records, Consumer<String, String> consumer) {
+        CallState call = callState(consumer);
+        processingTimer(call.group, "batch").record(System.nanoTime() - call.started, TimeUnit.NANOSECONDS);
+        long now = System.currentTimeMillis();
+        for (ConsumerRecord<String, String> record : records) {
+            count(call.group, record, now);
+        }
+    }
+
+    @Override
+    public void failure(ConsumerRecords<String, String> records, Exception exception, Consumer<String, String> consumer) {
+        recordFailed(callState(consumer).group, "batch");
+    }
+
+    /**
+     * Record one processed record, for listeners that process records off the consumer thread.
+     */
+    public void recordProcessed(String group, ConsumerRecord<?, ?> record, long processingNanos) {
+        processingTimer(group, "record").record(processingNanos, TimeUnit.NANOSECONDS);
+        count(group, record, System.currentTimeMillis());
+    }
+
+    public void recordFailed(String group, String mode) {
+        failureCounters.computeIfAbsent(group + '\0' + mode, key -> Counter.builder("kafka.listener.failures")
+                .description("Listener calls that threw")
+                .tags("group", group, "mode", mode)
+                .register(registry)).increment();
+    }
+
+    private void count(String group, ConsumerRecord<?, ?> record, long nowMillis) {
+        PartitionMeters meters = partitions.computeIfAbsent(new PartitionKey(group, record.topic(), record.partition()),
+                this::partitionMeters);
+        meters.records.increment();
+        meters.bytes.increment(Math.max(0, record.serializedKeySize()) + Math.max(0, record.serializedValueSize()));
+        // Clocks of producer and consumer hosts may disagree slightly; never record a negative latency
+        meters.endToEnd.record(Math.max(0, nowMillis - record.timestamp()), TimeUnit.MILLISECONDS);
+    }
+
+    private PartitionMeters partitionMeters(PartitionKey key) {
+        String partition = Integer.toString(key.partition());
+        Counter records = Counter.builder("kafka.listener.records")
+                .description("Records processed by the listener")
+                .tags("group", key.group(), "topic", key.topic(), "partition", partition)
+                .register(registry);
+        Counter bytes = Counter.builder("kafka.listener.bytes")
+                .description("Serialized key and value bytes of the records processed")
+                .baseUnit("bytes")
+                .tags("group", key.group(), "topic", key.topic(), "partition", partition)
+                .register(registry);
+        Timer endToEnd = endToEndTimers.computeIfAbsent(key.group() + '\0' + key.topic(), ignored -> Timer
+                .builder("kafka.listener.end.to.end")
+                .description("Time from the record timestamp until the record was processed")
+                .tags("group", key.group(), "topic", key.topic())
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(registry));
+        return new PartitionMeters(records, bytes, endToEnd);
+    }
+
+    private Timer processingTimer(String group, String mode) {
+        return processingTimers.computeIfAbsent(group + '\0' + mode, key -> Timer.builder("kafka.listener.processing")
+                .description("Time spent in the listener per call")
+                .tags("group", group, "mode", mode)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(registry));
+    }
+
+    private CallState callState(Consumer<?, ?> consumer) {
+        CallState call = calls.get();
+        if (call == null) {
+            call = new CallState(consumer.groupMetadata().groupId());
+            calls.set(call);
+        }
+        return call;
+    }
+
+    private record PartitionKey(String group, String topic, int partition) {
+    }
+
+    private record PartitionMeters(Counter records, Counter bytes, Timer endToEnd) {
+    }
+
+    private static final class CallState {
+        private final String group;
+        private long started;
+
+        private CallState(String group) {
+            this.group = group;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.myapp.poc.kafka.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of publishing a batch of messages, with one acknowledgement per record in input order.
+ * Records the producer had no room for are {@code rejected}: they were never sent and can be
+ * retried as they are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchSendResult {
+    private int acked;
+    private int failed;
+    private int rejected;
+    private List<RecordAck> acks;
+}
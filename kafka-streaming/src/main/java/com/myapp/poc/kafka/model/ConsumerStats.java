@@ -0,0 +1,23 @@
+package com.myapp.poc.kafka.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of the batch consumer since startup. Times are in milliseconds;
+ * {@code recordsPerSecond} is measured over processing time only, excluding polling.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsumerStats {
+    private long batches;
+    private long records;
+    private long failedBatches;
+    private double averageBatchSize;
+    private long maxBatchSize;
+    private double averageProcessingMillis;
+    private double maxProcessingMillis;
+    private double recordsPerSecond;
+}
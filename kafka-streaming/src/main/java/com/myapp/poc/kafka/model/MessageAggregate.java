@@ -0,0 +1,31 @@
+package com.myapp.poc.kafka.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running aggregate of the messages of one key in one window: how many arrived and how long
+ * they were, in characters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageAggregate {
+    private long count;
+    private long totalLength;
+    private int minLength;
+    private int maxLength;
+
+    /**
+     * Fold one more message into the aggregate and return it.
+     */
+    public MessageAggregate add(String message) {
+        int length = message == null ? 0 : message.length();
+        minLength = count == 0 ? length : Math.min(minLength, length);
+        maxLength = count == 0 ? length : Math.max(maxLength, length);
+        totalLength += length;
+        count++;
+        return this;
+    }
+}
@@ -0,0 +1,16 @@
+package com.myapp.poc.kafka.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A message to publish. Records without a key get a generated, unique one.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageRecord {
+    private String key;
+    private String value;
+}
@@ -0,0 +1,22 @@
+package com.myapp.poc.kafka.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of the consume-transform-produce pipeline since startup. {@code recordsPerSecond} is
+ * measured on the wall clock from the first batch received to the last batch completed, so it
+ * includes polling, acknowledgement waits and transaction commits.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PipelineStats {
+    private String guarantee;
+    private long batches;
+    private long records;
+    private long failedBatches;
+    private double elapsedSeconds;
+    private double recordsPerSecond;
+}
@@ -0,0 +1,19 @@
+package com.myapp.poc.kafka.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of the producer since startup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProducerStats {
+    private int inFlight;
+    private int maxInFlight;
+    private long acked;
+    private long failed;
+    private long rejected;
+}
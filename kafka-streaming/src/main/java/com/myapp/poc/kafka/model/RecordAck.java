@@ -0,0 +1,23 @@
+package com.myapp.poc.kafka.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one record of a batch: where the broker stored it, or why it was not stored.
+ * {@code rejected} is set for a record that was never sent because the producer was saturated.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class RecordAck {
+    private int index;
+    private String key;
+    private Integer partition;
+    private Long offset;
+    private String error;
+    private Boolean rejected;
+}
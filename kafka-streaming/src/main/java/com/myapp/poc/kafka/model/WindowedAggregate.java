@@ -0,0 +1,20 @@
+package com.myapp.poc.kafka.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * The aggregate of one key over one window, as served by the rollup queries.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WindowedAggregate {
+    private String key;
+    private Instant windowStart;
+    private Instant windowEnd;
+    private MessageAggregate aggregate;
+}
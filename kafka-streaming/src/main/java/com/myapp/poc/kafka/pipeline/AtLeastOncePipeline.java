@@ -0,0 +1,63 @@
+package com.myapp.poc.kafka.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The same pipeline as {@link ExactlyOncePipeline} with at-least-once delivery, enabled with
+ * {@code kafka.pipeline.guarantee=at-least-once}.
+ * <p>
+ * A batch's offsets are committed only after every transformed record has been acknowledged by
+ * the broker, and a batch whose sends fail is retried until they succeed, so nothing is lost;
+ * but a retried batch, or one processed again because the application failed between the sends
+ * and the commit, has its output written twice. The idempotent producer only prevents
+ * duplicates from its own retries.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "kafka.pipeline.guarantee", havingValue = "at-least-once")
+public class AtLeastOncePipeline {
+
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final PipelineMetrics metrics;
+    private final String outputTopic;
+
+    public AtLeastOncePipeline(KafkaTemplate<String, String> kafkaTemplate,
+                               PipelineMetrics metrics,
+                               @Value("${kafka.pipeline.output-topic:demo-topic-processed}") String outputTopic) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.metrics = metrics;
+        this.outputTopic = outputTopic;
+    }
+
+    @KafkaListener(topics = "demo-topic-partition", groupId = "${kafka.pipeline.group-id:demo-pipeline}",
+            containerFactory = "atLeastOnceKafkaListenerContainerFactory")
+    public void process(List<ConsumerRecord<String, String>> records, Acknowledgment acknowledgment) {
+        metrics.batchStarted();
+        List<CompletableFuture<SendResult<String, String>>> sends = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, String> record : records) {
+            sends.add(kafkaTemplate.send(outputTopic, record.key(), ExactlyOncePipeline.transform(record.value())));
+        }
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).join();
+        } catch (RuntimeException e) {
+            // The batch is not acknowledged; the container's error handler retries it until it succeeds
+            metrics.batchFailed();
+            throw e;
+        }
+        acknowledgment.acknowledge();
+        metrics.batchCompleted(records.size());
+        log.debug("Pipeline [Thread-{}] transformed batch of {} records", Thread.currentThread().getName(), records.size());
+    }
+}
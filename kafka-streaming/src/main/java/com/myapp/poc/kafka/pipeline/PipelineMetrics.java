@@ -0,0 +1,55 @@
+package com.myapp.poc.kafka.pipeline;
+
+import com.myapp.poc.kafka.model.PipelineStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what the pipeline has processed, updated lock-free from every listener thread.
+ */
+@Component
+@ConditionalOnExpression("'${kafka.pipeline.guarantee:none}' != 'none'")
+public class PipelineMetrics {
+
+    private final String guarantee;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final AtomicLong firstBatchNanos = new AtomicLong();
+    private final LongAccumulator lastBatchNanos = new LongAccumulator(Math::max, 0);
+
+    public PipelineMetrics(@Value("${kafka.pipeline.guarantee}") String guarantee) {
+        this.guarantee = guarantee;
+    }
+
+    /**
+     * Note that a batch arrived; the first one starts the throughput clock.
+     */
+    public void batchStarted() {
+        firstBatchNanos.compareAndSet(0, System.nanoTime());
+    }
+
+    public void batchCompleted(int size) {
+        batches.increment();
+        records.add(size);
+        lastBatchNanos.accumulate(System.nanoTime());
+    }
+
+    public void batchFailed() {
+        failedBatches.increment();
+    }
+
+    public PipelineStats snapshot() {
+        long first = firstBatchNanos.get();
+        long last = lastBatchNanos.get();
+        long recordCount = records.sum();
+        double seconds = first == 0 || last <= first ? 0 : (last - first) / 1e9;
+        return new PipelineStats(guarantee, batches.sum(), recordCount, failedBatches.sum(), seconds,
+                seconds == 0 ? 0 : recordCount / seconds);
+    }
+}
@@ -0,0 +1,101 @@
+package com.myapp.poc.kafka.stream;
+
+import com.myapp.poc.kafka.model.MessageAggregate;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.SlidingWindows;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.state.Stores;
+import org.apache.kafka.streams.state.WindowBytesStoreSupplier;
+import org.apache.kafka.streams.state.WindowStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.support.serializer.JsonSerde;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Kafka Streams topology that rolls up the demo topic per key into tumbling and sliding windows.
+ * <p>
+ * The producer spreads messages over partitions round-robin rather than by key, so the stream
+ * is first repartitioned by key; each key's messages then meet in a single task. Both window
+ * kinds are materialized as window stores that the {@link RollupQueryService} serves queries
+ * from. The stores live in RocksDB under the streams state directory by default, or on the heap
+ * with {@code kafka.streams.rollup.store=memory}; either way they are backed by changelog topics
+ * and rebuilt from them after a restart or a rebalance.
+ */
+@Component
+@ConditionalOnProperty(name = "kafka.streams.enabled", havingValue = "true")
+public class MessageRollupTopology {
+
+    private static final String TOPIC = "demo-topic-partition";
+
+    private final Duration tumblingSize;
+    private final Duration slidingDifference;
+    private final Duration grace;
+    private final Duration retention;
+    private final boolean inMemory;
+    private final Serde<MessageAggregate> aggregateSerde = new JsonSerde<>(MessageAggregate.class).noTypeInfo();
+
+    public MessageRollupTopology(@Value("${kafka.streams.rollup.tumbling-size:PT1M}") Duration tumblingSize,
+                                 @Value("${kafka.streams.rollup.sliding-difference:PT5M}") Duration slidingDifference,
+                                 @Value("${kafka.streams.rollup.grace:PT10S}") Duration grace,
+                                 @Value("${kafka.streams.rollup.retention:PT1H}") Duration retention,
+                                 @Value("${kafka.streams.rollup.store:rocksdb}") String store) {
+        this.tumblingSize = tumblingSize;
+        this.slidingDifference = slidingDifference;
+        this.grace = grace;
+        this.retention = retention;
+        this.inMemory = "memory".equalsIgnoreCase(store);
+    }
+
+    @Autowired
+    public void buildPipeline(StreamsBuilder builder) {
+        // Records without a key are dropped by the repartitioning
+        KGroupedStream<String, String> byKey = builder
+                .stream(TOPIC, Consumed.with(Serdes.String(), Serdes.String()))
+                .groupBy((key, value) -> key, Grouped.with("by-key", Serdes.String(), Serdes.String()));
+
+        byKey.windowedBy(TimeWindows.ofSizeAndGrace(tumblingSize, grace))
+                .aggregate(MessageAggregate::new, (key, value, aggregate) -> aggregate.add(value),
+                        materialized(RollupWindow.TUMBLING, tumblingSize));
+
+        byKey.windowedBy(SlidingWindows.ofTimeDifferenceAndGrace(slidingDifference, grace))
+                .aggregate(MessageAggregate::new, (key, value, aggregate) -> aggregate.add(value),
+                        materialized(RollupWindow.SLIDING, slidingDifference));
+    }
+
+    /**
+     * The length of every window of the given kind.
+     */
+    public Duration windowSize(RollupWindow window) {
+        return window == RollupWindow.TUMBLING ? tumblingSize : slidingDifference;
+    }
+
+    /**
+     * How far back windows are kept and can be queried.
+     */
+    public Duration retention(RollupWindow window) {
+        // A window store must at least keep a window until its grace period has passed
+        Duration minimum = windowSize(window).plus(grace);
+        return retention.compareTo(minimum) < 0 ? minimum : retention;
+    }
+
+    private Materialized<String, MessageAggregate, WindowStore<Bytes, byte[]>> materialized(RollupWindow window,
+                                                                                            Duration size) {
+        WindowBytesStoreSupplier supplier = inMemory
+                ? Stores.inMemoryWindowStore(window.getStoreName(), retention(window), size, false)
+                : Stores.persistentWindowStore(window.getStoreName(), retention(window), size, false);
+        return Materialized.<String, MessageAggregate>as(supplier)
+                .withKeySerde(Serdes.String())
+                .withValueSerde(aggregateSerde);
+    }
+}
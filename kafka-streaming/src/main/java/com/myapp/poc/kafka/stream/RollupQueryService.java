@@ -0,0 +1,112 @@
+package com.myapp.poc.kafka.stream;
+
+import com.myapp.poc.kafka.model.MessageAggregate;
+import com.myapp.poc.kafka.model.WindowedAggregate;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KafkaStreams;
+import org.apache.kafka.streams.KeyQueryMetadata;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StoreQueryParameters;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.state.HostInfo;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Interactive queries against the rollup window stores of this instance.
+ * <p>
+ * Each instance holds the windows of the keys in the partitions assigned to it. When
+ * {@code kafka.streams.application-server} is set, {@link #remoteOwner} tells which other
+ * instance holds a key so callers can send the query there; without it every key is assumed
+ * to be local, which holds for a single instance.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "kafka.streams.enabled", havingValue = "true")
+public class RollupQueryService {
+
+    private final StreamsBuilderFactoryBean streamsBuilder;
+    private final MessageRollupTopology topology;
+
+    @Value("${kafka.streams.application-server:}")
+    private String applicationServer;
+
+    /**
+     * The instance holding the windows of the key, if that is not this one.
+     */
+    public Optional<HostInfo> remoteOwner(RollupWindow window, String key) {
+        if (applicationServer.isBlank()) {
+            return Optional.empty();
+        }
+        KeyQueryMetadata metadata = streams().queryMetadataForKey(window.getStoreName(), key, Serdes.String().serializer());
+        if (metadata == null || KeyQueryMetadata.NOT_AVAILABLE.equals(metadata)) {
+            throw new InvalidStateStoreException("Store " + window.getStoreName() + " is not available, streams are rebalancing");
+        }
+        HostInfo owner = metadata.activeHost();
+        return owner.equals(HostInfo.buildFromEndpoint(applicationServer)) ? Optional.empty() : Optional.of(owner);
+    }
+
+    /**
+     * The windows of one key that start within the given time range, oldest first.
+     */
+    public List<WindowedAggregate> fetch(RollupWindow window, String key, Instant from, Instant to) {
+        long size = topology.windowSize(window).toMillis();
+        List<WindowedAggregate> result = new ArrayList<>();
+        try (WindowStoreIterator<MessageAggregate> iterator = store(window).fetch(key, from, to)) {
+            while (iterator.hasNext()) {
+                KeyValue<Long, MessageAggregate> entry = iterator.next();
+                result.add(new WindowedAggregate(key, Instant.ofEpochMilli(entry.key),
+                        Instant.ofEpochMilli(entry.key + size), entry.value));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Up to {@code limit} windows of the locally held keys that start within the given time range.
+     */
+    public List<WindowedAggregate> fetchAll(RollupWindow window, Instant from, Instant to, int limit) {
+        List<WindowedAggregate> result = new ArrayList<>();
+        try (KeyValueIterator<Windowed<String>, MessageAggregate> iterator = store(window).fetchAll(from, to)) {
+            while (iterator.hasNext() && result.size() < limit) {
+                KeyValue<Windowed<String>, MessageAggregate> entry = iterator.next();
+                result.add(new WindowedAggregate(entry.key.key(), entry.key.window().startTime(),
+                        entry.key.window().endTime(), entry.value));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The earliest window start that is still retained.
+     */
+    public Instant oldestRetained(RollupWindow window, Instant now) {
+        return now.minus(topology.retention(window));
+    }
+
+    private ReadOnlyWindowStore<String, MessageAggregate> store(RollupWindow window) {
+        return streams().store(StoreQueryParameters.fromNameAndType(window.getStoreName(),
+                QueryableStoreTypes.<String, MessageAggregate>windowStore()));
+    }
+
+    private KafkaStreams streams() {
+        KafkaStreams streams = streamsBuilder.getKafkaStreams();
+        if (streams == null) {
+            throw new InvalidStateStoreException("Kafka Streams has not been started");
+        }
+        return streams;
+    }
+}
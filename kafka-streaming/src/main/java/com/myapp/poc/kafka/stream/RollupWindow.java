@@ -0,0 +1,36 @@
+package com.myapp.poc.kafka.stream;
+
+import java.util.Locale;
+
+/**
+ * The kinds of window the rollup topology aggregates over, each materialized in its own store.
+ */
+public enum RollupWindow {
+    /**
+     * Fixed, non-overlapping windows aligned to the epoch.
+     */
+    TUMBLING("tumbling-rollups"),
+    /**
+     * Windows ending at each message, covering the messages within a fixed time difference of it.
+     */
+    SLIDING("sliding-rollups");
+
+    private final String storeName;
+
+    RollupWindow(String storeName) {
+        this.storeName = storeName;
+    }
+
+    public String getStoreName() {
+        return storeName;
+    }
+
+    /**
+     * Parse a window kind from its case-insensitive name, as used in request paths.
+     *
+     * @throws IllegalArgumentException if the name is not a window kind
+     */
+    public static RollupWindow fromName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,97 @@
+package com.myapp.poc.kafka.client;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyOrderedExecutorTest {
+
+    private final KeyOrderedExecutor executor = new KeyOrderedExecutor(8, false);
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void runsTheTasksOfEachKeyInSubmissionOrder() {
+        int keys = 16;
+        int tasksPerKey = 500;
+        List<List<Integer>> seen = new ArrayList<>();
+        for (int key = 0; key < keys; key++) {
+            seen.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int task = 0; task < tasksPerKey; task++) {
+            for (int key = 0; key < keys; key++) {
+                int sequence = task;
+                List<Integer> ofKey = seen.get(key);
+                futures.add(executor.submit("key-" + key, () -> ofKey.add(sequence)));
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        for (List<Integer> ofKey : seen) {
+            assertThat(ofKey).hasSize(tasksPerKey).isSorted();
+        }
+    }
+
+    @Test
+    void aSlowKeyDoesNotHoldUpOtherKeys() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = executor.submit("slow", () -> await(release));
+
+        CompletableFuture<Void> fast = executor.submit("fast", () -> {
+        });
+
+        fast.get(5, TimeUnit.SECONDS);
+        assertThat(slow).isNotDone();
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void aFailedTaskDoesNotStopTheTasksQueuedBehindIt() throws Exception {
+        CompletableFuture<Void> failed = executor.submit("key", () -> {
+            throw new IllegalStateException("boom");
+        });
+        List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> next = executor.submit("key", () -> ran.add("next"));
+
+        next.get(5, TimeUnit.SECONDS);
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(ran).containsExactly("next");
+    }
+
+    @Test
+    void forgetsKeysOnceTheirTasksHaveRun() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> first = executor.submit("a", () -> await(release));
+        executor.submit("b", () -> await(release));
+        assertThat(executor.getActiveKeys()).isEqualTo(2);
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getActiveKeys() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(executor.getActiveKeys()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.myapp.poc.kafka.stream;
+
+import com.myapp.poc.kafka.model.MessageAggregate;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.WindowStore;
+import org.apache.kafka.streams.state.WindowStoreIterator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageRollupTopologyTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final MessageRollupTopology topology = new MessageRollupTopology(Duration.ofMinutes(1),
+            Duration.ofMinutes(5), Duration.ofSeconds(10), Duration.ofHours(1), "memory");
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, String> input;
+
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        topology.buildPipeline(builder);
+        Properties props = new Properties();
+        props.put(StreamsConfig.APPLICATION_ID_CONFIG, "rollup-test");
+        props.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), props);
+        input = driver.createInputTopic("demo-topic-partition", new StringSerializer(), new StringSerializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    void rollsUpEachKeyPerTumblingWindow() {
+        input.pipeInput("a", "one", START.plusSeconds(5));
+        input.pipeInput("a", "three", START.plusSeconds(30));
+        input.pipeInput("b", "xy", START.plusSeconds(40));
+        input.pipeInput("a", "four", START.plusSeconds(70));
+
+        assertThat(tumbling("a")).containsExactly(
+                KeyValue.pair(START, new MessageAggregate(2, 8, 3, 5)),
+                KeyValue.pair(START.plusSeconds(60), new MessageAggregate(1, 4, 4, 4)));
+        assertThat(tumbling("b")).containsExactly(KeyValue.pair(START, new MessageAggregate(1, 2, 2, 2)));
+    }
+
+    @Test
+    void dropsRecordsWithoutAKey() {
+        input.pipeInput(null, "lost", START);
+        input.pipeInput("a", "kept", START.plusSeconds(1));
+
+        assertThat(tumbling("a")).containsExactly(KeyValue.pair(START, new MessageAggregate(1, 4, 4, 4)));
+    }
+
+    @Test
+    void dropsRecordsArrivingAfterTheGracePeriod() {
+        input.pipeInput("a", "on-time", START.plusSeconds(50));
+        // Advances stream time past the end of the first window plus its grace
+        input.pipeInput("a", "next", START.plusSeconds(75));
+        input.pipeInput("a", "too-late", START.plusSeconds(55));
+
+        assertThat(tumbling("a")).containsExactly(
+                KeyValue.pair(START, new MessageAggregate(1, 7, 7, 7)),
+                KeyValue.pair(START.plusSeconds(60), new MessageAggregate(1, 4, 4, 4)));
+    }
+
+    @Test
+    void slidingWindowsCoverTheMessagesWithinTheTimeDifference() {
+        input.pipeInput("a", "one", START);
+        input.pipeInput("a", "three", START.plusSeconds(120));
+
+        // The window ending at the second message reaches back five minutes and covers both
+        WindowStore<String, MessageAggregate> store = driver.getWindowStore(RollupWindow.SLIDING.getStoreName());
+        MessageAggregate window = store.fetch("a", START.plusSeconds(120).minus(Duration.ofMinutes(5)).toEpochMilli());
+        assertThat(window).isEqualTo(new MessageAggregate(2, 8, 3, 5));
+    }
+
+    @Test
+    void keepsWindowsForAtLeastTheirSizePlusGrace() {
+        MessageRollupTopology shortLived = new MessageRollupTopology(Duration.ofMinutes(1), Duration.ofMinutes(5),
+                Duration.ofSeconds(10), Duration.ofSeconds(1), "memory");
+
+        assertThat(shortLived.retention(RollupWindow.TUMBLING)).isEqualTo(Duration.ofSeconds(70));
+        assertThat(shortLived.retention(RollupWindow.SLIDING)).isEqualTo(Duration.ofSeconds(310));
+        assertThat(topology.retention(RollupWindow.TUMBLING)).isEqualTo(Duration.ofHours(1));
+    }
+
+    private List<KeyValue<Instant, MessageAggregate>> tumbling(String key) {
+        WindowStore<String, MessageAggregate> store = driver.getWindowStore(RollupWindow.TUMBLING.getStoreName());
+        List<KeyValue<Instant, MessageAggregate>> windows = new ArrayList<>();
+        try (WindowStoreIterator<MessageAggregate> iterator = store.fetch(key, START, START.plus(Duration.ofHours(1)))) {
+            iterator.forEachRemaining(entry -> windows.add(KeyValue.pair(Instant.ofEpochMilli(entry.key), entry.value)));
+        }
+        return windows;
+    }
+}
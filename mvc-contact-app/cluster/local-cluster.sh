@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Runs a partitioned contacts cluster on this machine, one instance per port.
+#
+#   cluster/local-cluster.sh start 3   start nodes on ports 8081-8083
+#   cluster/local-cluster.sh join 4    start node 4 on port 8084 and add it to the running cluster
+#   cluster/local-cluster.sh status    show each node's members and local contact count
+#   cluster/local-cluster.sh stop      stop all nodes
+#
+# Build the application first with `mvn -pl mvc-contact-app -am package`. Contacts can be
+# created and read through any node, e.g. curl localhost:8082/api/contacts/1234; requests for
+# contacts owned by another node are forwarded to it.
+set -euo pipefail
+
+DIR=$(cd "$(dirname "$0")" && pwd)
+JAR=$(ls "${DIR}"/../target/mvc-contact-app-*-exec.jar | head -1)
+BASE_PORT=${BASE_PORT:-8080}
+RUN_DIR=${RUN_DIR:-/tmp/contacts-cluster}
+
+node_url() {
+  echo "http://localhost:$((BASE_PORT + $1))"
+}
+
+member_list() {
+  local count=$1 members=""
+  for ((n = 1; n <= count; n++)); do
+    members+="${members:+,}$(node_url "${n}")"
+  done
+  echo "${members}"
+}
+
+start_node() {
+  local n=$1 members=$2
+  mkdir -p "${RUN_DIR}"
+  java -jar "${JAR}" \
+    --server.port="$((BASE_PORT + n))" \
+    --contacts.cluster.enabled=true \
+    --contacts.cluster.self="$(node_url "${n}")" \
+    --contacts.cluster.node-index="${n}" \
+    --contacts.cluster.nodes="${members}" \
+    > "${RUN_DIR}/node-${n}.log" 2>&1 &
+  echo $! > "${RUN_DIR}/node-${n}.pid"
+  for _ in $(seq 1 60); do
+    if curl -sf -o /dev/null "$(node_url "${n}")/api/cluster"; then
+      echo "node ${n} up at $(node_url "${n}")"
+      return 0
+    fi
+    sleep 1
+  done
+  echo "node ${n} did not start, see ${RUN_DIR}/node-${n}.log" >&2
+  return 1
+}
+
+case "${1:-}" in
+  start)
+    count=${2:-3}
+    members=$(member_list "${count}")
+    for ((n = 1; n <= count; n++)); do
+      start_node "${n}" "${members}"
+    done
+    ;;
+  join)
+    n=${2:?node number required}
+    members=$(member_list "${n}")
+    start_node "${n}" "${members}"
+    # Announce the new membership through an existing node; it passes it on to all members
+    curl -sf -X PUT -H 'Content-Type: application/json' \
+      -d "[\"${members//,/\",\"}\"]" "$(node_url 1)/api/cluster/nodes"
+    echo
+    ;;
+  status)
+    for pid_file in "${RUN_DIR}"/node-*.pid; do
+      n=$(basename "${pid_file}" .pid)
+      n=${n#node-}
+      curl -sf "$(node_url "${n}")/api/cluster" || echo "node ${n} not reachable"
+      echo
+    done
+    ;;
+  stop)
+    for pid_file in "${RUN_DIR}"/node-*.pid; do
+      kill "$(cat "${pid_file}")" 2>/dev/null || true
+      rm -f "${pid_file}"
+    done
+    ;;
+  *)
+    sed -n '2,12p' "$0"
+    exit 1
+    ;;
+esac
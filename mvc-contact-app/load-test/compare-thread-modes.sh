@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+# Compares throughput and latency of the contacts service with platform and virtual request threads.
+#
+# Starts the packaged application once per thread mode, seeds contacts through the bulk endpoint,
+# then drives a read/write mix with wrk and prints requests/sec and the latency distribution
+# (including p99) for each mode.
+#
+# Requirements: Java 21+ for virtual mode (on older JVMs both runs use platform threads),
+# wrk (https://github.com/wg/wrk) and curl. 10k connections need a raised open-file limit,
+# e.g. `ulimit -n 65536`, on both the client and the server host.
+#
+# Usage: load-test/compare-thread-modes.sh [connections] [duration] [contacts]
+#   defaults: 10000 connections, 60s, 100000 contacts
+set -euo pipefail
+
+CONNECTIONS=${1:-10000}
+DURATION=${2:-60s}
+CONTACTS=${3:-100000}
+THREADS=${WRK_THREADS:-$(nproc)}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}/api/contacts"
+DIR=$(cd "$(dirname "$0")" && pwd)
+JAR=$(ls "${DIR}"/../target/mvc-contact-app-*-exec.jar | head -1)
+
+seed() {
+  local body
+  body=$(mktemp)
+  for ((i = 1; i <= CONTACTS; i++)); do
+    printf '{"id":%d,"name":"Contact %d","phoneNumber":"555-%03d-%04d","email":"contact%d@example.com"}\n' \
+      "$i" "$i" "$((i / 10000 % 1000))" "$((i % 10000))" "$i"
+  done > "${body}"
+  curl -sf -o /dev/null -X POST -H 'Content-Type: application/x-ndjson' --data-binary "@${body}" "${BASE_URL}/bulk"
+  rm -f "${body}"
+}
+
+wait_for_startup() {
+  for _ in $(seq 1 120); do
+    if curl -sf -o /dev/null "${BASE_URL}/stats"; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "application did not start" >&2
+  return 1
+}
+
+run_mode() {
+  local mode=$1
+  echo "=== ${mode} threads: ${CONNECTIONS} connections for ${DURATION} ==="
+  java -jar "${JAR}" --server.port="${PORT}" --contacts.threads.mode="${mode}" > "/tmp/contacts-${mode}.log" 2>&1 &
+  local pid=$!
+  trap 'kill ${pid} 2>/dev/null || true' RETURN
+  wait_for_startup
+  seed
+  # Warm up the JIT before measuring
+  wrk -t"${THREADS}" -c"$((CONNECTIONS / 10))" -d15s -s "${DIR}/contacts-mix.lua" "${BASE_URL}" > /dev/null
+  CONTACTS=${CONTACTS} wrk -t"${THREADS}" -c"${CONNECTIONS}" -d"${DURATION}" --timeout 10s --latency \
+    -s "${DIR}/contacts-mix.lua" "${BASE_URL}"
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+}
+
+run_mode platform
+run_mode virtual
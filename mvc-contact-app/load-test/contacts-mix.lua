@@ -0,0 +1,15 @@
+-- Request mix for compare-thread-modes.sh: 90% single-contact reads, 10% updates.
+-- Contact ids are drawn uniformly from 1..CONTACTS.
+
+local contacts = tonumber(os.getenv("CONTACTS") or "100000")
+
+request = function()
+  local id = math.random(1, contacts)
+  if math.random(1, 10) == 1 then
+    local body = string.format(
+      '{"name":"Contact %d","phoneNumber":"555-%03d-%04d","email":"contact%d@example.com"}',
+      id, math.floor(id / 10000) % 1000, id % 10000, id)
+    return wrk.format("PUT", wrk.path .. "/" .. id, { ["Content-Type"] = "application/json" }, body)
+  end
+  return wrk.format("GET", wrk.path .. "/" .. id)
+end
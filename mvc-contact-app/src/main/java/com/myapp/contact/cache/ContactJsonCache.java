@@ -0,0 +1,126 @@
+package com.myapp.contact.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.service.ContactChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of contacts serialized to JSON, so repeat reads of unchanged contacts skip
+ * Jackson entirely.
+ * <p>
+ * Entries are keyed by contact id and tagged with the contact version they were serialized
+ * from; an entry is only served for that exact version. Changes evict the contact's entry
+ * straight away so stale bytes do not occupy the budget. The cache is split into stripes by
+ * id, each an access-ordered LRU map under its own lock with an equal share of the byte budget.
+ */
+@Component
+public class ContactJsonCache implements ContactChangeListener {
+
+    private static final int STRIPES = 16;
+
+    private final ObjectWriter writer;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ContactJsonCache(ObjectMapper objectMapper,
+                            @Value("${contacts.cache.max-size-mb:64}") int maxSizeMb) {
+        this.writer = objectMapper.writerFor(Contact.class);
+        long stripeBudget = (long) maxSizeMb * 1024 * 1024 / STRIPES;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(stripeBudget);
+        }
+    }
+
+    /**
+     * Return the JSON form of the contact, serializing it only if this version is not cached.
+     */
+    public byte[] toJson(Contact contact) {
+        Stripe stripe = stripeFor(contact.getId());
+        long version = contact.getVersion() == null ? 0L : contact.getVersion();
+        byte[] json = stripe.get(contact.getId(), version);
+        if (json != null) {
+            hits.increment();
+            return json;
+        }
+        misses.increment();
+        try {
+            json = writer.writeValueAsBytes(contact);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize contact " + contact.getId(), e);
+        }
+        stripe.put(contact.getId(), version, json);
+        return json;
+    }
+
+    @Override
+    public void onContactChanged(Contact previous, Contact current) {
+        if (previous != null) {
+            stripeFor(previous.getId()).remove(previous.getId());
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private Stripe stripeFor(long id) {
+        return stripes[(int) (id ^ (id >>> 32)) & (STRIPES - 1)];
+    }
+
+    private record Entry(long version, byte[] json) {
+    }
+
+    private static final class Stripe {
+        private final long budget;
+        private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+        private long bytes;
+
+        private Stripe(long budget) {
+            this.budget = budget;
+        }
+
+        private synchronized byte[] get(long id, long version) {
+            Entry entry = entries.get(id);
+            return entry != null && entry.version() == version ? entry.json() : null;
+        }
+
+        private synchronized void put(long id, long version, byte[] json) {
+            if (json.length > budget) {
+                return;
+            }
+            Entry previous = entries.get(id);
+            if (previous != null && previous.version() > version) {
+                // A newer version was cached while this one was being serialized
+                return;
+            }
+            entries.put(id, new Entry(version, json));
+            bytes += json.length - (previous == null ? 0 : previous.json().length);
+            Iterator<Map.Entry<Long, Entry>> eldest = entries.entrySet().iterator();
+            while (bytes > budget && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().json().length;
+                eldest.remove();
+            }
+        }
+
+        private synchronized void remove(long id) {
+            Entry removed = entries.remove(id);
+            if (removed != null) {
+                bytes -= removed.json().length;
+            }
+        }
+    }
+}
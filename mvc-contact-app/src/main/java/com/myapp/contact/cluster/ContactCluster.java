@@ -0,0 +1,116 @@
+package com.myapp.contact.cluster;
+
+import com.myapp.contact.service.ContactIdAllocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Membership of this node in a partitioned contacts cluster, enabled with
+ * {@code contacts.cluster.enabled=true}.
+ * <p>
+ * Contacts are spread over the nodes by a {@link ConsistentHashRing} of their ids; each node
+ * stores only the contacts it owns. Nodes are named by their base URL, and this node's own URL
+ * must be {@code contacts.cluster.self}.
+ * <p>
+ * The cluster also allocates the ids of new contacts. Each node draws ids from its own residue
+ * class modulo {@link #MAX_NODES}, set by {@code contacts.cluster.node-index}, so two nodes never
+ * assign the same id, and skips ids it does not own, so a new contact is always stored on the
+ * node that created it.
+ */
+@Component
+@ConditionalOnProperty(name = "contacts.cluster.enabled", havingValue = "true")
+public class ContactCluster implements ContactIdAllocator {
+    private static final Logger logger = LoggerFactory.getLogger(ContactCluster.class);
+
+    public static final int MAX_NODES = 1024;
+
+    private final String self;
+    private final int nodeIndex;
+    private final int virtualNodes;
+    private volatile ConsistentHashRing ring;
+
+    public ContactCluster(@Value("${contacts.cluster.self}") String self,
+                          @Value("${contacts.cluster.node-index}") int nodeIndex,
+                          @Value("${contacts.cluster.nodes}") List<String> nodes,
+                          @Value("${contacts.cluster.virtual-nodes:128}") int virtualNodes) {
+        if (nodeIndex < 0 || nodeIndex >= MAX_NODES) {
+            throw new IllegalArgumentException("contacts.cluster.node-index must be between 0 and " + (MAX_NODES - 1));
+        }
+        this.self = normalize(self);
+        this.nodeIndex = nodeIndex;
+        this.virtualNodes = virtualNodes;
+        this.ring = new ConsistentHashRing(normalize(nodes), virtualNodes);
+        if (!ring.contains(this.self)) {
+            throw new IllegalArgumentException("contacts.cluster.nodes must include this node, " + this.self);
+        }
+        logger.info("Node {} joined contacts cluster of {}", this.self, ring.getNodes());
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public List<String> getNodes() {
+        return ring.getNodes();
+    }
+
+    public String ownerOf(long id) {
+        return ring.ownerOf(id);
+    }
+
+    public boolean isLocal(long id) {
+        return ring.ownerOf(id).equals(self);
+    }
+
+    /**
+     * Replace the cluster members. Contacts this node no longer owns stay here until the
+     * rebalancer has handed them over.
+     *
+     * @return the previous members
+     */
+    public synchronized List<String> setNodes(List<String> nodes) {
+        List<String> previous = ring.getNodes();
+        ring = new ConsistentHashRing(normalize(nodes), virtualNodes);
+        logger.info("Contacts cluster membership changed from {} to {}", previous, ring.getNodes());
+        return previous;
+    }
+
+    @Override
+    public long nextIdAfter(long id) {
+        ConsistentHashRing current = ring;
+        if (!current.contains(self)) {
+            throw new IllegalStateException("Node " + self + " is not a member of the contacts cluster");
+        }
+        long candidate = id - Math.floorMod(id, MAX_NODES) + nodeIndex;
+        if (candidate <= id) {
+            candidate += MAX_NODES;
+        }
+        // Each node owns about 1/n of the ids, so this takes n tries on average
+        while (!current.ownerOf(candidate).equals(self)) {
+            candidate += MAX_NODES;
+        }
+        return candidate;
+    }
+
+    private static List<String> normalize(List<String> nodes) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String node : nodes) {
+            if (!node.isBlank()) {
+                normalized.add(normalize(node));
+            }
+        }
+        return List.copyOf(normalized);
+    }
+
+    private static String normalize(String node) {
+        String trimmed = node.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+}
@@ -0,0 +1,138 @@
+package com.myapp.contact.cluster;
+
+import com.myapp.contact.model.BulkImportResult;
+import com.myapp.contact.model.BulkRowResult;
+import com.myapp.contact.model.Contact;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * HTTP calls between the nodes of a contacts cluster. Every request carries
+ * {@link #FORWARDED_HEADER}, so the receiving node handles it locally instead of routing it on,
+ * even while the two nodes briefly disagree on membership.
+ */
+@Component
+@ConditionalOnProperty(name = "contacts.cluster.enabled", havingValue = "true")
+public class ContactClusterClient {
+
+    public static final String FORWARDED_HEADER = "X-Contact-Forwarded";
+
+    // Connection-level headers that must not be copied between the two exchanges
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "te", "trailer", "upgrade", "host", "content-length", "expect", "proxy-authorization", "proxy-authenticate");
+
+    private final RestClient restClient;
+    private final String self;
+
+    public ContactClusterClient(RestClient.Builder restClientBuilder, ContactCluster cluster,
+                                @Value("${contacts.cluster.request-timeout:PT10S}") Duration requestTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder().connectTimeout(requestTimeout).build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(requestTimeout);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.self = cluster.getSelf();
+    }
+
+    /**
+     * Replay the request on the given node and copy its response back, status, headers and body.
+     */
+    public void forward(String node, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String query = request.getQueryString();
+        URI uri = URI.create(node + request.getRequestURI() + (query != null ? "?" + query : ""));
+        byte[] body = request.getInputStream().readAllBytes();
+        RestClient.RequestBodySpec spec = restClient.method(HttpMethod.valueOf(request.getMethod()))
+                .uri(uri)
+                .headers(headers -> {
+                    for (String name : Collections.list(request.getHeaderNames())) {
+                        if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                            headers.addAll(name, Collections.list(request.getHeaders(name)));
+                        }
+                    }
+                    headers.set(FORWARDED_HEADER, self);
+                });
+        if (body.length > 0) {
+            spec.body(body);
+        }
+        spec.exchange((clientRequest, clientResponse) -> {
+            response.setStatus(clientResponse.getStatusCode().value());
+            clientResponse.getHeaders().forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                    values.forEach(value -> response.addHeader(name, value));
+                }
+            });
+            try (InputStream in = clientResponse.getBody()) {
+                in.transferTo(response.getOutputStream());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Upsert contacts on the node that owns them.
+     *
+     * @return one result per contact, in order, with rows numbered from 0
+     */
+    public List<BulkRowResult> importContacts(String node, List<Contact> contacts) {
+        BulkImportResult result = restClient.post()
+                .uri(URI.create(node + "/api/contacts/bulk"))
+                .header(FORWARDED_HEADER, self)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(contacts)
+                .retrieve()
+                .body(BulkImportResult.class);
+        if (result == null || result.getResults().size() != contacts.size()) {
+            throw new IllegalStateException("Node " + node + " returned an incomplete import result");
+        }
+        return result.getResults();
+    }
+
+    /**
+     * Hand contacts over to the node that now owns them, versions included.
+     *
+     * @return one result per contact, in order, with rows numbered from 0
+     */
+    public List<BulkRowResult> transferContacts(String node, List<Contact> contacts) {
+        BulkImportResult result = restClient.post()
+                .uri(URI.create(node + "/api/cluster/contacts"))
+                .header(FORWARDED_HEADER, self)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(contacts)
+                .retrieve()
+                .body(BulkImportResult.class);
+        if (result == null || result.getResults().size() != contacts.size()) {
+            throw new IllegalStateException("Node " + node + " returned an incomplete transfer result");
+        }
+        return result.getResults();
+    }
+
+    /**
+     * Tell another node about a membership change.
+     */
+    public void announceMembership(String node, List<String> nodes) {
+        restClient.put()
+                .uri(URI.create(node + "/api/cluster/nodes"))
+                .header(FORWARDED_HEADER, self)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(nodes)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,170 @@
+package com.myapp.contact.cluster;
+
+import com.myapp.contact.model.BulkRowResult;
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.service.ContactService;
+import com.myapp.contact.service.ContactVersionConflictException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands contacts over to their new owners after a membership change.
+ * <p>
+ * The rebalancer scans the local contacts, transfers the ones owned by other nodes there in
+ * batches, and evicts each local copy once its owner has stored it, provided it has not changed
+ * in the meantime; the eviction publishes no removal, as the contact lives on at its owner.
+ * Transferred contacts keep their version and last-modified time, and an owner
+ * that already holds the same or a newer version keeps its own, so ETags stay valid across the
+ * move and a write that reached the new owner first is never overwritten. Requests for a moved contact are routed to the new owner as soon as the
+ * membership changes, so a contact may be missing there until its batch arrives. Contacts that
+ * changed during the hand-over are picked up by a further pass.
+ */
+@Service
+@ConditionalOnProperty(name = "contacts.cluster.enabled", havingValue = "true")
+public class ContactRebalancer {
+    private static final Logger logger = LoggerFactory.getLogger(ContactRebalancer.class);
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_PASSES = 3;
+
+    private final ContactService contactService;
+    private final ContactCluster cluster;
+    private final ContactClusterClient client;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "contact-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean requested = new AtomicBoolean();
+    private final AtomicLong movedContacts = new AtomicLong();
+    private volatile Instant lastCompleted;
+    private volatile String lastError;
+
+    public ContactRebalancer(ContactService contactService, ContactCluster cluster, ContactClusterClient client) {
+        this.contactService = contactService;
+        this.cluster = cluster;
+        this.client = client;
+    }
+
+    /**
+     * Start a rebalance in the background. If one is already running, another pass follows it
+     * so that the latest membership is applied.
+     */
+    public void start() {
+        requested.set(true);
+        if (running.compareAndSet(false, true)) {
+            executor.execute(this::run);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    public long getMovedContacts() {
+        return movedContacts.get();
+    }
+
+    public Instant getLastCompleted() {
+        return lastCompleted;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run() {
+        try {
+            while (requested.getAndSet(false)) {
+                rebalance();
+            }
+        } finally {
+            running.set(false);
+            // A request that arrived after the last check but before the flag was cleared
+            if (requested.get() && running.compareAndSet(false, true)) {
+                executor.execute(this::run);
+            }
+        }
+    }
+
+    private void rebalance() {
+        logger.info("Rebalancing contacts for cluster {}", cluster.getNodes());
+        try {
+            for (int pass = 1; pass <= MAX_PASSES; pass++) {
+                long moved = handOverPass();
+                logger.info("Rebalance pass {} moved {} contacts", pass, moved);
+                if (moved == 0) {
+                    break;
+                }
+            }
+            lastError = null;
+            lastCompleted = Instant.now();
+        } catch (RestClientException | IllegalStateException e) {
+            lastError = e.getMessage();
+            logger.error("Rebalance failed, contacts not yet handed over stay on this node: {}", e.getMessage());
+        }
+    }
+
+    private long handOverPass() {
+        Map<String, List<Contact>> outgoing = new HashMap<>();
+        long[] moved = new long[1];
+        contactService.forEachContact(null, contact -> {
+            String owner = cluster.ownerOf(contact.getId());
+            if (owner.equals(cluster.getSelf())) {
+                return;
+            }
+            List<Contact> batch = outgoing.computeIfAbsent(owner, node -> new ArrayList<>(BATCH_SIZE));
+            batch.add(contact);
+            if (batch.size() == BATCH_SIZE) {
+                moved[0] += handOver(owner, batch);
+                batch.clear();
+            }
+        });
+        for (Map.Entry<String, List<Contact>> entry : outgoing.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                moved[0] += handOver(entry.getKey(), entry.getValue());
+            }
+        }
+        return moved[0];
+    }
+
+    private long handOver(String owner, List<Contact> batch) {
+        List<BulkRowResult> results = client.transferContacts(owner, batch);
+        long moved = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            Contact contact = batch.get(i);
+            if (results.get(i).getStatus() == BulkRowResult.Status.REJECTED) {
+                logger.warn("Node {} rejected contact {}: {}", owner, contact.getId(), results.get(i).getError());
+                continue;
+            }
+            try {
+                contactService.evict(contact.getId(), contact.getVersion());
+                moved++;
+            } catch (ContactVersionConflictException e) {
+                logger.debug("Contact {} changed during hand-over, retrying in the next pass", contact.getId());
+            }
+        }
+        movedContacts.addAndGet(moved);
+        return moved;
+    }
+}
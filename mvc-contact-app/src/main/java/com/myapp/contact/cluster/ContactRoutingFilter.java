@@ -0,0 +1,100 @@
+package com.myapp.contact.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myapp.common.exception.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends requests for a single contact, {@code /api/contacts/{id}} with any method, to the node
+ * that owns the id, so clients can talk to any node of the cluster. Requests already forwarded
+ * by another node are always served locally.
+ * <p>
+ * Creation needs no routing, as a node only assigns ids it owns. Bulk imports route their rows
+ * in {@code ContactImportService}. List, lookup, search, stats and change feed endpoints answer
+ * for the contacts of the node they are sent to only, so their responses are marked with the
+ * {@value #PARTIAL_HEADER} header naming that node; a client after every contact asks each node
+ * and merges the results.
+ */
+@Component
+@ConditionalOnProperty(name = "contacts.cluster.enabled", havingValue = "true")
+public class ContactRoutingFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(ContactRoutingFilter.class);
+
+    static final String PARTIAL_HEADER = "X-Contacts-Partial";
+
+    private static final Pattern CONTACT_PATH = Pattern.compile("/api/contacts/(\\d{1,18})");
+    private static final Pattern NODE_LOCAL_PATH = Pattern.compile("/api/contacts(/lookup/[^/]+|/search|/stats|/changes)?/?");
+
+    private final ContactCluster cluster;
+    private final ContactClusterClient client;
+    private final ObjectMapper objectMapper;
+
+    public ContactRoutingFilter(ContactCluster cluster, ContactClusterClient client, ObjectMapper objectMapper) {
+        this.cluster = cluster;
+        this.client = client;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String owner = remoteOwner(request);
+        if (owner == null) {
+            if (isNodeLocalRead(request)) {
+                response.setHeader(PARTIAL_HEADER, cluster.getSelf());
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+        logger.debug("Forwarding {} {} to {}", request.getMethod(), request.getRequestURI(), owner);
+        try {
+            client.forward(owner, request, response);
+        } catch (RestClientException e) {
+            logger.warn("Failed to forward {} {} to {}: {}", request.getMethod(), request.getRequestURI(), owner, e.getMessage());
+            ErrorResponse errorResponse = new ErrorResponse(
+                    "Bad Gateway",
+                    "Node " + owner + " owning this contact is unavailable",
+                    HttpStatus.BAD_GATEWAY.value()
+            );
+            response.setStatus(HttpStatus.BAD_GATEWAY.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), errorResponse);
+        }
+    }
+
+    private static boolean isNodeLocalRead(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && NODE_LOCAL_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches();
+    }
+
+    /**
+     * The node to forward the request to, or null to handle it here.
+     */
+    private String remoteOwner(HttpServletRequest request) {
+        if (request.getHeader(ContactClusterClient.FORWARDED_HEADER) != null) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Matcher matcher = CONTACT_PATH.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        String owner = cluster.ownerOf(Long.parseLong(matcher.group(1)));
+        return owner.equals(cluster.getSelf()) ? null : owner;
+    }
+}
@@ -0,0 +1,49 @@
+package com.myapp.contact.config;
+
+import com.myapp.contact.persistence.ContactJournal;
+import com.myapp.contact.persistence.FileContactJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Selects how contacts are persisted.
+ * <p>
+ * By default contacts live only in memory. With {@code contacts.persistence.enabled=true}
+ * every change is written to a memory-mapped write-ahead log with periodic snapshots under
+ * {@code contacts.persistence.directory}, and the contacts are restored on startup.
+ */
+@Configuration
+public class ContactPersistenceConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ContactPersistenceConfig.class);
+
+    @Value("${contacts.persistence.enabled:false}")
+    private boolean enabled;
+
+    @Value("${contacts.persistence.directory:./data/contacts}")
+    private Path directory;
+
+    @Value("${contacts.persistence.segment-size-mb:64}")
+    private int segmentSizeMb;
+
+    @Value("${contacts.persistence.fsync:true}")
+    private boolean fsync;
+
+    @Value("${contacts.persistence.snapshot-interval:PT5M}")
+    private Duration snapshotInterval;
+
+    @Bean
+    public ContactJournal contactJournal() {
+        if (!enabled) {
+            logger.info("Contact persistence disabled; contacts are kept in memory only");
+            return ContactJournal.none();
+        }
+        logger.info("Contact persistence enabled in {} (fsync: {}, snapshot interval: {})", directory, fsync, snapshotInterval);
+        return new FileContactJournal(directory, segmentSizeMb * 1024 * 1024, fsync, snapshotInterval);
+    }
+}
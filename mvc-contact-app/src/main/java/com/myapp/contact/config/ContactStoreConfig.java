@@ -0,0 +1,39 @@
+package com.myapp.contact.config;
+
+import com.myapp.contact.store.ContactStore;
+import com.myapp.contact.store.HeapContactStore;
+import com.myapp.contact.store.OffHeapContactStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Selects where contacts are held: {@code heap} (default) keeps {@code Contact} objects in a
+ * concurrent map, {@code offheap} keeps them encoded in direct-memory slabs.
+ */
+@Configuration
+public class ContactStoreConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ContactStoreConfig.class);
+
+    @Value("${contacts.store.type:heap}")
+    private String storeType;
+
+    @Value("${contacts.store.offheap.slab-size-mb:16}")
+    private int slabSizeMb;
+
+    @Bean
+    public ContactStore contactStore() {
+        switch (storeType) {
+            case "heap":
+                logger.info("Using heap contact store");
+                return new HeapContactStore();
+            case "offheap":
+                logger.info("Using off-heap contact store with slabs of up to {} MB", slabSizeMb);
+                return new OffHeapContactStore(slabSizeMb * 1024 * 1024);
+            default:
+                throw new IllegalArgumentException("Unknown contacts.store.type: " + storeType);
+        }
+    }
+}
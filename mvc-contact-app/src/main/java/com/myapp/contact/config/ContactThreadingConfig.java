@@ -0,0 +1,100 @@
+package com.myapp.contact.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects the threads that run contact requests and contact background work.
+ * <p>
+ * In {@code platform} mode (default) Tomcat serves requests from its bounded worker pool
+ * ({@code server.tomcat.threads.max}) and contact work runs on a fixed pool. In {@code virtual}
+ * mode every request and every task gets its own virtual thread, so requests blocked on the
+ * journal or on slow validation no longer hold one of a few hundred workers while thousands of
+ * connections wait.
+ * <p>
+ * The project compiles for Java 17, so virtual threads are looked up at runtime; on a JVM
+ * without them {@code virtual} mode logs a warning and falls back to platform threads.
+ */
+@Configuration
+public class ContactThreadingConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ContactThreadingConfig.class);
+
+    @Value("${contacts.threads.mode:platform}")
+    private String threadMode;
+
+    @Value("${contacts.threads.platform-pool-size:64}")
+    private int platformPoolSize;
+
+    /**
+     * Executor for contact work fanned out from a request, such as bulk import validation.
+     */
+    @Bean
+    public ExecutorService contactTaskExecutor() {
+        if (useVirtualThreads()) {
+            ExecutorService executor = newVirtualThreadExecutor();
+            if (executor != null) {
+                logger.info("Running contact tasks on virtual threads");
+                return executor;
+            }
+        }
+        logger.info("Running contact tasks on {} platform threads", platformPoolSize);
+        return Executors.newFixedThreadPool(platformPoolSize, platformThreads("contact-task-"));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "contacts.threads.mode", havingValue = "virtual")
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> virtualThreadRequests() {
+        return factory -> {
+            ExecutorService executor = newVirtualThreadExecutor();
+            if (executor == null) {
+                return;
+            }
+            logger.info("Serving contact requests on virtual threads");
+            factory.addProtocolHandlerCustomizers(handler -> handler.setExecutor(executor));
+        };
+    }
+
+    private boolean useVirtualThreads() {
+        switch (threadMode) {
+            case "platform":
+                return false;
+            case "virtual":
+                return true;
+            default:
+                throw new IllegalArgumentException("Unknown contacts.threads.mode: " + threadMode);
+        }
+    }
+
+    /**
+     * A thread-per-task executor of virtual threads, or null when the running JVM has none.
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Virtual threads are not available on Java {}, using platform threads",
+                    Runtime.version().feature());
+            return null;
+        }
+    }
+
+    private static ThreadFactory platformThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.myapp.contact.controller;
+
+import com.myapp.contact.cluster.ContactCluster;
+import com.myapp.contact.cluster.ContactClusterClient;
+import com.myapp.contact.cluster.ContactRebalancer;
+import com.myapp.contact.model.BulkImportResult;
+import com.myapp.contact.model.BulkRowResult;
+import com.myapp.contact.model.ClusterStatus;
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.service.ContactService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Membership of a partitioned contacts cluster.
+ * <p>
+ * To add or remove nodes, start any new node with the new member list and send that list to
+ * {@code PUT /api/cluster/nodes} on one existing node. That node passes it on to every old and
+ * new member, and each of them hands the contacts it no longer owns to their new owners.
+ */
+@RestController
+@RequestMapping("/api/cluster")
+@ConditionalOnProperty(name = "contacts.cluster.enabled", havingValue = "true")
+public class ClusterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterController.class);
+    private final ContactCluster cluster;
+    private final ContactClusterClient client;
+    private final ContactRebalancer rebalancer;
+    private final ContactService contactService;
+
+    public ClusterController(ContactCluster cluster, ContactClusterClient client, ContactRebalancer rebalancer,
+                             ContactService contactService) {
+        this.cluster = cluster;
+        this.client = client;
+        this.rebalancer = rebalancer;
+        this.contactService = contactService;
+    }
+
+    /**
+     * Members of the cluster as seen by this node, and the state of its last rebalance.
+     */
+    @GetMapping
+    public ResponseEntity<ClusterStatus> getStatus() {
+        return ResponseEntity.ok(status());
+    }
+
+    /**
+     * Replace the cluster members and rebalance. Returns once the change is applied on every
+     * reachable member; contacts move in the background, see {@link #getStatus()}.
+     */
+    @PutMapping("/nodes")
+    public ResponseEntity<ClusterStatus> updateNodes(@RequestBody List<String> nodes,
+                                                     @RequestHeader(value = ContactClusterClient.FORWARDED_HEADER, required = false) String forwardedBy) {
+        if (nodes == null || nodes.isEmpty()) {
+            throw new IllegalArgumentException("nodes must list at least one node");
+        }
+        logger.info("Updating cluster membership to {}", nodes);
+        List<String> previous = cluster.setNodes(nodes);
+        if (forwardedBy == null) {
+            // Removed members must also learn the new membership so they hand over their contacts
+            Set<String> members = new LinkedHashSet<>(previous);
+            members.addAll(cluster.getNodes());
+            members.remove(cluster.getSelf());
+            for (String member : members) {
+                try {
+                    client.announceMembership(member, cluster.getNodes());
+                } catch (RestClientException e) {
+                    logger.error("Could not announce membership to {}: {}", member, e.getMessage());
+                }
+            }
+        }
+        rebalancer.start();
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(status());
+    }
+
+    /**
+     * Store contacts handed over by another node during a rebalance, keeping their versions.
+     * Contacts this node already holds at the same or a newer version are skipped.
+     */
+    @PostMapping("/contacts")
+    public ResponseEntity<BulkImportResult> transferContacts(@RequestBody List<Contact> contacts) {
+        logger.info("Receiving {} contacts from another node", contacts.size());
+        List<Contact> valid = new ArrayList<>(contacts.size());
+        for (Contact contact : contacts) {
+            if (contact != null && contact.getId() != null && contact.getVersion() != null) {
+                valid.add(contact);
+            }
+        }
+        BulkRowResult.Status[] statuses = contactService.transferIn(valid);
+        List<BulkRowResult> results = new ArrayList<>(contacts.size());
+        int next = 0;
+        for (int row = 0; row < contacts.size(); row++) {
+            Contact contact = contacts.get(row);
+            if (contact == null || contact.getId() == null || contact.getVersion() == null) {
+                results.add(new BulkRowResult(row, contact == null ? null : contact.getId(),
+                        BulkRowResult.Status.REJECTED, "A transferred contact needs an id and a version"));
+            } else {
+                results.add(new BulkRowResult(row, contact.getId(), statuses[next++], null));
+            }
+        }
+        long created = results.stream().filter(r -> r.getStatus() == BulkRowResult.Status.CREATED).count();
+        long updated = results.stream().filter(r -> r.getStatus() == BulkRowResult.Status.UPDATED).count();
+        long rejected = results.stream().filter(r -> r.getStatus() == BulkRowResult.Status.REJECTED).count();
+        logger.info("Received contacts: {} created, {} updated, {} skipped, {} rejected", created, updated,
+                contacts.size() - created - updated - rejected, rejected);
+        return ResponseEntity.ok(new BulkImportResult(created, updated, rejected, results));
+    }
+
+    private ClusterStatus status() {
+        return new ClusterStatus(cluster.getSelf(), cluster.getNodes(), contactService.getStoreStats().getContacts(),
+                rebalancer.isRunning(), rebalancer.getMovedContacts(), rebalancer.getLastCompleted(), rebalancer.getLastError());
+    }
+}
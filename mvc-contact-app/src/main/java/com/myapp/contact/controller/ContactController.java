@@ -1,14 +1,43 @@
 package com.myapp.contact.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.myapp.contact.model.BulkImportResult;
+import com.myapp.contact.model.BulkRowResult;
 import com.myapp.contact.model.Contact;
+import com.myapp.contact.model.ContactPage;
+import com.myapp.contact.model.ContactSearchHit;
+import com.myapp.contact.model.ContactStoreStats;
+import com.myapp.common.exception.ErrorResponse;
+import com.myapp.contact.cache.ContactJsonCache;
+import com.myapp.contact.cluster.ContactClusterClient;
+import com.myapp.contact.feed.ContactChangeFeed;
+import com.myapp.contact.search.ContactSearchService;
+import com.myapp.contact.service.ContactImportService;
 import com.myapp.contact.service.ContactService;
+import com.myapp.contact.service.ContactNotDurableException;
+import com.myapp.contact.service.ContactVersionConflictException;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -17,39 +46,187 @@ import java.util.Map;
 public class ContactController {
 
     private static final Logger logger = LoggerFactory.getLogger(ContactController.class);
+    private static final int MAX_LOOKUP_LIMIT = 1000;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
     private final ContactService contactService;
+    private final ContactImportService contactImportService;
+    private final ContactJsonCache contactJsonCache;
+    private final ContactSearchService contactSearchService;
+    private final ContactChangeFeed changeFeed;
+    private final ObjectReader contactReader;
+    private final ObjectWriter contactWriter;
+    private final ObjectWriter rowResultWriter;
 
-    public ContactController(ContactService contactService) {
+    public ContactController(ContactService contactService, ContactImportService contactImportService,
+                             ContactJsonCache contactJsonCache, ContactSearchService contactSearchService,
+                             ContactChangeFeed changeFeed, ObjectMapper objectMapper) {
         this.contactService = contactService;
+        this.contactImportService = contactImportService;
+        this.contactJsonCache = contactJsonCache;
+        this.contactSearchService = contactSearchService;
+        this.changeFeed = changeFeed;
+        this.contactReader = objectMapper.readerFor(Contact.class);
+        this.contactWriter = objectMapper.writerFor(Contact.class);
+        this.rowResultWriter = objectMapper.writerFor(BulkRowResult.class);
     }
 
     /**
-     * Fetch all contacts.
+     * Fetch all contacts. Supports {@code If-None-Match} against the ETag of the previous response.
+     * Like the other list responses it carries the change feed position to subscribe from.
      */
     @GetMapping
-    public ResponseEntity<Map<Long, Contact>> getAllContacts() {
+    public ResponseEntity<Map<Long, Contact>> getAllContacts(WebRequest request) {
         logger.info("Fetching all contacts");
+        if (request.checkNotModified(ContactETags.ofList(contactService.getModificationCount()))) {
+            logger.debug("Contacts not modified");
+            return null;
+        }
+        String feedPosition = feedPosition();
         Map<Long, Contact> contacts = contactService.getAll();
         logger.debug("Found {} contacts", contacts.size());
-        return ResponseEntity.ok(contacts);
+        return ResponseEntity.ok().header(ContactFeedController.POSITION_HEADER, feedPosition).body(contacts);
+    }
+
+    /**
+     * Fetch one page of contacts ordered by ID. Pass the returned {@code nextCursor} as
+     * {@code after} to fetch the next page.
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<ContactPage> getContactPage(@RequestParam(required = false) Long after,
+                                                      @RequestParam int limit, WebRequest request) {
+        logger.info("Fetching contact page after ID: {} (limit: {})", after, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (request.checkNotModified(ContactETags.ofPage(after, limit, contactService.getModificationCount()))) {
+            logger.debug("Contacts not modified");
+            return null;
+        }
+        String feedPosition = feedPosition();
+        ContactPage page = contactService.findPage(after, limit);
+        logger.debug("Found {} contacts, next cursor: {}", page.getContacts().size(), page.getNextCursor());
+        return ResponseEntity.ok().header(ContactFeedController.POSITION_HEADER, feedPosition).body(page);
     }
 
     /**
-     * Fetch a contact by its ID.
+     * Stream all contacts as newline-delimited JSON, one contact per line in ID order.
+     * Contacts are written straight to the response as they are visited, so an export
+     * uses constant memory regardless of the number of contacts. Lines are serialized here
+     * rather than through the serialized-contact cache, which one export would otherwise flush
+     * of the contacts that are actually read repeatedly.
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<Contact> getContactById(@PathVariable Long id) {
+    @GetMapping(produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamContacts(@RequestParam(required = false) Long after,
+                                                                WebRequest request) {
+        logger.info("Streaming contacts after ID: {}", after);
+        if (request.checkNotModified(ContactETags.ofStream(after, contactService.getModificationCount()))) {
+            logger.debug("Contacts not modified");
+            return null;
+        }
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            try {
+                contactService.forEachContact(after, contact -> writeLine(out, contact));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON))
+                .header(ContactFeedController.POSITION_HEADER, feedPosition())
+                .body(body);
+    }
+
+    /**
+     * Report the memory footprint of the contact store.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ContactStoreStats> getStoreStats() {
+        logger.info("Fetching contact store stats");
+        return ResponseEntity.ok(contactService.getStoreStats());
+    }
+
+    /**
+     * Fetch a contact by its ID. Responses carry the contact's ETag and Last-Modified, and
+     * conditional requests for an unchanged contact get 304 without a body. The JSON body
+     * comes from the serialized-contact cache.
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getContactById(@PathVariable Long id, WebRequest request) {
         logger.info("Fetching contact with ID: {}", id);
         Contact contact = contactService.findById(id);
         if (contact != null) {
             logger.debug("Found contact: {}", contact);
-            return ResponseEntity.ok(contact);
+            // Also adds the ETag and Last-Modified headers to the response
+            long lastModified = contact.getLastModified() == null ? -1 : contact.getLastModified().toEpochMilli();
+            if (request.checkNotModified(ContactETags.of(contact), lastModified)) {
+                logger.debug("Contact {} not modified", id);
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(contactJsonCache.toJson(contact));
         } else {
             logger.warn("No contact found with ID: {}", id);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    /**
+     * Find contacts whose name starts with the given prefix.
+     */
+    @GetMapping("/lookup/name")
+    public ResponseEntity<List<Contact>> findContactsByNamePrefix(@RequestParam String prefix,
+                                                                  @RequestParam(defaultValue = "100") int limit) {
+        logger.info("Looking up contacts by name prefix: {}", prefix);
+        if (limit < 1 || limit > MAX_LOOKUP_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LOOKUP_LIMIT);
+        }
+        List<Contact> contacts = contactService.findByNamePrefix(prefix, limit);
+        logger.debug("Found {} contacts", contacts.size());
+        return ResponseEntity.ok(contacts);
+    }
+
+    /**
+     * Find contacts by email address.
+     */
+    @GetMapping("/lookup/email")
+    public ResponseEntity<List<Contact>> findContactsByEmail(@RequestParam String email) {
+        logger.info("Looking up contacts by email: {}", email);
+        List<Contact> contacts = contactService.findByEmail(email);
+        logger.debug("Found {} contacts", contacts.size());
+        return ResponseEntity.ok(contacts);
+    }
+
+    /**
+     * Find contacts by phone number.
+     */
+    @GetMapping("/lookup/phone")
+    public ResponseEntity<List<Contact>> findContactsByPhoneNumber(@RequestParam String phoneNumber) {
+        logger.info("Looking up contacts by phone number: {}", phoneNumber);
+        List<Contact> contacts = contactService.findByPhoneNumber(phoneNumber);
+        logger.debug("Found {} contacts", contacts.size());
+        return ResponseEntity.ok(contacts);
+    }
+
+    /**
+     * Full-text search over contact names and emails, tolerant of typos. Returns the best
+     * {@code limit} matches, best first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<ContactSearchHit>> searchContacts(@RequestParam String q,
+                                                                 @RequestParam(defaultValue = "10") int limit) {
+        logger.info("Searching contacts for: {}", q);
+        if (limit < 1 || limit > MAX_LOOKUP_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LOOKUP_LIMIT);
+        }
+        List<ContactSearchHit> hits = contactSearchService.search(q, limit);
+        logger.debug("Found {} matches", hits.size());
+        return ResponseEntity.ok(hits);
+    }
+
     /**
      * Create a new contact.
      */
@@ -59,27 +236,102 @@ public class ContactController {
         logger.debug("Contact data: {}", contactDto);
         Contact created = contactService.add(contactDto);
         logger.info("Contact created with ID: {}", created.getId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ContactETags.of(created)).body(created);
+    }
+
+    /**
+     * Create or update contacts in bulk from a JSON array. Contacts without an ID are created;
+     * contacts with an ID replace the stored contact. Invalid rows are rejected individually.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResult> importContacts(@RequestBody List<Contact> contacts,
+                                                           @RequestHeader(value = ContactClusterClient.FORWARDED_HEADER, required = false) String forwardedBy) {
+        logger.info("Importing {} contacts", contacts.size());
+        List<BulkRowResult> results = new ArrayList<>(contacts.size());
+        for (int from = 0; from < contacts.size(); from += ContactImportService.BATCH_SIZE) {
+            int to = Math.min(from + ContactImportService.BATCH_SIZE, contacts.size());
+            results.addAll(contactImportService.importBatch(contacts.subList(from, to), from, forwardedBy == null));
+        }
+        long created = results.stream().filter(r -> r.getStatus() == BulkRowResult.Status.CREATED).count();
+        long updated = results.stream().filter(r -> r.getStatus() == BulkRowResult.Status.UPDATED).count();
+        BulkImportResult result = new BulkImportResult(created, updated, results.size() - created - updated, results);
+        logger.info("Imported contacts: {} created, {} updated, {} rejected",
+                result.getCreated(), result.getUpdated(), result.getRejected());
+        return ResponseEntity.ok(result);
     }
 
     /**
-     * Update an existing contact.
+     * Create or update contacts in bulk from newline-delimited JSON. The request is read and
+     * applied in batches and one result line per row is streamed back, so imports of any size
+     * run in constant memory.
+     */
+    @PostMapping(value = "/bulk", consumes = APPLICATION_NDJSON)
+    public void importContactStream(InputStream body, HttpServletResponse response,
+                                    @RequestHeader(value = ContactClusterClient.FORWARDED_HEADER, required = false) String forwardedBy)
+            throws IOException {
+        logger.info("Importing contact stream");
+        response.setContentType(APPLICATION_NDJSON);
+        OutputStream out = new BufferedOutputStream(response.getOutputStream(), 64 * 1024);
+        long rows = 0;
+        try (MappingIterator<Contact> iterator = contactReader.readValues(body)) {
+            List<Contact> batch = new ArrayList<>(ContactImportService.BATCH_SIZE);
+            while (iterator.hasNextValue()) {
+                batch.add(iterator.nextValue());
+                if (batch.size() == ContactImportService.BATCH_SIZE) {
+                    writeResults(out, contactImportService.importBatch(batch, rows, forwardedBy == null));
+                    rows += batch.size();
+                    batch = new ArrayList<>(ContactImportService.BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                writeResults(out, contactImportService.importBatch(batch, rows, forwardedBy == null));
+                rows += batch.size();
+            }
+        }
+        out.flush();
+        logger.info("Imported contact stream of {} rows", rows);
+    }
+
+    /**
+     * Update an existing contact. With an {@code If-Match} header the update only succeeds if
+     * the contact is still at that version; otherwise 412 is returned.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Contact> updateContact(@PathVariable Long id, @RequestBody Contact contact) {
+    public ResponseEntity<Contact> updateContact(@PathVariable Long id, @RequestBody Contact contact,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Updating contact with ID: {}", id);
         logger.debug("Updated contact data: {}", contact);
-        Contact updated = contactService.update(id, contact);
-        return ResponseEntity.ok(updated);
+        Contact updated = contactService.update(id, contact, ContactETags.parseIfMatch(ifMatch));
+        if (updated == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok().eTag(ContactETags.of(updated)).body(updated);
     }
 
     /**
-     * Delete a contact by ID.
+     * Partially update a contact: only the fields present in the body are changed. Supports
+     * {@code If-Match} like PUT.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Contact> patchContact(@PathVariable Long id, @RequestBody Contact changes,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.info("Patching contact with ID: {}", id);
+        logger.debug("Patch data: {}", changes);
+        Contact patched = contactService.patch(id, changes, ContactETags.parseIfMatch(ifMatch));
+        if (patched == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok().eTag(ContactETags.of(patched)).body(patched);
+    }
+
+    /**
+     * Delete a contact by ID. Supports {@code If-Match} like PUT.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Contact> deleteContact(@PathVariable Long id) {
+    public ResponseEntity<Contact> deleteContact(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Deleting contact with ID: {}", id);
-        Contact removed = contactService.remove(id);
+        Contact removed = contactService.remove(id, ContactETags.parseIfMatch(ifMatch));
         if (removed != null) {
             logger.info("Contact deleted successfully");
             return ResponseEntity.ok(removed);
@@ -88,4 +340,54 @@ public class ContactController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
+
+    @ExceptionHandler(ContactVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(ContactVersionConflictException ex) {
+        logger.warn("Rejected conditional change: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Precondition Failed",
+                ex.getMessage(),
+                HttpStatus.PRECONDITION_FAILED.value()
+        );
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.PRECONDITION_FAILED);
+        if (ex.getCurrentVersion() != null) {
+            response.eTag(ContactETags.of(ex.getCurrentVersion()));
+        }
+        return response.body(errorResponse);
+    }
+
+    @ExceptionHandler(ContactNotDurableException.class)
+    public ResponseEntity<ErrorResponse> handleNotDurable(ContactNotDurableException ex) {
+        logger.error("Change applied but not journaled: {}", ex.getMessage(), ex);
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Not Durable",
+                ex.getMessage(),
+                HttpStatus.INTERNAL_SERVER_ERROR.value()
+        );
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
+    /**
+     * The change feed position as of now. Read before the contacts, so that every change the
+     * response misses follows this position in the feed.
+     */
+    private String feedPosition() {
+        return changeFeed.eventId(changeFeed.getHeadSequence());
+    }
+
+    private void writeLine(OutputStream out, Contact contact) {
+        try {
+            out.write(contactWriter.writeValueAsBytes(contact));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeResults(OutputStream out, List<BulkRowResult> results) throws IOException {
+        for (BulkRowResult result : results) {
+            out.write(rowResultWriter.writeValueAsBytes(result));
+            out.write('\n');
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package com.myapp.contact.controller;
+
+import com.myapp.contact.model.Contact;
+
+/**
+ * Maps contact versions to HTTP entity tags and back. A contact's ETag is its version in
+ * quotes, e.g. {@code "3"}; list responses are tagged with the service's modification count,
+ * e.g. {@code "list-m2x1k7-42"}, plus whatever else shapes the body: the representation and,
+ * for pages and streams, the cursor and page size, e.g. {@code "page-m2x1k7-42-100-50"}.
+ */
+final class ContactETags {
+
+    // The modification count restarts with the JVM, so list tags also name the JVM instance
+    private static final String INSTANCE = Long.toString(System.currentTimeMillis(), 36);
+    // Versions start at 1, so no contact is ever at this one
+    private static final long NO_VERSION = 0L;
+
+    private ContactETags() {
+    }
+
+    static String of(Contact contact) {
+        return of(contact.getVersion());
+    }
+
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    static String ofList(long modificationCount) {
+        return "\"list-" + INSTANCE + "-" + modificationCount + "\"";
+    }
+
+    static String ofPage(Long after, int limit, long modificationCount) {
+        return "\"page-" + INSTANCE + "-" + modificationCount + "-" + cursor(after) + "-" + limit + "\"";
+    }
+
+    static String ofStream(Long after, long modificationCount) {
+        return "\"ndjson-" + INSTANCE + "-" + modificationCount + "-" + cursor(after) + "\"";
+    }
+
+    // Ids are positive, so no cursor and a cursor of 0 select the same contacts
+    private static long cursor(Long after) {
+        return after == null ? 0L : after;
+    }
+
+    /**
+     * Read the version named by an {@code If-Match} header.
+     *
+     * If-Match compares strongly (RFC 9110, section 13.1.1), so a weak tag such as {@code W/"3"}
+     * matches no version and the change fails with 412.
+     *
+     * @return the version, or null when the header is absent or {@code *} (any current version)
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            return NO_VERSION;
+        }
+        if (tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match must be a single entity tag such as \"3\"");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown entity tag in If-Match: " + ifMatch);
+        }
+    }
+}
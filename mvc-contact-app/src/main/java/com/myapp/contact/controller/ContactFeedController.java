@@ -0,0 +1,85 @@
+package com.myapp.contact.controller;
+
+import com.myapp.common.exception.ErrorResponse;
+import com.myapp.contact.feed.ContactChangeFeed;
+import com.myapp.contact.feed.ContactFeedGapException;
+import com.myapp.contact.feed.ContactFeedStreamer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Change feed of contact mutations as Server-Sent Events, for consumers that keep a copy of the
+ * contacts and want deltas instead of re-reading the full list.
+ * <p>
+ * A new consumer reads {@code GET /api/contacts} and subscribes with {@code since} set to the
+ * {@value #POSITION_HEADER} header of that response, the feed position taken before the
+ * contacts were read. Changes made while the list was being read may then arrive a second
+ * time, which is harmless as every event carries the whole contact, but none are missed as
+ * they would be by subscribing without a position afterwards.
+ * <p>
+ * Reconnecting clients resume with the standard {@code Last-Event-ID} header or the
+ * {@code since} parameter; if the feed no longer holds the changes after that position the
+ * request fails with 410 and the consumer starts over.
+ */
+@RestController
+@RequestMapping("/api/contacts/changes")
+public class ContactFeedController {
+
+    static final String POSITION_HEADER = "X-Contact-Feed-Position";
+
+    private static final Logger logger = LoggerFactory.getLogger(ContactFeedController.class);
+    private final ContactChangeFeed feed;
+    private final ContactFeedStreamer streamer;
+
+    public ContactFeedController(ContactChangeFeed feed, ContactFeedStreamer streamer) {
+        this.feed = feed;
+        this.streamer = streamer;
+    }
+
+    /**
+     * Stream contact changes. {@code since} takes an event id, or a sequence number of the
+     * current run; {@code 0} replays every change still retained.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) String since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        String position = lastEventId != null ? lastEventId : since;
+        long after = position == null ? feed.getHeadSequence() : feed.parseEventId(position);
+        logger.info("Streaming contact changes after sequence {}", after);
+        return streamer.subscribe(after);
+    }
+
+    @ExceptionHandler(ContactFeedGapException.class)
+    public ResponseEntity<ErrorResponse> handleGap(ContactFeedGapException ex) {
+        logger.warn("Rejected change feed subscription: {}", ex.getMessage());
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Gone",
+                ex.getMessage() + "; re-read the contacts and subscribe from their " + POSITION_HEADER,
+                HttpStatus.GONE.value()
+        );
+        return ResponseEntity.status(HttpStatus.GONE).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleTooManySubscribers(RejectedExecutionException ex) {
+        logger.warn("Rejected change feed subscription: subscriber limit reached");
+        ErrorResponse errorResponse = new ErrorResponse(
+                "Service Unavailable",
+                "Too many change feed subscribers",
+                HttpStatus.SERVICE_UNAVAILABLE.value()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).contentType(MediaType.APPLICATION_JSON).body(errorResponse);
+    }
+}
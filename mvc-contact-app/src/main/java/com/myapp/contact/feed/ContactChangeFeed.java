@@ -0,0 +1,205 @@
+package com.myapp.contact.feed;
+
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.model.ContactChangeEvent;
+import com.myapp.contact.service.ContactChangeListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory log of contact changes, numbered by sequence.
+ * <p>
+ * Every change applied by {@code ContactService} is appended to a ring buffer; consumers keep
+ * their own cursor and read the events after it, so any number of them can follow the feed
+ * without affecting writers or each other. Once the ring is full the oldest events are
+ * overwritten, and a consumer that falls that far behind gets a {@link ContactFeedGapException}.
+ * <p>
+ * Sequences restart with the service, so event ids handed to clients are prefixed with a
+ * per-run epoch: {@code <epoch>-<sequence>}. Changes replayed from the journal on startup are
+ * not part of the feed.
+ */
+@Component
+public class ContactChangeFeed implements ContactChangeListener {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ContactChangeEvent[] ring;
+    private final int mask;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private long head;
+
+    /**
+     * @param capacity the number of events retained, rounded up to a power of two
+     */
+    public ContactChangeFeed(@Value("${contacts.feed.capacity:65536}") int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("contacts.feed.capacity must be between 1 and 2^30");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.ring = new ContactChangeEvent[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public void onContactChanged(Contact previous, Contact current) {
+        ContactChangeEvent.Type type = previous == null ? ContactChangeEvent.Type.CREATED
+                : current == null ? ContactChangeEvent.Type.DELETED : ContactChangeEvent.Type.UPDATED;
+        long contactId = current != null ? current.getId() : previous.getId();
+        Instant timestamp = current != null && current.getLastModified() != null ? current.getLastModified() : Instant.now();
+        lock.lock();
+        try {
+            long sequence = ++head;
+            ring[(int) (sequence & mask)] = new ContactChangeEvent(sequence, type, contactId, current, timestamp);
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onContactRestored(Contact previous, Contact current) {
+        // Replayed changes were published before the restart; consumers resync on the new epoch
+    }
+
+    @Override
+    public void onContactHandedOver(Contact contact) {
+        // Not a removal: the contact lives on at its new owner, whose feed reports it
+    }
+
+    /**
+     * Read up to {@code max} events following sequence {@code after}, oldest first.
+     *
+     * @param after the sequence of the last event the consumer has seen, 0 for the start
+     * @param max   the maximum number of events to return
+     * @return the events, empty if the consumer is up to date
+     * @throws ContactFeedGapException if events after {@code after} are no longer retained
+     */
+    public List<ContactChangeEvent> read(long after, int max) {
+        lock.lock();
+        try {
+            checkRetained(after);
+            int count = (int) Math.min(max, head - after);
+            List<ContactChangeEvent> events = new ArrayList<>(count);
+            for (long sequence = after + 1; sequence <= after + count; sequence++) {
+                events.add(ring[(int) (sequence & mask)]);
+            }
+            return events;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wait until an event after sequence {@code after} is available.
+     *
+     * @return true if one is, false if the timeout elapsed first
+     */
+    public boolean awaitAfter(long after, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (head <= after && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            return head > after;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Check that the events following sequence {@code after} can still be read.
+     *
+     * @throws ContactFeedGapException if they are no longer retained
+     */
+    public void requireRetained(long after) {
+        lock.lock();
+        try {
+            checkRetained(after);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getHeadSequence() {
+        lock.lock();
+        try {
+            return head;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The sequence of the oldest event still retained.
+     */
+    public long getOldestSequence() {
+        lock.lock();
+        try {
+            return oldest();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String eventId(ContactChangeEvent event) {
+        return eventId(event.getSequence());
+    }
+
+    /**
+     * The id to resume after the given sequence with.
+     */
+    public String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /**
+     * The sequence to resume after for an event id previously handed out, such as an SSE
+     * {@code Last-Event-ID}. A bare number is taken as a sequence of the current run.
+     *
+     * @throws ContactFeedGapException  if the id belongs to an earlier run of the service
+     * @throws IllegalArgumentException if the id is malformed
+     */
+    public long parseEventId(String eventId) {
+        String trimmed = eventId.trim();
+        int dash = trimmed.lastIndexOf('-');
+        if (dash > 0 && !trimmed.substring(0, dash).equals(epoch)) {
+            throw new ContactFeedGapException("Event " + eventId + " is from an earlier run of the service",
+                    -1, getOldestSequence());
+        }
+        try {
+            long sequence = Long.parseLong(trimmed.substring(dash + 1));
+            if (sequence < 0) {
+                throw new IllegalArgumentException("Event sequence must not be negative: " + eventId);
+            }
+            return sequence;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed change event id: " + eventId);
+        }
+    }
+
+    private void checkRetained(long after) {
+        if (after > head) {
+            throw new ContactFeedGapException("Sequence " + after + " has not been reached in this run of the service",
+                    after, oldest());
+        }
+        if (after < oldest() - 1) {
+            throw new ContactFeedGapException("Changes after sequence " + after + " are no longer retained",
+                    after, oldest());
+        }
+    }
+
+    private long oldest() {
+        return Math.max(1, head - ring.length + 1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.myapp.contact.feed;
+
+/**
+ * Thrown when a consumer asks for changes the feed no longer holds, either because they were
+ * overwritten in the ring buffer or because they belong to an earlier run of the service. The
+ * consumer has to re-read the contacts in full and resume from the current position.
+ */
+public class ContactFeedGapException extends RuntimeException {
+
+    private final long requestedSequence;
+    private final long oldestSequence;
+
+    public ContactFeedGapException(String message, long requestedSequence, long oldestSequence) {
+        super(message);
+        this.requestedSequence = requestedSequence;
+        this.oldestSequence = oldestSequence;
+    }
+
+    public long getRequestedSequence() {
+        return requestedSequence;
+    }
+
+    public long getOldestSequence() {
+        return oldestSequence;
+    }
+}
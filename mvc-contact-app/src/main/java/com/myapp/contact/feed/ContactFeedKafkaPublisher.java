@@ -0,0 +1,126 @@
+package com.myapp.contact.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.myapp.contact.model.ContactChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the {@link ContactChangeFeed} to a Kafka topic, keyed by contact id so that the
+ * changes of one contact stay in order within a partition. Enabled with
+ * {@code contacts.feed.kafka.enabled=true} when spring-kafka, an optional dependency of this
+ * module, is on the classpath.
+ * <p>
+ * The publisher follows the feed from the position it had at startup, one batch at a time, and
+ * only advances once Kafka has acknowledged the whole batch; a failed batch is retried, so
+ * consumers may see a change twice but never miss one that is still in the feed.
+ */
+@Component
+@ConditionalOnClass(KafkaTemplate.class)
+@ConditionalOnProperty(name = "contacts.feed.kafka.enabled", havingValue = "true")
+public class ContactFeedKafkaPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(ContactFeedKafkaPublisher.class);
+
+    private static final int BATCH_SIZE = 512;
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+    private final ContactChangeFeed feed;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectWriter eventWriter;
+    private final String topic;
+    private final Thread publisher = new Thread(this::publishLoop, "contact-feed-kafka");
+    private volatile boolean running = true;
+
+    public ContactFeedKafkaPublisher(ContactChangeFeed feed, KafkaTemplate<String, String> kafkaTemplate,
+                                     ObjectMapper objectMapper,
+                                     @Value("${contacts.feed.kafka.topic:contact-changes}") String topic) {
+        this.feed = feed;
+        this.kafkaTemplate = kafkaTemplate;
+        this.eventWriter = objectMapper.writerFor(ContactChangeEvent.class);
+        this.topic = topic;
+        publisher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        logger.info("Publishing contact changes to Kafka topic {}", topic);
+        publisher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        publisher.interrupt();
+        publisher.join(TimeUnit.SECONDS.toMillis(10));
+        kafkaTemplate.flush();
+    }
+
+    private void publishLoop() {
+        long cursor = feed.getHeadSequence();
+        while (running) {
+            try {
+                List<ContactChangeEvent> events = feed.read(cursor, BATCH_SIZE);
+                if (events.isEmpty()) {
+                    feed.awaitAfter(cursor, 1, TimeUnit.SECONDS);
+                    continue;
+                }
+                publish(events);
+                cursor = events.get(events.size() - 1).getSequence();
+            } catch (ContactFeedGapException e) {
+                long resumeAfter = e.getOldestSequence() - 1;
+                logger.error("Kafka publisher fell behind the change feed, skipping {} changes: {}",
+                        resumeAfter - cursor, e.getMessage());
+                cursor = resumeAfter;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Failed to publish contact changes after sequence {}, retrying: {}", cursor, e.getMessage());
+                if (!backOff()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void publish(List<ContactChangeEvent> events) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(events.size());
+        for (ContactChangeEvent event : events) {
+            sends.add(kafkaTemplate.send(topic, Long.toString(event.getContactId()), toJson(event)));
+        }
+        // The producer batches the sends; waiting once per batch keeps throughput while bounding loss on failure
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    private String toJson(ContactChangeEvent event) {
+        try {
+            return eventWriter.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize contact change " + event.getSequence(), e);
+        }
+    }
+
+    private boolean backOff() {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MILLIS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.myapp.contact.feed;
+
+import com.myapp.contact.model.ContactChangeEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Streams the {@link ContactChangeFeed} to clients as Server-Sent Events.
+ * <p>
+ * Each subscriber is served by its own sender thread that reads the feed from the subscriber's
+ * cursor and blocks while it is up to date, so a slow client only delays itself. Events are
+ * named {@code contact-change} and carry the feed event id, which clients send back as
+ * {@code Last-Event-ID} to resume. A subscriber that falls out of the feed gets a {@code reset}
+ * event and is disconnected. The number of subscribers is capped by
+ * {@code contacts.feed.max-subscribers}.
+ */
+@Component
+public class ContactFeedStreamer {
+    private static final Logger logger = LoggerFactory.getLogger(ContactFeedStreamer.class);
+
+    private static final int BATCH_SIZE = 256;
+
+    private final ContactChangeFeed feed;
+    private final Duration heartbeatInterval;
+    private final Duration streamTimeout;
+    private final ThreadPoolExecutor senders;
+
+    public ContactFeedStreamer(ContactChangeFeed feed,
+                               @Value("${contacts.feed.max-subscribers:256}") int maxSubscribers,
+                               @Value("${contacts.feed.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+                               @Value("${contacts.feed.stream-timeout:PT30M}") Duration streamTimeout) {
+        this.feed = feed;
+        this.heartbeatInterval = heartbeatInterval;
+        this.streamTimeout = streamTimeout;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(0, maxSubscribers, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), task -> {
+            Thread thread = new Thread(task, "contact-feed-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Open a stream of the changes following sequence {@code after}.
+     *
+     * @throws ContactFeedGapException    if those changes are no longer retained
+     * @throws RejectedExecutionException if the subscriber limit is reached
+     */
+    public SseEmitter subscribe(long after) {
+        // Fail the request itself rather than the stream when the client cannot resume
+        feed.requireRetained(after);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Subscription subscription = new Subscription(emitter, after);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        senders.execute(subscription);
+        logger.info("Change feed subscriber connected after sequence {} ({} active)", after, senders.getActiveCount());
+        return emitter;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private final class Subscription implements Runnable {
+        private final SseEmitter emitter;
+        private long cursor;
+        private volatile boolean closed;
+
+        private Subscription(SseEmitter emitter, long after) {
+            this.emitter = emitter;
+            this.cursor = after;
+        }
+
+        private void close() {
+            closed = true;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+                    List<ContactChangeEvent> events = feed.read(cursor, BATCH_SIZE);
+                    if (events.isEmpty()) {
+                        if (!feed.awaitAfter(cursor, heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS)) {
+                            // Keeps proxies from closing the idle connection and detects departed clients
+                            emitter.send(SseEmitter.event().comment("heartbeat"));
+                        }
+                        continue;
+                    }
+                    for (ContactChangeEvent event : events) {
+                        emitter.send(SseEmitter.event()
+                                .id(feed.eventId(event))
+                                .name("contact-change")
+                                .data(event, MediaType.APPLICATION_JSON));
+                        cursor = event.getSequence();
+                    }
+                }
+            } catch (ContactFeedGapException e) {
+                logger.warn("Change feed subscriber fell behind: {}", e.getMessage());
+                sendReset(e);
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter was already completed
+                logger.debug("Change feed subscriber disconnected at sequence {}", cursor);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                emitter.complete();
+            }
+        }
+
+        private void sendReset(ContactFeedGapException gap) {
+            try {
+                emitter.send(SseEmitter.event().name("reset").data(gap.getMessage()));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                logger.debug("Could not send reset to change feed subscriber", e);
+            }
+        }
+    }
+}
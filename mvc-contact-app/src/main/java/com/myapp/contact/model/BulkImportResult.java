@@ -0,0 +1,20 @@
+package com.myapp.contact.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Summary and per-row results of a bulk contact import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResult {
+    private long created;
+    private long updated;
+    private long rejected;
+    private List<BulkRowResult> results;
+}
@@ -0,0 +1,30 @@
+package com.myapp.contact.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single row of a bulk contact import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRowResult {
+
+    public enum Status {
+        CREATED, UPDATED, REJECTED,
+        /**
+         * A contact handed over between cluster nodes that its new owner already held at the
+         * same or a newer version.
+         */
+        SKIPPED
+    }
+
+    private long row;
+    private Long id;
+    private Status status;
+    private String error;
+}
@@ -0,0 +1,26 @@
+package com.myapp.contact.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Membership and rebalancing state of one node of a contacts cluster.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClusterStatus {
+    private String self;
+    private List<String> nodes;
+    private long localContacts;
+    private boolean rebalancing;
+    private long movedContacts;
+    private Instant lastRebalance;
+    private String lastRebalanceError;
+}
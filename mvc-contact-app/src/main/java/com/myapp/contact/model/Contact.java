@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 //@Entity
 @Data
 @NoArgsConstructor
@@ -25,4 +27,16 @@ public class Contact {
     private String phoneNumber;
 
     private String email;
+
+    /**
+     * Raised by the service on every change, from a clock shared by all contacts, so a contact
+     * never repeats a version even after being removed and created again; clients send it back
+     * in {@code If-Match} to make updates conditional.
+     */
+    private Long version;
+
+    /**
+     * Time of the last change, set by the service.
+     */
+    private Instant lastModified;
 }
@@ -0,0 +1,29 @@
+package com.myapp.contact.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One entry of the contact change feed. Sequence numbers increase by one per change within a
+ * run of the service; {@code contact} is the state after the change and is absent for deletions.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ContactChangeEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private long sequence;
+    private Type type;
+    private long contactId;
+    private Contact contact;
+    private Instant timestamp;
+}
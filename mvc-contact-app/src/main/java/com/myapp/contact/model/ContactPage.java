@@ -0,0 +1,19 @@
+package com.myapp.contact.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of contacts in id order. {@code nextCursor} is passed back as {@code after}
+ * to fetch the following page and is null once the last page has been returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactPage {
+    private List<Contact> contacts;
+    private Long nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.myapp.contact.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A contact matched by full-text search, with its similarity to the query between 0 and 1.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactSearchHit {
+    private Contact contact;
+    private double score;
+}
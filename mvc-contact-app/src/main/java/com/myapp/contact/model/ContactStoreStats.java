@@ -0,0 +1,20 @@
+package com.myapp.contact.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Memory footprint of the contact store. Heap bytes are an estimate of the memory retained
+ * by the store's own structures; off-heap bytes are exact.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactStoreStats {
+    private String storeType;
+    private long contacts;
+    private long estimatedHeapBytes;
+    private long offHeapCapacityBytes;
+    private long offHeapUsedBytes;
+}
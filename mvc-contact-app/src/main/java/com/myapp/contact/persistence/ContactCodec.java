@@ -0,0 +1,108 @@
+package com.myapp.contact.persistence;
+
+import com.myapp.contact.model.Contact;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Compact binary encoding of a {@link Contact}: the id, version and last-modified epoch millis
+ * followed by each string field as a length-prefixed UTF-8 value, with a length of -1 for null.
+ */
+public final class ContactCodec {
+
+    private ContactCodec() {
+    }
+
+    public static byte[] encode(Contact contact) {
+        byte[] name = bytes(contact.getName());
+        byte[] phoneNumber = bytes(contact.getPhoneNumber());
+        byte[] email = bytes(contact.getEmail());
+        ByteBuffer buffer = ByteBuffer.allocate(3 * Long.BYTES + 3 * Integer.BYTES
+                + length(name) + length(phoneNumber) + length(email));
+        buffer.putLong(contact.getId());
+        buffer.putLong(contact.getVersion() == null ? 0L : contact.getVersion());
+        buffer.putLong(contact.getLastModified() == null ? 0L : contact.getLastModified().toEpochMilli());
+        put(buffer, name);
+        put(buffer, phoneNumber);
+        put(buffer, email);
+        return buffer.array();
+    }
+
+    /**
+     * The length of {@link #encode(Contact)}'s result, without encoding.
+     */
+    public static int encodedLength(Contact contact) {
+        return 3 * Long.BYTES + 3 * Integer.BYTES + utf8Length(contact.getName())
+                + utf8Length(contact.getPhoneNumber()) + utf8Length(contact.getEmail());
+    }
+
+    public static Contact decode(ByteBuffer buffer) {
+        Contact contact = new Contact();
+        contact.setId(buffer.getLong());
+        contact.setVersion(buffer.getLong());
+        long lastModified = buffer.getLong();
+        contact.setLastModified(lastModified == 0L ? null : Instant.ofEpochMilli(lastModified));
+        contact.setName(getString(buffer));
+        contact.setPhoneNumber(getString(buffer));
+        contact.setEmail(getString(buffer));
+        return contact;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length() && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                // String.getBytes encodes an unpaired surrogate as '?'
+                length += Character.isSurrogate(c) ? 1 : 3;
+            }
+        }
+        return length;
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value;
+        if (buffer.hasArray()) {
+            value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,90 @@
+package com.myapp.contact.persistence;
+
+import com.myapp.contact.model.Contact;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Durable record of contact mutations.
+ * <p>
+ * {@code ContactService} appends every change from inside the per-id atomic section of its map,
+ * so the journal sees the changes to one contact in the order they were applied, and waits
+ * on the returned future before acknowledging the change.
+ */
+public interface ContactJournal extends AutoCloseable {
+
+    /**
+     * Restore the durable state into {@code state} and start accepting appends.
+     *
+     * @param state access to the in-memory contacts, used for replay and for snapshots
+     */
+    void open(State state);
+
+    /**
+     * Record that the contact was stored.
+     *
+     * @return a future completed once the record is durable
+     */
+    CompletableFuture<Void> logPut(Contact contact);
+
+    /**
+     * Record that the contact with the given id was removed.
+     *
+     * @return a future completed once the record is durable
+     */
+    CompletableFuture<Void> logRemove(long id);
+
+    @Override
+    void close();
+
+    /**
+     * A journal that keeps nothing; contacts live only in memory.
+     */
+    static ContactJournal none() {
+        return NoopContactJournal.INSTANCE;
+    }
+
+    /**
+     * The in-memory contact state a journal restores into and snapshots from.
+     */
+    interface State {
+
+        /**
+         * Store a replayed contact without journaling it again.
+         */
+        void restore(Contact contact);
+
+        /**
+         * Remove a contact whose removal was replayed, without journaling it again.
+         */
+        void restoreRemoval(long id);
+
+        /**
+         * Raise the highest id ever assigned to at least {@code id}, so ids of contacts that
+         * were removed before the snapshot are not handed out again.
+         */
+        void restoreHighestId(long id);
+
+        /**
+         * The highest id assigned so far, including ids of contacts removed since.
+         */
+        long highestId();
+
+        /**
+         * Raise the highest version ever assigned to at least {@code version}, so a contact
+         * removed before the snapshot and created again never repeats one of its old versions.
+         */
+        void restoreHighestVersion(long version);
+
+        /**
+         * The highest version assigned so far, including versions of contacts removed since.
+         */
+        long highestVersion();
+
+        /**
+         * Visit every current contact.
+         */
+        void forEach(Consumer<Contact> visitor);
+    }
+}
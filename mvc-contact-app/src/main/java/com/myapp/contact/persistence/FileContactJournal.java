@@ -0,0 +1,434 @@
+package com.myapp.contact.persistence;
+
+import com.myapp.contact.model.Contact;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * File-backed {@link ContactJournal}: a memory-mapped write-ahead log plus periodic snapshots.
+ * <p>
+ * Appends are queued and written by a single writer thread, which drains everything queued
+ * since its last write and forces it to disk once, so concurrent writers share one sync
+ * (group commit). The log is split into fixed-size segment files
+ * ({@code wal-<n>.log}); each record is {@code [length][crc32][op][payload]} and a zero length
+ * marks the unused tail of a segment.
+ * <p>
+ * A snapshot first rolls the log to a new segment, then writes every contact to
+ * {@code snapshot-<n>.bin}, where {@code n} is the segment that was active before the roll,
+ * after the highest id and version assigned so far, so ids and versions of removed contacts
+ * are never reused.
+ * The snapshot is taken while writes continue, so it is replayed together with segment
+ * {@code n} onwards: replaying full-record puts and removals in order on top of it always
+ * converges to the latest state. Older segments and snapshots are then deleted.
+ * <p>
+ * On startup the latest snapshot is loaded and the remaining segments are replayed; a torn
+ * record at the end of a segment (crash mid-write) fails its checksum and ends that segment.
+ * New appends always go to a fresh segment.
+ */
+public class FileContactJournal implements ContactJournal {
+    private static final Logger logger = LoggerFactory.getLogger(FileContactJournal.class);
+
+    private static final byte OP_PUT = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte OP_ROLL = 3;
+    private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int SNAPSHOT_MAGIC = 0x434E5453; // "CNTS"
+    private static final int SNAPSHOT_FORMAT = 5;
+    // Same layout without the highest version
+    private static final int SNAPSHOT_FORMAT_WITHOUT_HIGHEST_VERSION = 4;
+    // Same layout without the highest id or version
+    private static final int SNAPSHOT_FORMAT_WITHOUT_HIGHEST_ID = 3;
+    private static final int MAX_GROUP_SIZE = 4096;
+    private static final int QUEUE_CAPACITY = 65536;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+    private final Duration snapshotInterval;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final CRC32 crc = new CRC32();
+
+    private volatile boolean running;
+    private State state;
+    private Thread writer;
+    private ScheduledExecutorService snapshotScheduler;
+
+    // Owned by the writer thread once the journal is open
+    private long segmentNumber;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    /**
+     * @param directory        the directory holding log segments and snapshots
+     * @param segmentSize      the size of each memory-mapped log segment in bytes
+     * @param fsync            whether to force each group of records to disk before acknowledging it;
+     *                         without it records survive a process crash but not an OS crash
+     * @param snapshotInterval the time between snapshots
+     */
+    public FileContactJournal(Path directory, int segmentSize, boolean fsync, Duration snapshotInterval) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    @Override
+    public synchronized void open(State state) {
+        if (running) {
+            throw new IllegalStateException("Contact journal is already open");
+        }
+        this.state = state;
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            long replayFrom = 0;
+            long snapshotContacts = 0;
+            Path snapshot = latest(listFiles("snapshot-", ".bin"));
+            if (snapshot != null) {
+                replayFrom = fileNumber(snapshot);
+                snapshotContacts = loadSnapshot(snapshot, state);
+            }
+            long lastSegment = replayFrom;
+            long replayed = 0;
+            for (Path segment : listFiles("wal-", ".log")) {
+                long number = fileNumber(segment);
+                lastSegment = Math.max(lastSegment, number);
+                if (number >= replayFrom) {
+                    replayed += replaySegment(segment, state);
+                }
+            }
+            openSegment(lastSegment + 1);
+            logger.info("Contact journal recovered {} contacts from snapshot and {} log records in {} ms",
+                    snapshotContacts, replayed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to recover contact journal from " + directory, e);
+        }
+
+        running = true;
+        writer = new Thread(this::writeLoop, "contact-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "contact-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = snapshotInterval.toMillis();
+        snapshotScheduler.scheduleWithFixedDelay(this::snapshotQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public CompletableFuture<Void> logPut(Contact contact) {
+        return submit(new Entry(OP_PUT, ContactCodec.encode(contact)));
+    }
+
+    @Override
+    public CompletableFuture<Void> logRemove(long id) {
+        return submit(new Entry(OP_REMOVE, ByteBuffer.allocate(Long.BYTES).putLong(id).array()));
+    }
+
+    /**
+     * Write a snapshot of the current state and delete the log segments it supersedes.
+     */
+    public synchronized void snapshot() {
+        if (!running) {
+            return;
+        }
+        long started = System.nanoTime();
+        Entry roll = new Entry(OP_ROLL, null);
+        submit(roll).join();
+        long replayFrom = roll.segment;
+
+        Path target = directory.resolve(fileName("snapshot-", replayFrom, ".bin"));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        long[] count = new long[1];
+        try {
+            try (FileChannel snapshotChannel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        Channels.newOutputStream(snapshotChannel), 256 * 1024));
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_FORMAT);
+                // Read after the roll: any id removed before it is at most this one
+                out.writeLong(state.highestId());
+                out.writeLong(state.highestVersion());
+                state.forEach(contact -> {
+                    byte[] encoded = ContactCodec.encode(contact);
+                    try {
+                        out.writeInt(encoded.length);
+                        out.write(encoded);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    count[0]++;
+                });
+                out.writeInt(-1);
+                out.flush();
+                snapshotChannel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            for (Path snapshot : listFiles("snapshot-", ".bin")) {
+                if (fileNumber(snapshot) < replayFrom) {
+                    Files.deleteIfExists(snapshot);
+                }
+            }
+            for (Path segment : listFiles("wal-", ".log")) {
+                if (fileNumber(segment) < replayFrom) {
+                    Files.deleteIfExists(segment);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write contact snapshot " + target, e);
+        }
+        logger.info("Wrote contact snapshot {} with {} contacts in {} ms", target.getFileName(), count[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        snapshotScheduler.shutdown();
+        // A final snapshot keeps the next startup replay short
+        snapshotQuietly();
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            closeSegment();
+        } catch (IOException e) {
+            logger.warn("Failed to close contact journal segment", e);
+        }
+        logger.info("Contact journal closed");
+    }
+
+    private CompletableFuture<Void> submit(Entry entry) {
+        if (!running) {
+            throw new IllegalStateException("Contact journal is not open");
+        }
+        if (entry.payload != null && RECORD_HEADER_SIZE + 1 + entry.payload.length > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + entry.payload.length + " bytes exceeds the segment size");
+        }
+        try {
+            queue.put(entry);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while appending to contact journal", e);
+        }
+        return entry.done;
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            logger.error("Contact snapshot failed", e);
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> group = new ArrayList<>(MAX_GROUP_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, MAX_GROUP_SIZE - 1);
+                for (Entry entry : group) {
+                    write(entry);
+                }
+                if (fsync) {
+                    buffer.force();
+                }
+                for (Entry entry : group) {
+                    entry.done.complete(null);
+                }
+            } catch (InterruptedException e) {
+                // Keep draining until close() has stopped the journal
+            } catch (IOException | RuntimeException e) {
+                logger.error("Failed to write contact journal records", e);
+                for (Entry entry : group) {
+                    entry.done.completeExceptionally(e);
+                }
+            }
+            group.clear();
+        }
+    }
+
+    private void write(Entry entry) throws IOException {
+        entry.segment = segmentNumber;
+        if (entry.op == OP_ROLL) {
+            rollSegment();
+            return;
+        }
+        int length = 1 + entry.payload.length;
+        if (buffer.remaining() < RECORD_HEADER_SIZE + length) {
+            rollSegment();
+            entry.segment = segmentNumber;
+        }
+        crc.reset();
+        crc.update(entry.op);
+        crc.update(entry.payload);
+        buffer.putInt(length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(entry.op);
+        buffer.put(entry.payload);
+    }
+
+    private void rollSegment() throws IOException {
+        if (fsync) {
+            buffer.force();
+        }
+        openSegment(segmentNumber + 1);
+    }
+
+    private void openSegment(long number) throws IOException {
+        closeSegment();
+        Path path = directory.resolve(fileName("wal-", number, ".log"));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        segmentNumber = number;
+    }
+
+    private void closeSegment() throws IOException {
+        if (channel != null) {
+            if (fsync) {
+                buffer.force();
+            }
+            channel.close();
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    private long loadSnapshot(Path snapshot, State state) throws IOException {
+        long count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot), 256 * 1024))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Unrecognized contact snapshot format: " + snapshot);
+            }
+            int format = in.readInt();
+            if (format == SNAPSHOT_FORMAT) {
+                state.restoreHighestId(in.readLong());
+                state.restoreHighestVersion(in.readLong());
+            } else if (format == SNAPSHOT_FORMAT_WITHOUT_HIGHEST_VERSION) {
+                state.restoreHighestId(in.readLong());
+            } else if (format != SNAPSHOT_FORMAT_WITHOUT_HIGHEST_ID) {
+                throw new IOException("Unrecognized contact snapshot format: " + snapshot);
+            }
+            byte[] record = new byte[256];
+            int length;
+            while ((length = in.readInt()) >= 0) {
+                if (record.length < length) {
+                    record = new byte[Math.max(length, record.length * 2)];
+                }
+                in.readFully(record, 0, length);
+                state.restore(ContactCodec.decode(ByteBuffer.wrap(record, 0, length)));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long replaySegment(Path segment, State state) throws IOException {
+        long count = 0;
+        try (FileChannel segmentChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            MappedByteBuffer log = segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, segmentChannel.size());
+            CRC32 checksum = new CRC32();
+            while (log.remaining() >= RECORD_HEADER_SIZE) {
+                int length = log.getInt();
+                if (length <= 0 || length > log.remaining() - Integer.BYTES) {
+                    break;
+                }
+                int expectedCrc = log.getInt();
+                ByteBuffer record = log.slice(log.position(), length);
+                checksum.reset();
+                checksum.update(record.duplicate());
+                if ((int) checksum.getValue() != expectedCrc) {
+                    logger.warn("Ignoring torn record at offset {} of {}", log.position() - RECORD_HEADER_SIZE, segment);
+                    break;
+                }
+                log.position(log.position() + length);
+                byte op = record.get();
+                if (op == OP_PUT) {
+                    state.restore(ContactCodec.decode(record));
+                } else if (op == OP_REMOVE) {
+                    state.restoreRemoval(record.getLong());
+                }
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private List<Path> listFiles(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static Path latest(List<Path> sortedFiles) {
+        return sortedFiles.isEmpty() ? null : sortedFiles.get(sortedFiles.size() - 1);
+    }
+
+    private static String fileName(String prefix, long number, String suffix) {
+        // Zero padding keeps lexical and numeric order the same
+        return String.format("%s%020d%s", prefix, number, suffix);
+    }
+
+    private static long fileNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.lastIndexOf('.')));
+    }
+
+    private static final class Entry {
+        private final byte op;
+        private final byte[] payload;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        // Segment the entry was written to; for a roll, the segment that was closed
+        private long segment;
+
+        private Entry(byte op, byte[] payload) {
+            this.op = op;
+            this.payload = payload;
+        }
+    }
+}
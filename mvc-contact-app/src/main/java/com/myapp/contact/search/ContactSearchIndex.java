@@ -0,0 +1,201 @@
+package com.myapp.contact.search;
+
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.service.ContactChangeListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory inverted index from character trigrams of contact names and emails to contact ids.
+ * <p>
+ * Text is lower-cased and split into words on anything that is not a letter or digit; each
+ * word is padded with a space on both sides and cut into overlapping trigrams, so
+ * {@code "john"} yields {@code " jo", "joh", "ohn", "hn "}. A trigram is packed into a long
+ * and maps to a sorted array of contact ids. Because misspellings keep most trigrams of the
+ * intended word, matching on trigram overlap tolerates typos.
+ * <p>
+ * The index is kept up to date incrementally as a {@link ContactChangeListener}: a change only
+ * touches the posting lists of the trigrams that differ between the old and new contact.
+ */
+@Component
+public class ContactSearchIndex implements ContactChangeListener {
+
+    private final Map<Long, Postings> postings = new ConcurrentHashMap<>();
+
+    @Override
+    public void onContactChanged(Contact previous, Contact current) {
+        long[] removed = previous == null ? new long[0] : grams(previous.getName(), previous.getEmail());
+        long[] added = current == null ? new long[0] : grams(current.getName(), current.getEmail());
+        long id = previous != null ? previous.getId() : current.getId();
+        // Both arrays are sorted, so one merge pass finds the trigrams that actually changed
+        int r = 0;
+        int a = 0;
+        while (r < removed.length || a < added.length) {
+            if (a == added.length || (r < removed.length && removed[r] < added[a])) {
+                remove(removed[r++], id);
+            } else if (r == removed.length || added[a] < removed[r]) {
+                add(added[a++], id);
+            } else {
+                r++;
+                a++;
+            }
+        }
+    }
+
+    /**
+     * Count, for every contact sharing at least {@code minMatches} trigrams with the query,
+     * how many of the query trigrams it contains.
+     * <p>
+     * Posting lists are visited from rarest to most common. A contact with at least
+     * {@code minMatches} of the {@code n} query trigrams must appear in one of the
+     * {@code n - minMatches + 1} rarest lists, so only those lists generate candidates; the
+     * remaining, typically very long, lists are only probed for the candidates already found.
+     *
+     * @param queryGrams the distinct trigrams of the query, from {@link #grams(String...)}
+     * @param minMatches the minimum number of shared trigrams for a contact to be counted
+     * @return the match count per candidate id
+     */
+    LongIntCounter match(long[] queryGrams, int minMatches) {
+        Postings[] lists = new Postings[queryGrams.length];
+        int found = 0;
+        for (long gram : queryGrams) {
+            Postings list = postings.get(gram);
+            if (list != null) {
+                lists[found++] = list;
+            }
+        }
+        Postings[] present = Arrays.copyOf(lists, found);
+        Arrays.sort(present, (left, right) -> Integer.compare(left.size(), right.size()));
+
+        int candidateLists = Math.max(0, present.length - minMatches + 1);
+        LongIntCounter counts = new LongIntCounter(256);
+        for (int i = 0; i < present.length; i++) {
+            if (i < candidateLists) {
+                present[i].countAll(counts);
+            } else {
+                present[i].countPresent(counts);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * The sorted, distinct trigrams of the given texts.
+     */
+    static long[] grams(String... texts) {
+        long[] grams = new long[16];
+        int size = 0;
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            String normalized = text.toLowerCase(Locale.ROOT);
+            int start = -1;
+            for (int i = 0; i <= normalized.length(); i++) {
+                boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+                if (wordChar && start < 0) {
+                    start = i;
+                } else if (!wordChar && start >= 0) {
+                    int needed = size + (i - start) + 2;
+                    if (needed > grams.length) {
+                        grams = Arrays.copyOf(grams, Math.max(needed, grams.length * 2));
+                    }
+                    size = wordGrams(normalized, start, i, grams, size);
+                    start = -1;
+                }
+            }
+        }
+        Arrays.sort(grams, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || grams[distinct - 1] != grams[i]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static int wordGrams(String text, int start, int end, long[] grams, int size) {
+        // Pad the word with a space on each side so prefixes and suffixes get their own trigrams
+        int length = end - start + 2;
+        for (int i = 0; i + 2 < length; i++) {
+            grams[size++] = ((long) paddedChar(text, start, end, i) << 32)
+                    | ((long) paddedChar(text, start, end, i + 1) << 16)
+                    | paddedChar(text, start, end, i + 2);
+        }
+        return size;
+    }
+
+    private static char paddedChar(String text, int start, int end, int index) {
+        return index == 0 || index == end - start + 1 ? ' ' : text.charAt(start + index - 1);
+    }
+
+    private void add(long gram, long id) {
+        postings.compute(gram, (key, list) -> {
+            Postings target = list != null ? list : new Postings();
+            target.add(id);
+            return target;
+        });
+    }
+
+    private void remove(long gram, long id) {
+        postings.computeIfPresent(gram, (key, list) -> {
+            list.remove(id);
+            return list.size() == 0 ? null : list;
+        });
+    }
+
+    /**
+     * Sorted ids of the contacts containing one trigram. Writers are serialized per trigram by
+     * the map's compute; the monitor additionally guards readers against concurrent writers.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private synchronized void add(long id) {
+            // Ids are mostly assigned in increasing order, so appending is the common case
+            int index = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return;
+            }
+            int insertAt = -(index + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        private synchronized void remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            if (size > 16 && size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, ids.length / 2);
+            }
+        }
+
+        private synchronized void countAll(LongIntCounter counts) {
+            for (int i = 0; i < size; i++) {
+                counts.increment(ids[i]);
+            }
+        }
+
+        private synchronized void countPresent(LongIntCounter counts) {
+            counts.incrementPresent(ids, size);
+        }
+    }
+}
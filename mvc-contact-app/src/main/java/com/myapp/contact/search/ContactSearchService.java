@@ -0,0 +1,109 @@
+package com.myapp.contact.search;
+
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.model.ContactSearchHit;
+import com.myapp.contact.service.ContactService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Typo-tolerant search over contact names and emails.
+ * <p>
+ * Candidates come from the trigram {@link ContactSearchIndex}; the best of them by shared
+ * trigram count are then re-scored against the live contacts, which also drops contacts changed
+ * or removed since the index was read.
+ */
+@Service
+public class ContactSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(ContactSearchService.class);
+
+    // Candidates re-scored per requested result
+    private static final int RESCORE_FACTOR = 4;
+
+    private final ContactSearchIndex searchIndex;
+    private final ContactService contactService;
+    private final double minSimilarity;
+
+    public ContactSearchService(ContactSearchIndex searchIndex, ContactService contactService,
+                                @Value("${contacts.search.min-similarity:0.3}") double minSimilarity) {
+        this.searchIndex = searchIndex;
+        this.contactService = contactService;
+        this.minSimilarity = minSimilarity;
+    }
+
+    /**
+     * Find the contacts whose name or email best match the query.
+     *
+     * @param query the search text
+     * @param limit the maximum number of hits
+     * @return the hits, best first
+     */
+    public List<ContactSearchHit> search(String query, int limit) {
+        long started = System.nanoTime();
+        long[] queryGrams = ContactSearchIndex.grams(query);
+        if (queryGrams.length == 0) {
+            return List.of();
+        }
+        int minMatches = Math.max(1, (int) Math.ceil(queryGrams.length * minSimilarity));
+        LongIntCounter counts = searchIndex.match(queryGrams, minMatches);
+
+        // Keep the candidates sharing the most trigrams: a min-heap of (count, id) pairs
+        int candidates = limit * RESCORE_FACTOR;
+        PriorityQueue<long[]> best = new PriorityQueue<>(candidates + 1, Comparator.comparingLong(pair -> pair[0]));
+        counts.forEach((id, count) -> {
+            if (count >= minMatches && (best.size() < candidates || count > best.peek()[0])) {
+                best.add(new long[]{count, id});
+                if (best.size() > candidates) {
+                    best.poll();
+                }
+            }
+        });
+        List<Long> ids = new ArrayList<>(best.size());
+        for (long[] pair : best) {
+            ids.add(pair[1]);
+        }
+
+        List<ContactSearchHit> hits = new ArrayList<>(ids.size());
+        for (Contact contact : contactService.findByIds(ids)) {
+            double score = similarity(queryGrams, ContactSearchIndex.grams(contact.getName(), contact.getEmail()));
+            if (score > 0) {
+                hits.add(new ContactSearchHit(contact, score));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(ContactSearchHit::getScore).reversed()
+                .thenComparing(hit -> hit.getContact().getId()));
+        List<ContactSearchHit> top = hits.size() > limit ? hits.subList(0, limit) : hits;
+        logger.debug("Search for '{}' matched {} candidates in {} us", query, counts.size(),
+                (System.nanoTime() - started) / 1000);
+        return top;
+    }
+
+    /**
+     * Similarity of a contact to the query: mostly the share of query trigrams the contact
+     * contains, with the Jaccard index of both trigram sets breaking ties in favour of
+     * contacts with less unrelated text.
+     */
+    private static double similarity(long[] queryGrams, long[] contactGrams) {
+        int shared = 0;
+        for (long gram : queryGrams) {
+            if (Arrays.binarySearch(contactGrams, gram) >= 0) {
+                shared++;
+            }
+        }
+        if (shared == 0) {
+            return 0;
+        }
+        double coverage = (double) shared / queryGrams.length;
+        double jaccard = (double) shared / (queryGrams.length + contactGrams.length - shared);
+        // Coverage dominates so a short query still ranks well against a long name and email
+        return 0.8 * coverage + 0.2 * jaccard;
+    }
+}
@@ -0,0 +1,93 @@
+package com.myapp.contact.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from positive long keys to int counts, used to tally query matches per
+ * contact id without boxing. Not thread-safe; each query uses its own instance.
+ */
+final class LongIntCounter {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+    private int resizeAt;
+
+    LongIntCounter(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    void increment(long key) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != 0L) {
+            if (keys[slot] == key) {
+                counts[slot]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        counts[slot] = 1;
+        if (++size >= resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * Increment the count of every key already present that {@code postings} contains.
+     */
+    void incrementPresent(long[] postings, int postingsSize) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0L && Arrays.binarySearch(postings, 0, postingsSize, keys[slot]) >= 0) {
+                counts[slot]++;
+            }
+        }
+    }
+
+    interface Visitor {
+        void visit(long key, int count);
+    }
+
+    void forEach(Visitor visitor) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0L) {
+                visitor.visit(keys[slot], counts[slot]);
+            }
+        }
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0L) {
+                int slot = slot(oldKeys[i], mask);
+                while (keys[slot] != 0L) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int slot(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,37 @@
+package com.myapp.contact.service;
+
+import com.myapp.contact.model.Contact;
+
+/**
+ * Callback for components that derive state from contacts, such as caches and search indexes.
+ * <p>
+ * {@link ContactService} calls every listener bean on each change, including the changes it
+ * replays from its journal on startup, which arrive through {@link #onContactRestored}. Calls are made inside the per-id atomic section of the
+ * change, so the calls for one contact arrive in the order the changes were applied;
+ * implementations must be fast and must not call back into the service.
+ */
+public interface ContactChangeListener {
+
+    /**
+     * @param previous the contact before the change, or null if it was created
+     * @param current  the contact after the change, or null if it was removed
+     */
+    void onContactChanged(Contact previous, Contact current);
+
+    /**
+     * Called instead of {@link #onContactChanged} for changes replayed from the journal on
+     * startup. Listeners that report changes rather than derive state can ignore these.
+     */
+    default void onContactRestored(Contact previous, Contact current) {
+        onContactChanged(previous, current);
+    }
+
+    /**
+     * Called instead of {@link #onContactChanged} when the contact leaves this node because
+     * another node now owns it. The contact still exists, so listeners that report changes
+     * should ignore this rather than report a removal.
+     */
+    default void onContactHandedOver(Contact contact) {
+        onContactChanged(contact, null);
+    }
+}
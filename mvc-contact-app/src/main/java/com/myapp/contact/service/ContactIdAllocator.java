@@ -0,0 +1,18 @@
+package com.myapp.contact.service;
+
+/**
+ * Chooses the ids {@link ContactService} assigns to new contacts. By default ids are
+ * sequential; a bean of this type replaces that, for instance so that nodes of a cluster
+ * never hand out the same id.
+ */
+@FunctionalInterface
+public interface ContactIdAllocator {
+
+    ContactIdAllocator SEQUENTIAL = id -> id + 1;
+
+    /**
+     * @param id the highest id assigned or stored so far
+     * @return the next id to assign, greater than {@code id}
+     */
+    long nextIdAfter(long id);
+}
@@ -0,0 +1,202 @@
+package com.myapp.contact.service;
+
+import com.myapp.contact.cluster.ContactCluster;
+import com.myapp.contact.cluster.ContactClusterClient;
+import com.myapp.contact.model.BulkRowResult;
+import com.myapp.contact.model.Contact;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+/**
+ * Service for importing contacts in bulk.
+ * <p>
+ * Rows are validated in parallel on the contact task executor, which runs on virtual threads
+ * when {@code contacts.threads.mode=virtual}, and the valid ones are handed to
+ * {@link ContactService#upsertAll(List)} as a single batch, so ids are reserved once per batch
+ * instead of once per contact.
+ * <p>
+ * In a contacts cluster, rows whose id is owned by another node are sent to that node as one
+ * bulk request per node, concurrently with the local part of the batch.
+ */
+@Service
+public class ContactImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ContactImportService.class);
+
+    /**
+     * Number of rows applied to the store at once; callers streaming large imports should
+     * chunk their input to this size.
+     */
+    public static final int BATCH_SIZE = 5000;
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final ContactService contactService;
+    private final Validator validator;
+    private final ExecutorService taskExecutor;
+    private final ObjectProvider<ContactCluster> cluster;
+    private final ObjectProvider<ContactClusterClient> clusterClient;
+
+    public ContactImportService(ContactService contactService, Validator validator,
+                                @Qualifier("contactTaskExecutor") ExecutorService taskExecutor,
+                                ObjectProvider<ContactCluster> cluster, ObjectProvider<ContactClusterClient> clusterClient) {
+        this.contactService = contactService;
+        this.validator = validator;
+        this.taskExecutor = taskExecutor;
+        this.cluster = cluster;
+        this.clusterClient = clusterClient;
+    }
+
+    /**
+     * Validate and upsert a batch of contacts.
+     *
+     * @param contacts the contacts to import
+     * @param firstRow the row number of the first contact, used in the results
+     * @return one result per contact, in input order
+     */
+    public List<BulkRowResult> importBatch(List<Contact> contacts, long firstRow) {
+        return importBatch(contacts, firstRow, true);
+    }
+
+    /**
+     * Validate and upsert a batch of contacts, sending rows owned by other cluster nodes there.
+     *
+     * @param contacts      the contacts to import
+     * @param firstRow      the row number of the first contact, used in the results
+     * @param routeToOwners false to store every row locally, for batches another node has
+     *                      already routed here
+     * @return one result per contact, in input order
+     */
+    public List<BulkRowResult> importBatch(List<Contact> contacts, long firstRow, boolean routeToOwners) {
+        ContactCluster contactCluster = routeToOwners ? cluster.getIfAvailable() : null;
+        if (contactCluster == null) {
+            return importLocal(contacts, firstRow);
+        }
+        List<Integer> localRows = new ArrayList<>(contacts.size());
+        Map<String, List<Integer>> remoteRows = new LinkedHashMap<>();
+        for (int i = 0; i < contacts.size(); i++) {
+            Contact contact = contacts.get(i);
+            if (contact != null && contact.getId() != null && contact.getId() > 0 && !contactCluster.isLocal(contact.getId())) {
+                remoteRows.computeIfAbsent(contactCluster.ownerOf(contact.getId()), node -> new ArrayList<>()).add(i);
+            } else {
+                localRows.add(i);
+            }
+        }
+        if (remoteRows.isEmpty()) {
+            return importLocal(contacts, firstRow);
+        }
+
+        Map<String, CompletableFuture<List<BulkRowResult>>> forwarded = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Integer>> entry : remoteRows.entrySet()) {
+            List<Contact> rows = entry.getValue().stream().map(contacts::get).toList();
+            forwarded.put(entry.getKey(), CompletableFuture.supplyAsync(
+                    () -> clusterClient.getObject().importContacts(entry.getKey(), rows), taskExecutor));
+        }
+        BulkRowResult[] results = new BulkRowResult[contacts.size()];
+        List<BulkRowResult> localResults = importLocal(localRows.stream().map(contacts::get).toList(), 0);
+        for (int i = 0; i < localRows.size(); i++) {
+            results[localRows.get(i)] = localResults.get(i);
+        }
+        for (Map.Entry<String, List<Integer>> entry : remoteRows.entrySet()) {
+            List<Integer> rows = entry.getValue();
+            try {
+                List<BulkRowResult> remoteResults = forwarded.get(entry.getKey()).join();
+                for (int i = 0; i < rows.size(); i++) {
+                    results[rows.get(i)] = remoteResults.get(i);
+                }
+            } catch (CompletionException e) {
+                logger.warn("Failed to import {} rows on node {}: {}", rows.size(), entry.getKey(), e.getCause().getMessage());
+                for (int row : rows) {
+                    results[row] = new BulkRowResult(0, contacts.get(row).getId(), BulkRowResult.Status.REJECTED,
+                            "Owner node " + entry.getKey() + " is unavailable");
+                }
+            }
+        }
+        for (int i = 0; i < results.length; i++) {
+            results[i].setRow(firstRow + i);
+        }
+        return Arrays.asList(results);
+    }
+
+    private List<BulkRowResult> importLocal(List<Contact> contacts, long firstRow) {
+        logger.debug("Importing batch of {} contacts starting at row {}", contacts.size(), firstRow);
+        String[] errors = validateAll(contacts);
+
+        List<Contact> valid = new ArrayList<>(contacts.size());
+        for (int i = 0; i < contacts.size(); i++) {
+            if (errors[i] == null) {
+                valid.add(contacts.get(i));
+            }
+        }
+        boolean[] created = contactService.upsertAll(valid);
+
+        List<BulkRowResult> results = new ArrayList<>(contacts.size());
+        int applied = 0;
+        for (int i = 0; i < contacts.size(); i++) {
+            long row = firstRow + i;
+            if (errors[i] != null) {
+                Long id = contacts.get(i) == null ? null : contacts.get(i).getId();
+                results.add(new BulkRowResult(row, id, BulkRowResult.Status.REJECTED, errors[i]));
+            } else {
+                BulkRowResult.Status status = created[applied++] ? BulkRowResult.Status.CREATED : BulkRowResult.Status.UPDATED;
+                results.add(new BulkRowResult(row, contacts.get(i).getId(), status, null));
+            }
+        }
+        return results;
+    }
+
+    private String[] validateAll(List<Contact> contacts) {
+        String[] errors = new String[contacts.size()];
+        if (contacts.size() < PARALLEL_THRESHOLD) {
+            for (int i = 0; i < contacts.size(); i++) {
+                errors[i] = validate(contacts.get(i));
+            }
+            return errors;
+        }
+        // Validation may block (custom validators calling out), so it runs on the task executor
+        // rather than the common fork-join pool
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < contacts.size(); from += PARALLEL_THRESHOLD) {
+            int start = from;
+            int end = Math.min(from + PARALLEL_THRESHOLD, contacts.size());
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    errors[i] = validate(contacts.get(i));
+                }
+            }, taskExecutor));
+        }
+        CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).join();
+        return errors;
+    }
+
+    private String validate(Contact contact) {
+        if (contact == null) {
+            return "Row is empty";
+        }
+        if (contact.getId() != null && contact.getId() <= 0) {
+            return "id: must be positive";
+        }
+        Set<ConstraintViolation<Contact>> violations = validator.validate(contact);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+}
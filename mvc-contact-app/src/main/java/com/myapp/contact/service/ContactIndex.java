@@ -0,0 +1,169 @@
+package com.myapp.contact.service;
+
+import com.myapp.contact.model.Contact;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Concurrent secondary indexes over contacts.
+ * <p>
+ * Ids are kept sorted for keyset pagination. Names are kept in a sorted set of (name, id)
+ * keys so prefix queries are a range scan, while email and phone number use hash indexes. Keys are normalized so lookups are
+ * case-insensitive and phone numbers match regardless of separators.
+ * <p>
+ * The index is maintained by {@link ContactService} from inside the per-id atomic
+ * section of its map, so every mutation of a contact and its index entries happens together.
+ */
+class ContactIndex {
+
+    private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+    private final NavigableSet<NameKey> byName = new ConcurrentSkipListSet<>();
+    private final Map<String, Set<Long>> byEmail = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> byPhone = new ConcurrentHashMap<>();
+
+    /**
+     * Replace the index entries of {@code previous} with those of {@code current}.
+     * Either side may be null for inserts and removals.
+     */
+    void reindex(Contact previous, Contact current) {
+        if (previous != null) {
+            remove(previous);
+        }
+        if (current != null) {
+            add(current);
+        }
+        // The id stays in the ordering across updates so concurrent page scans never skip it
+        if (previous == null && current != null) {
+            ids.add(current.getId());
+        } else if (previous != null && current == null) {
+            ids.remove(previous.getId());
+        }
+    }
+
+    /**
+     * Ids greater than {@code after} in ascending order; a live view, not a copy.
+     */
+    NavigableSet<Long> idsAfter(long after) {
+        return ids.tailSet(after, false);
+    }
+
+    /**
+     * Ids of contacts whose normalized name starts with the given prefix, in name order.
+     */
+    List<Long> findIdsByNamePrefix(String prefix, int limit) {
+        String normalized = normalizeName(prefix);
+        if (normalized == null) {
+            return Collections.emptyList();
+        }
+        List<Long> matches = new ArrayList<>(Math.min(limit, 64));
+        for (NameKey key : byName.tailSet(new NameKey(normalized, Long.MIN_VALUE), true)) {
+            if (!key.name().startsWith(normalized) || matches.size() >= limit) {
+                break;
+            }
+            matches.add(key.id());
+        }
+        return matches;
+    }
+
+    Set<Long> findIdsByEmail(String email) {
+        return lookup(byEmail, normalizeEmail(email));
+    }
+
+    Set<Long> findIdsByPhoneNumber(String phoneNumber) {
+        return lookup(byPhone, normalizePhone(phoneNumber));
+    }
+
+    static String normalizeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        String trimmed = name.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeEmail(String email) {
+        return normalizeName(email);
+    }
+
+    static String normalizePhone(String phoneNumber) {
+        if (phoneNumber == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.length() == 0 ? null : digits.toString();
+    }
+
+    private void add(Contact contact) {
+        long id = contact.getId();
+        String name = normalizeName(contact.getName());
+        if (name != null) {
+            byName.add(new NameKey(name, id));
+        }
+        put(byEmail, normalizeEmail(contact.getEmail()), id);
+        put(byPhone, normalizePhone(contact.getPhoneNumber()), id);
+    }
+
+    private void remove(Contact contact) {
+        long id = contact.getId();
+        String name = normalizeName(contact.getName());
+        if (name != null) {
+            byName.remove(new NameKey(name, id));
+        }
+        delete(byEmail, normalizeEmail(contact.getEmail()), id);
+        delete(byPhone, normalizePhone(contact.getPhoneNumber()), id);
+    }
+
+    private static void put(Map<String, Set<Long>> index, String key, long id) {
+        if (key == null) {
+            return;
+        }
+        index.compute(key, (k, ids) -> {
+            Set<Long> target = ids != null ? ids : ConcurrentHashMap.newKeySet(2);
+            target.add(id);
+            return target;
+        });
+    }
+
+    private static void delete(Map<String, Set<Long>> index, String key, long id) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private static Set<Long> lookup(Map<String, Set<Long>> index, String key) {
+        if (key == null) {
+            return Collections.emptySet();
+        }
+        Set<Long> ids = index.get(key);
+        return ids == null ? Collections.emptySet() : ids;
+    }
+
+    /**
+     * Sort key of the name index; the id breaks ties between contacts sharing a name.
+     */
+    record NameKey(String name, long id) implements Comparable<NameKey> {
+        @Override
+        public int compareTo(NameKey other) {
+            int cmp = name.compareTo(other.name);
+            return cmp != 0 ? cmp : Long.compare(id, other.id);
+        }
+    }
+}
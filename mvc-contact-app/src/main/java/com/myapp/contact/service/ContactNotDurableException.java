@@ -0,0 +1,12 @@
+package com.myapp.contact.service;
+
+/**
+ * Thrown when a change was applied in memory, and is already visible to readers, but the
+ * journal failed to make it durable. The change stands until the next restart, which loses it.
+ */
+public class ContactNotDurableException extends RuntimeException {
+
+    public ContactNotDurableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
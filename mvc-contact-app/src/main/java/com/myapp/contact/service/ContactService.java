@@ -1,29 +1,138 @@
 package com.myapp.contact.service;
 
 
+import com.myapp.contact.model.BulkRowResult;
 import com.myapp.contact.model.Contact;
+import com.myapp.contact.model.ContactPage;
+import com.myapp.contact.model.ContactStoreStats;
+import com.myapp.contact.persistence.ContactJournal;
+import com.myapp.contact.store.ContactStore;
+import com.myapp.contact.store.HeapContactStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 /**
  * Service for managing contact data in memory.
+ * <p>
+ * Contacts are held by a pluggable {@link ContactStore}. Every mutation goes through
+ * {@link #mutate(Long, UnaryOperator)}, which updates the store, the index entries, the
+ * {@link ContactJournal} and every {@link ContactChangeListener} in one per-id atomic step.
+ * The journal is handed the change first, so a change it refuses is never seen by the index or
+ * the listeners. A change the journal accepts but then fails to write stays applied, and is
+ * reported with a {@link ContactNotDurableException}.
  */
 @Service
 public class ContactService {
     private static final Logger logger = LoggerFactory.getLogger(ContactService.class);
+    private static final CompletableFuture<Void> UNCHANGED = CompletableFuture.completedFuture(null);
 
-    private final Map<Long, Contact> contactMap = new ConcurrentHashMap<>();
+    private final ContactStore store;
     private final AtomicLong idGenerator = new AtomicLong();
+    private final ContactIdAllocator idAllocator;
+    private final ContactIndex index = new ContactIndex();
+    private final ContactJournal journal;
+    private final List<ContactChangeListener> listeners;
+    private final AtomicLong modificationCount = new AtomicLong();
+    // Highest version handed out to any contact, so a removed id created again continues past its old versions
+    private final AtomicLong versionClock = new AtomicLong();
+
+    /**
+     * Create a service that keeps contacts on the heap, in memory only.
+     */
+    public ContactService() {
+        this(new HeapContactStore(), ContactJournal.none(), List.of());
+    }
+
+    public ContactService(ContactStore store, ContactJournal journal, List<ContactChangeListener> listeners) {
+        this(store, journal, listeners, ContactIdAllocator.SEQUENTIAL);
+    }
+
+    public ContactService(ContactStore store, ContactJournal journal, List<ContactChangeListener> listeners,
+                          ContactIdAllocator idAllocator) {
+        this.store = store;
+        this.journal = journal;
+        this.listeners = List.copyOf(listeners);
+        this.idAllocator = idAllocator;
+    }
+
+    @Autowired
+    public ContactService(ContactStore store, ContactJournal journal, ObjectProvider<ContactChangeListener> listeners,
+                          ObjectProvider<ContactIdAllocator> idAllocator) {
+        this(store, journal, listeners.orderedStream().toList(), idAllocator.getIfAvailable(() -> ContactIdAllocator.SEQUENTIAL));
+    }
 
     @PostConstruct
     public void init() {
-        logger.info("ContactService initialized with empty contact map.");
+        journal.open(new ContactJournal.State() {
+            @Override
+            public void restore(Contact contact) {
+                store.compute(contact.getId(), existing -> {
+                    index.reindex(existing, contact);
+                    notifyRestored(existing, contact);
+                    return contact;
+                });
+                idGenerator.accumulateAndGet(contact.getId(), Math::max);
+                versionClock.accumulateAndGet(versionOf(contact), Math::max);
+            }
+
+            @Override
+            public void restoreRemoval(long id) {
+                store.compute(id, existing -> {
+                    if (existing != null) {
+                        index.reindex(existing, null);
+                        notifyRestored(existing, null);
+                    }
+                    return null;
+                });
+                idGenerator.accumulateAndGet(id, Math::max);
+            }
+
+            @Override
+            public void restoreHighestId(long id) {
+                idGenerator.accumulateAndGet(id, Math::max);
+            }
+
+            @Override
+            public long highestId() {
+                return idGenerator.get();
+            }
+
+            @Override
+            public void restoreHighestVersion(long version) {
+                versionClock.accumulateAndGet(version, Math::max);
+            }
+
+            @Override
+            public long highestVersion() {
+                return versionClock.get();
+            }
+
+            @Override
+            public void forEach(Consumer<Contact> visitor) {
+                store.forEach(visitor);
+            }
+        });
+        logger.info("ContactService initialized with {} contacts.", store.size());
     }
 
     /**
@@ -34,7 +143,7 @@ public class ContactService {
      */
     public Contact findById(Long id) {
         logger.debug("Looking up contact with ID: {}", id);
-        Contact contact = contactMap.get(id);
+        Contact contact = store.get(id);
         if (contact == null) {
             logger.warn("No contact found with ID: {}", id);
         }
@@ -44,11 +153,58 @@ public class ContactService {
     /**
      * Retrieve all contacts.
      *
-     * @return a map of all contacts
+     * @return a read-only view of all contacts
      */
     public Map<Long, Contact> getAll() {
-        logger.debug("Retrieving all contacts (count: {})", contactMap.size());
-        return contactMap;
+        logger.debug("Retrieving all contacts (count: {})", store.size());
+        return store.asMap();
+    }
+
+    /**
+     * A counter that increases after every change to any contact. Two reads returning the same
+     * value saw the same set of contacts, which makes it usable as a validator for list responses.
+     *
+     * @return the current modification count
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Retrieve one page of contacts in ascending id order (keyset pagination).
+     *
+     * @param after the id after which the page starts, or null for the first page
+     * @param limit the maximum number of contacts in the page
+     * @return the page, with the cursor for the next page if more contacts may follow
+     */
+    public ContactPage findPage(Long after, int limit) {
+        logger.debug("Retrieving contact page after ID: {} (limit: {})", after, limit);
+        List<Contact> contacts = new ArrayList<>(Math.min(limit, 256));
+        Iterator<Long> ids = index.idsAfter(after == null ? 0L : after).iterator();
+        while (ids.hasNext() && contacts.size() < limit) {
+            Contact contact = store.get(ids.next());
+            if (contact != null) {
+                contacts.add(contact);
+            }
+        }
+        Long nextCursor = ids.hasNext() && !contacts.isEmpty() ? contacts.get(contacts.size() - 1).getId() : null;
+        return new ContactPage(contacts, nextCursor);
+    }
+
+    /**
+     * Visit contacts in ascending id order without copying them, e.g. to stream an export.
+     * The iteration is weakly consistent with concurrent mutations.
+     *
+     * @param after   the id after which to start, or null to start from the first contact
+     * @param visitor the callback invoked for each contact
+     */
+    public void forEachContact(Long after, Consumer<Contact> visitor) {
+        for (Long id : index.idsAfter(after == null ? 0L : after)) {
+            Contact contact = store.get(id);
+            if (contact != null) {
+                visitor.accept(contact);
+            }
+        }
     }
 
     /**
@@ -58,14 +214,88 @@ public class ContactService {
      * @return the added contact with ID assigned
      */
     public Contact add(Contact contact) {
-        Long id = idGenerator.incrementAndGet();
+        Long id = idGenerator.updateAndGet(idAllocator::nextIdAfter);
         contact.setId(id);
-        contactMap.put(id, contact);
+        mutate(id, existing -> contact);
         logger.info("Added new contact with ID: {}", id);
         logger.debug("Contact details: {}", contact);
         return contact;
     }
 
+    /**
+     * Insert or update a batch of contacts. Ids for new contacts are reserved up front, as one
+     * range when ids are sequential; contacts that carry an id replace the contact stored under it, or are inserted
+     * with that id if none exists.
+     *
+     * @param contacts the contacts to store
+     * @return one flag per contact, true where the contact was created rather than updated
+     */
+    public boolean[] upsertAll(List<Contact> contacts) {
+        int newContacts = 0;
+        long maxExplicitId = 0;
+        for (Contact contact : contacts) {
+            if (contact.getId() == null) {
+                newContacts++;
+            } else {
+                maxExplicitId = Math.max(maxExplicitId, contact.getId());
+            }
+        }
+        if (maxExplicitId > 0) {
+            // Keep generated ids clear of ids supplied by the caller
+            idGenerator.accumulateAndGet(maxExplicitId, Math::max);
+        }
+        long[] newIds = reserveIds(newContacts);
+        int nextNewId = 0;
+
+        boolean[] created = new boolean[contacts.size()];
+        int createdCount = 0;
+        List<CompletableFuture<Void>> pending = new ArrayList<>(contacts.size());
+        for (int i = 0; i < contacts.size(); i++) {
+            Contact contact = contacts.get(i);
+            if (contact.getId() == null) {
+                contact.setId(newIds[nextNewId++]);
+            }
+            Mutation mutation = apply(contact.getId(), existing -> contact, true);
+            pending.add(mutation.durable());
+            created[i] = mutation.previous() == null;
+            if (created[i]) {
+                createdCount++;
+            }
+        }
+        // Wait once for the whole batch so its journal records share group commits
+        awaitDurable(CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])),
+                "A batch of " + contacts.size() + " contacts");
+        logger.info("Imported batch of {} contacts ({} created, {} updated)",
+                contacts.size(), createdCount, contacts.size() - createdCount);
+        return created;
+    }
+
+    /**
+     * Store contacts handed over by another node as they are, keeping their version and
+     * last-modified time so that ETags and {@code If-Match} carry over with them. A contact is
+     * skipped if this node already holds that version of it or a newer one.
+     *
+     * @param contacts the contacts to store, each with its id and version
+     * @return one status per contact: created, updated or skipped
+     */
+    public BulkRowResult.Status[] transferIn(List<Contact> contacts) {
+        BulkRowResult.Status[] statuses = new BulkRowResult.Status[contacts.size()];
+        List<CompletableFuture<Void>> pending = new ArrayList<>(contacts.size());
+        for (int i = 0; i < contacts.size(); i++) {
+            Contact contact = contacts.get(i);
+            // Keep generated ids clear of the ids moving in
+            idGenerator.accumulateAndGet(contact.getId(), Math::max);
+            Mutation mutation = apply(contact.getId(), existing -> existing != null
+                    && versionOf(existing) >= versionOf(contact) ? existing : contact, false);
+            pending.add(mutation.durable());
+            statuses[i] = mutation.durable() == UNCHANGED ? BulkRowResult.Status.SKIPPED
+                    : mutation.previous() == null ? BulkRowResult.Status.CREATED : BulkRowResult.Status.UPDATED;
+        }
+        awaitDurable(CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])),
+                "A hand-over of " + contacts.size() + " contacts");
+        return statuses;
+    }
+
     /**
      * Remove a contact by ID.
      *
@@ -74,7 +304,7 @@ public class ContactService {
      */
     public Contact remove(Long id) {
         logger.debug("Removing contact with ID: {}", id);
-        Contact removed = contactMap.remove(id);
+        Contact removed = mutate(id, existing -> null);
         if (removed != null) {
             logger.info("Contact removed successfully");
         } else {
@@ -83,6 +313,46 @@ public class ContactService {
         return removed;
     }
 
+    /**
+     * Remove a contact if it is still at the expected version.
+     *
+     * @param id              the contact ID
+     * @param expectedVersion the version the caller last read, or null to remove unconditionally
+     * @return the removed contact, or null if not found
+     * @throws ContactVersionConflictException if the contact has changed since the expected version
+     */
+    public Contact remove(Long id, Long expectedVersion) {
+        logger.debug("Removing contact with ID: {} (expected version: {})", id, expectedVersion);
+        return mutate(id, existing -> {
+            if (existing != null) {
+                checkVersion(existing, expectedVersion);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Drop the local copy of a contact handed over to the node that now owns it, if it is still
+     * at the version that was handed over. Unlike {@link #remove(Long, Long)}, listeners are
+     * told the contact moved rather than that it was removed, so no removal is published.
+     *
+     * @param id      the contact ID
+     * @param version the version the new owner stored
+     * @return the evicted contact, or null if not found
+     * @throws ContactVersionConflictException if the contact has changed since it was handed over
+     */
+    public Contact evict(Long id, Long version) {
+        logger.debug("Evicting contact with ID: {} (handed over at version: {})", id, version);
+        Mutation mutation = apply(id, existing -> {
+            if (existing != null) {
+                checkVersion(existing, version);
+            }
+            return null;
+        }, false, (previous, current) -> notifyHandedOver(previous));
+        awaitDurable(mutation.durable(), "Contact " + id);
+        return mutation.previous();
+    }
+
     /**
      * Update a contact by ID.
      *
@@ -91,10 +361,29 @@ public class ContactService {
      * @return the updated contact, or null if not found
      */
     public Contact update(Long id, Contact contact) {
-        logger.debug("Updating contact with ID: {}", id);
-        if (contactMap.containsKey(id)) {
-            contact.setId(id);
-            contactMap.put(id, contact);
+        return update(id, contact, null);
+    }
+
+    /**
+     * Replace a contact by ID if it is still at the expected version.
+     *
+     * @param id              the contact ID
+     * @param contact         the updated contact data
+     * @param expectedVersion the version the caller last read, or null to update unconditionally
+     * @return the updated contact, or null if not found
+     * @throws ContactVersionConflictException if the contact has changed since the expected version
+     */
+    public Contact update(Long id, Contact contact, Long expectedVersion) {
+        logger.debug("Updating contact with ID: {} (expected version: {})", id, expectedVersion);
+        contact.setId(id);
+        Contact previous = mutate(id, existing -> {
+            if (existing == null) {
+                return null;
+            }
+            checkVersion(existing, expectedVersion);
+            return contact;
+        });
+        if (previous != null) {
             logger.info("Contact updated successfully");
             logger.debug("Updated contact: {}", contact);
             return contact;
@@ -103,4 +392,232 @@ public class ContactService {
             return null;
         }
     }
+
+    /**
+     * Apply a partial update to a contact: every non-null field of {@code changes} replaces the
+     * stored value, all other fields are kept. The change is applied atomically against the
+     * latest stored contact, so concurrent patches of different fields are never lost.
+     *
+     * @param id              the contact ID
+     * @param changes         the fields to change
+     * @param expectedVersion the version the caller last read, or null to patch unconditionally
+     * @return the patched contact, or null if not found
+     * @throws ContactVersionConflictException if the contact has changed since the expected version
+     */
+    public Contact patch(Long id, Contact changes, Long expectedVersion) {
+        logger.debug("Patching contact with ID: {} (expected version: {})", id, expectedVersion);
+        Contact[] patched = new Contact[1];
+        mutate(id, existing -> {
+            if (existing == null) {
+                return null;
+            }
+            checkVersion(existing, expectedVersion);
+            // Build a new object: the stored one may be held by readers and by the index
+            patched[0] = Contact.builder()
+                    .id(id)
+                    .name(changes.getName() != null ? changes.getName() : existing.getName())
+                    .phoneNumber(changes.getPhoneNumber() != null ? changes.getPhoneNumber() : existing.getPhoneNumber())
+                    .email(changes.getEmail() != null ? changes.getEmail() : existing.getEmail())
+                    .build();
+            return patched[0];
+        });
+        if (patched[0] != null) {
+            logger.info("Contact patched successfully");
+            logger.debug("Patched contact: {}", patched[0]);
+        } else {
+            logger.warn("No contact found with ID: {}, patch failed", id);
+        }
+        return patched[0];
+    }
+
+    /**
+     * Report the memory footprint of the contact store.
+     *
+     * @return the store statistics
+     */
+    public ContactStoreStats getStoreStats() {
+        return store.stats();
+    }
+
+    /**
+     * Find contacts whose name starts with the given prefix (case-insensitive), ordered by name.
+     *
+     * @param prefix the name prefix
+     * @param limit  the maximum number of contacts to return
+     * @return the matching contacts
+     */
+    public List<Contact> findByNamePrefix(String prefix, int limit) {
+        logger.debug("Looking up contacts with name prefix: {}", prefix);
+        String key = ContactIndex.normalizeName(prefix);
+        if (key == null) {
+            return List.of();
+        }
+        // Contacts may have been renamed or removed since the index was read, so re-check each one
+        return resolve(index.findIdsByNamePrefix(prefix, limit),
+                contact -> Objects.toString(ContactIndex.normalizeName(contact.getName()), "").startsWith(key));
+    }
+
+    /**
+     * Find contacts by email address (case-insensitive).
+     *
+     * @param email the email address
+     * @return the matching contacts
+     */
+    public List<Contact> findByEmail(String email) {
+        logger.debug("Looking up contacts with email: {}", email);
+        String key = ContactIndex.normalizeEmail(email);
+        if (key == null) {
+            return List.of();
+        }
+        return resolve(index.findIdsByEmail(email), contact -> key.equals(ContactIndex.normalizeEmail(contact.getEmail())));
+    }
+
+    /**
+     * Find contacts by phone number, ignoring separators.
+     *
+     * @param phoneNumber the phone number
+     * @return the matching contacts
+     */
+    public List<Contact> findByPhoneNumber(String phoneNumber) {
+        logger.debug("Looking up contacts with phone number: {}", phoneNumber);
+        String key = ContactIndex.normalizePhone(phoneNumber);
+        if (key == null) {
+            return List.of();
+        }
+        return resolve(index.findIdsByPhoneNumber(phoneNumber), contact -> key.equals(ContactIndex.normalizePhone(contact.getPhoneNumber())));
+    }
+
+    /**
+     * Fetch the contacts with the given ids, skipping ids that no longer exist.
+     *
+     * @param ids the contact ids
+     * @return the contacts found, in the order of {@code ids}
+     */
+    public List<Contact> findByIds(Collection<Long> ids) {
+        return resolve(ids, contact -> true);
+    }
+
+    /**
+     * Atomically replace the contact stored under the id with the result of {@code change}
+     * (null meaning absent), then wait until the change is durable.
+     *
+     * @return the contact stored before the change, or null
+     * @throws ContactNotDurableException if the change was applied but could not be journaled
+     */
+    private Contact mutate(Long id, UnaryOperator<Contact> change) {
+        Mutation mutation = apply(id, change, true);
+        awaitDurable(mutation.durable(), "Contact " + id);
+        return mutation.previous();
+    }
+
+    private static void awaitDurable(CompletableFuture<?> durable, String changed) {
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            throw new ContactNotDurableException(changed + " was changed, but the change could not be journaled"
+                    + " and will be lost on restart: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private Mutation apply(Long id, UnaryOperator<Contact> change, boolean newVersion) {
+        return apply(id, change, newVersion, this::notifyListeners);
+    }
+
+    /**
+     * @param newVersion whether a stored contact gets the next version and a new last-modified
+     *                   time, rather than keeping its own
+     * @param notify     tells the listeners about the change, given the previous and next contact
+     */
+    private Mutation apply(Long id, UnaryOperator<Contact> change, boolean newVersion,
+                           BiConsumer<Contact, Contact> notify) {
+        Contact[] previous = new Contact[1];
+        AtomicReference<CompletableFuture<Void>> durable = new AtomicReference<>(UNCHANGED);
+        store.compute(id, existing -> {
+            previous[0] = existing;
+            Contact next = change.apply(existing);
+            if (next != existing) {
+                if (next != null) {
+                    // Before the indexes, listeners and journal see the change
+                    store.checkStorable(next);
+                    if (newVersion) {
+                        // Drawn from one clock for all contacts, so an id that is removed and created
+                        // again never repeats a version, and an old ETag never matches the new contact
+                        long floor = existing == null ? 0L : versionOf(existing);
+                        next.setVersion(versionClock.updateAndGet(highest -> Math.max(highest, floor) + 1));
+                        next.setLastModified(Instant.now());
+                    } else {
+                        versionClock.accumulateAndGet(versionOf(next), Math::max);
+                    }
+                }
+                // Journaled first: if the journal refuses the record, the store discards the
+                // change before the indexes and listeners have seen it
+                durable.set(next != null ? journal.logPut(next) : journal.logRemove(id));
+                index.reindex(existing, next);
+                notify.accept(existing, next);
+            }
+            return next;
+        });
+        if (durable.get() != UNCHANGED) {
+            // Counted only once the change is visible, so a reader never pairs a count with older data
+            modificationCount.incrementAndGet();
+        }
+        return new Mutation(previous[0], durable.get());
+    }
+
+    private long[] reserveIds(int count) {
+        long[] ids = new long[count];
+        if (idAllocator == ContactIdAllocator.SEQUENTIAL) {
+            long first = idGenerator.getAndAdd(count) + 1;
+            for (int i = 0; i < count; i++) {
+                ids[i] = first + i;
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                ids[i] = idGenerator.updateAndGet(idAllocator::nextIdAfter);
+            }
+        }
+        return ids;
+    }
+
+    private void notifyListeners(Contact previous, Contact current) {
+        for (ContactChangeListener listener : listeners) {
+            listener.onContactChanged(previous, current);
+        }
+    }
+
+    private void notifyHandedOver(Contact contact) {
+        for (ContactChangeListener listener : listeners) {
+            listener.onContactHandedOver(contact);
+        }
+    }
+
+    private void notifyRestored(Contact previous, Contact current) {
+        for (ContactChangeListener listener : listeners) {
+            listener.onContactRestored(previous, current);
+        }
+    }
+
+    private static long versionOf(Contact contact) {
+        return contact.getVersion() == null ? 0L : contact.getVersion();
+    }
+
+    private static void checkVersion(Contact existing, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new ContactVersionConflictException(existing.getId(), expectedVersion, existing.getVersion());
+        }
+    }
+
+    private List<Contact> resolve(Collection<Long> ids, Predicate<Contact> stillMatches) {
+        List<Contact> contacts = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Contact contact = store.get(id);
+            if (contact != null && stillMatches.test(contact)) {
+                contacts.add(contact);
+            }
+        }
+        return contacts;
+    }
+
+    private record Mutation(Contact previous, CompletableFuture<Void> durable) {
+    }
 }
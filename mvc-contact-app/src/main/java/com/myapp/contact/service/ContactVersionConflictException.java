@@ -0,0 +1,23 @@
+package com.myapp.contact.service;
+
+/**
+ * Thrown when a conditional change names a contact version that is no longer current.
+ */
+public class ContactVersionConflictException extends RuntimeException {
+    private final long id;
+    private final Long currentVersion;
+
+    public ContactVersionConflictException(long id, Long expectedVersion, Long currentVersion) {
+        super("Contact " + id + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.id = id;
+        this.currentVersion = currentVersion;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,56 @@
+package com.myapp.contact.store;
+
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.model.ContactStoreStats;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Storage backend holding contacts by id.
+ * <p>
+ * Implementations must make {@link #compute(long, UnaryOperator)} atomic per id; the
+ * contact service relies on that to keep its indexes and journal in step with the store.
+ */
+public interface ContactStore {
+
+    /**
+     * @return the contact stored under the id, or null
+     */
+    Contact get(long id);
+
+    /**
+     * Atomically replace the contact stored under the id with {@code change.apply(current)},
+     * where null means absent. The function runs while the id is locked and must not call
+     * back into the store.
+     *
+     * @return the contact stored after the change, or null
+     */
+    Contact compute(long id, UnaryOperator<Contact> change);
+
+    int size();
+
+    /**
+     * Reject a contact this store could not hold, before the caller acts on the change.
+     *
+     * @throws IllegalArgumentException if the contact cannot be stored
+     */
+    default void checkStorable(Contact contact) {
+    }
+
+    /**
+     * Visit every contact; weakly consistent with concurrent mutations.
+     */
+    void forEach(Consumer<Contact> visitor);
+
+    /**
+     * @return a read-only live view of the store
+     */
+    Map<Long, Contact> asMap();
+
+    /**
+     * @return the current memory footprint of the store
+     */
+    ContactStoreStats stats();
+}
@@ -0,0 +1,70 @@
+package com.myapp.contact.store;
+
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.model.ContactStoreStats;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps contacts as objects in a {@link ConcurrentHashMap}.
+ */
+public class HeapContactStore implements ContactStore {
+
+    // Rough per-entry costs on a 64-bit JVM with compressed oops
+    private static final long ENTRY_OVERHEAD = 40;  // map node and table slot
+    private static final long BOXED_ID = 16;
+    private static final long CONTACT_OBJECT = 32;
+
+    private final Map<Long, Contact> contacts = new ConcurrentHashMap<>();
+
+    @Override
+    public Contact get(long id) {
+        return contacts.get(id);
+    }
+
+    @Override
+    public Contact compute(long id, UnaryOperator<Contact> change) {
+        return contacts.compute(id, (key, existing) -> change.apply(existing));
+    }
+
+    @Override
+    public int size() {
+        return contacts.size();
+    }
+
+    @Override
+    public void forEach(Consumer<Contact> visitor) {
+        contacts.values().forEach(visitor);
+    }
+
+    @Override
+    public Map<Long, Contact> asMap() {
+        return Collections.unmodifiableMap(contacts);
+    }
+
+    @Override
+    public ContactStoreStats stats() {
+        long heapBytes = 0;
+        for (Contact contact : contacts.values()) {
+            heapBytes += ENTRY_OVERHEAD + BOXED_ID + CONTACT_OBJECT
+                    + stringBytes(contact.getName()) + stringBytes(contact.getPhoneNumber()) + stringBytes(contact.getEmail());
+        }
+        return new ContactStoreStats("heap", contacts.size(), heapBytes, 0, 0);
+    }
+
+    private static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        // String object plus its backing array, assuming compact (Latin-1) strings
+        return 24 + align(16 + value.length());
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,306 @@
+package com.myapp.contact.store;
+
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.model.ContactStoreStats;
+import com.myapp.contact.persistence.ContactCodec;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps contacts outside the Java heap, encoded with {@link ContactCodec} in direct-memory slabs.
+ * <p>
+ * The store is split into segments by id, each guarded by its own read-write lock. A segment
+ * maps ids to record addresses with a primitive {@link LongLongHashMap} and appends records to
+ * its slabs with a bump pointer; updated and removed records leave garbage behind, which is
+ * reclaimed by copying the live records into fresh slabs once it outweighs them. Contacts are
+ * decoded into {@link Contact} objects only when read, so the store itself keeps two longs per
+ * contact on the heap.
+ * <p>
+ * Slabs are direct buffers and count against {@code -XX:MaxDirectMemorySize}. A segment's first
+ * slab is small and each further one twice the size of the last, up to the configured slab
+ * size, so a lightly used store does not reserve a full slab for every segment.
+ */
+public class OffHeapContactStore implements ContactStore {
+
+    private static final int SEGMENTS = 64;
+    private static final int INITIAL_SLAB_SIZE = 64 * 1024;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int slabSize;
+
+    /**
+     * @param slabSize the size in bytes the direct-memory slabs grow to, which also bounds the
+     *                 size of a single encoded contact
+     */
+    public OffHeapContactStore(int slabSize) {
+        this.slabSize = slabSize;
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(slabSize);
+        }
+    }
+
+    @Override
+    public Contact get(long id) {
+        return segmentFor(id).get(id);
+    }
+
+    @Override
+    public Contact compute(long id, UnaryOperator<Contact> change) {
+        return segmentFor(id).compute(id, change);
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    public void forEach(Consumer<Contact> visitor) {
+        for (Segment segment : segments) {
+            // Decode one segment at a time so the visitor never runs under a segment lock
+            segment.snapshot().forEach(visitor);
+        }
+    }
+
+    @Override
+    public void checkStorable(Contact contact) {
+        checkRecordSize(ContactCodec.encodedLength(contact), slabSize);
+    }
+
+    @Override
+    public Map<Long, Contact> asMap() {
+        return new MapView();
+    }
+
+    @Override
+    public ContactStoreStats stats() {
+        long contacts = 0;
+        long heapBytes = 0;
+        long capacityBytes = 0;
+        long usedBytes = 0;
+        for (Segment segment : segments) {
+            segment.lock.readLock().lock();
+            try {
+                contacts += segment.addresses.size();
+                heapBytes += segment.addresses.footprintBytes();
+                for (ByteBuffer slab : segment.slabs) {
+                    capacityBytes += slab.capacity();
+                }
+                usedBytes += segment.liveBytes;
+            } finally {
+                segment.lock.readLock().unlock();
+            }
+        }
+        return new ContactStoreStats("offheap", contacts, heapBytes, capacityBytes, usedBytes);
+    }
+
+    private static void checkRecordSize(int length, int slabSize) {
+        if (Integer.BYTES + (long) length > slabSize) {
+            throw new IllegalArgumentException("Contact record of " + length + " bytes exceeds the slab size");
+        }
+    }
+
+    private Segment segmentFor(long id) {
+        long hash = id * 0x9E3779B97F4A7C15L;
+        return segments[(int) (hash >>> 58)];
+    }
+
+    private static final class Segment {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final int slabSize;
+        private final LongLongHashMap addresses = new LongLongHashMap(1024);
+        private List<ByteBuffer> slabs = new ArrayList<>();
+        private int writeOffset;
+        private long liveBytes;
+        private long garbageBytes;
+
+        private Segment(int slabSize) {
+            this.slabSize = slabSize;
+        }
+
+        private int size() {
+            lock.readLock().lock();
+            try {
+                return addresses.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Contact get(long id) {
+            lock.readLock().lock();
+            try {
+                long address = addresses.get(id);
+                return address == LongLongHashMap.MISSING ? null : read(address);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private Contact compute(long id, UnaryOperator<Contact> change) {
+            lock.writeLock().lock();
+            try {
+                long address = addresses.get(id);
+                Contact existing = address == LongLongHashMap.MISSING ? null : read(address);
+                Contact next = change.apply(existing);
+                if (next == existing) {
+                    return next;
+                }
+                if (address != LongLongHashMap.MISSING) {
+                    release(address);
+                }
+                if (next == null) {
+                    addresses.remove(id);
+                } else {
+                    addresses.put(id, write(ContactCodec.encode(next)));
+                }
+                compactIfWasteful();
+                return next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private List<Contact> snapshot() {
+            lock.readLock().lock();
+            try {
+                List<Contact> contacts = new ArrayList<>(addresses.size());
+                addresses.forEachValue(address -> contacts.add(read(address)));
+                return contacts;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // A record is [int length][encoded contact]; an address is (slab index << 32) | offset
+
+        private Contact read(long address) {
+            ByteBuffer slab = slabs.get((int) (address >>> 32));
+            int offset = (int) address;
+            int length = slab.getInt(offset);
+            return ContactCodec.decode(slab.slice(offset + Integer.BYTES, length));
+        }
+
+        private long write(byte[] record) {
+            checkRecordSize(record.length, slabSize);
+            int size = Integer.BYTES + record.length;
+            if (slabs.isEmpty() || writeOffset + size > slabs.get(slabs.size() - 1).capacity()) {
+                addSlab(size);
+            }
+            int slabIndex = slabs.size() - 1;
+            ByteBuffer slab = slabs.get(slabIndex);
+            slab.putInt(writeOffset, record.length);
+            slab.put(writeOffset + Integer.BYTES, record);
+            long address = ((long) slabIndex << 32) | writeOffset;
+            writeOffset += size;
+            liveBytes += size;
+            return address;
+        }
+
+        private void addSlab(int minimumSize) {
+            int size = slabs.isEmpty()
+                    ? Math.min(INITIAL_SLAB_SIZE, slabSize)
+                    : (int) Math.min(slabSize, 2L * slabs.get(slabs.size() - 1).capacity());
+            slabs.add(ByteBuffer.allocateDirect(Math.max(size, minimumSize)));
+            writeOffset = 0;
+        }
+
+        private void release(long address) {
+            ByteBuffer slab = slabs.get((int) (address >>> 32));
+            int size = Integer.BYTES + slab.getInt((int) address);
+            liveBytes -= size;
+            garbageBytes += size;
+        }
+
+        private void compactIfWasteful() {
+            if (garbageBytes < slabs.get(slabs.size() - 1).capacity() || garbageBytes < liveBytes) {
+                return;
+            }
+            List<ByteBuffer> oldSlabs = slabs;
+            slabs = new ArrayList<>();
+            // Size the first new slab for the live records, rather than growing up to them again
+            addSlab((int) Math.min(slabSize, liveBytes));
+            liveBytes = 0;
+            garbageBytes = 0;
+            addresses.updateValues((id, address) -> {
+                ByteBuffer slab = oldSlabs.get((int) (address >>> 32));
+                int offset = (int) address;
+                byte[] record = new byte[slab.getInt(offset)];
+                slab.get(offset + Integer.BYTES, record);
+                return write(record);
+            });
+            // The old slabs are freed when their buffers are garbage collected
+        }
+    }
+
+    /**
+     * Read-only map over the store, decoding contacts as they are iterated.
+     */
+    private final class MapView extends AbstractMap<Long, Contact> {
+
+        @Override
+        public Contact get(Object key) {
+            return key instanceof Long id ? OffHeapContactStore.this.get(id) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return OffHeapContactStore.this.size();
+        }
+
+        @Override
+        public Set<Entry<Long, Contact>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return OffHeapContactStore.this.size();
+                }
+
+                @Override
+                public Iterator<Entry<Long, Contact>> iterator() {
+                    return new Iterator<>() {
+                        private int segment;
+                        private Iterator<Contact> current = List.<Contact>of().iterator();
+
+                        @Override
+                        public boolean hasNext() {
+                            while (!current.hasNext() && segment < SEGMENTS) {
+                                current = segments[segment++].snapshot().iterator();
+                            }
+                            return current.hasNext();
+                        }
+
+                        @Override
+                        public Entry<Long, Contact> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Contact contact = current.next();
+                            return new SimpleImmutableEntry<>(contact.getId(), contact);
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
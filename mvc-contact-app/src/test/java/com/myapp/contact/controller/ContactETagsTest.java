@@ -0,0 +1,35 @@
+package com.myapp.contact.controller;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContactETagsTest {
+
+    @Test
+    void tagsEachListRepresentationDifferently() {
+        assertThat(ContactETags.ofList(42))
+                .isNotEqualTo(ContactETags.ofStream(null, 42))
+                .isNotEqualTo(ContactETags.ofPage(null, 50, 42));
+        assertThat(ContactETags.ofStream(null, 42)).isNotEqualTo(ContactETags.ofPage(null, 50, 42));
+    }
+
+    @Test
+    void tagsEachPageByItsCursorAndSize() {
+        assertThat(ContactETags.ofPage(100L, 50, 42))
+                .isEqualTo(ContactETags.ofPage(100L, 50, 42))
+                .isNotEqualTo(ContactETags.ofPage(150L, 50, 42))
+                .isNotEqualTo(ContactETags.ofPage(100L, 20, 42))
+                .isNotEqualTo(ContactETags.ofPage(100L, 50, 43));
+        assertThat(ContactETags.ofStream(100L, 42)).isNotEqualTo(ContactETags.ofStream(null, 42));
+    }
+
+    @Test
+    void readsStrongIfMatchTagsOnly() {
+        assertThat(ContactETags.parseIfMatch("\"3\"")).isEqualTo(3L);
+        assertThat(ContactETags.parseIfMatch("*")).isNull();
+        assertThat(ContactETags.parseIfMatch("W/\"3\"")).isZero();
+        assertThatThrownBy(() -> ContactETags.parseIfMatch("3")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,167 @@
+package com.myapp.contact.service;
+
+import com.myapp.contact.feed.ContactChangeFeed;
+import com.myapp.contact.model.Contact;
+import com.myapp.contact.model.ContactChangeEvent;
+import com.myapp.contact.persistence.ContactJournal;
+import com.myapp.contact.persistence.FileContactJournal;
+import com.myapp.contact.store.HeapContactStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContactServiceTest {
+
+    private final List<Contact> changes = new ArrayList<>();
+    private final TestJournal journal = new TestJournal();
+    private final ContactService service = new ContactService(new HeapContactStore(), journal,
+            List.of((previous, current) -> changes.add(current)));
+
+    @Test
+    void aChangeTheJournalRefusesIsNotSeenByIndexesOrListeners() {
+        Contact existing = service.add(contact("Ada", "ada@example.com"));
+        changes.clear();
+        journal.refuse = new IllegalArgumentException("Journal record exceeds the segment size");
+
+        assertThatThrownBy(() -> service.update(existing.getId(), contact("Grace", "grace@example.com")))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(service.findById(existing.getId()).getName()).isEqualTo("Ada");
+        assertThat(service.findByEmail("grace@example.com")).isEmpty();
+        assertThat(service.findByEmail("ada@example.com")).extracting(Contact::getName).containsExactly("Ada");
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    void aRemovalTheJournalRefusesKeepsTheContact() {
+        Contact existing = service.add(contact("Ada", "ada@example.com"));
+        changes.clear();
+        journal.refuse = new IllegalStateException("Contact journal is not open");
+
+        assertThatThrownBy(() -> service.remove(existing.getId())).isInstanceOf(IllegalStateException.class);
+
+        assertThat(service.findById(existing.getId())).isNotNull();
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    void reportsAChangeThatWasAppliedButNotJournaled() {
+        journal.failWrites = true;
+
+        assertThatThrownBy(() -> service.add(contact("Ada", "ada@example.com")))
+                .isInstanceOf(ContactNotDurableException.class)
+                .hasMessageContaining("could not be journaled");
+
+        // The change stands in memory, and the listeners saw it
+        assertThat(service.getAll()).hasSize(1);
+        assertThat(changes).hasSize(1);
+    }
+
+    @Test
+    void aContactCreatedAgainContinuesPastItsOldVersions() {
+        Contact withId = contact("Ada", "ada@example.com");
+        withId.setId(42L);
+        service.upsertAll(List.of(withId));
+        service.update(42L, contact("Ada", "ada@example.com"));
+        long removedAt = service.remove(42L).getVersion();
+
+        Contact again = contact("Grace", "grace@example.com");
+        again.setId(42L);
+        service.upsertAll(List.of(again));
+
+        assertThat(service.findById(42L).getVersion()).isGreaterThan(removedAt);
+    }
+
+    @Test
+    void versionsOfRemovedContactsSurviveASnapshotAndRestart(@TempDir Path directory) {
+        long removedAt;
+        try (FileContactJournal journal = new FileContactJournal(directory, 1 << 20, false, Duration.ofHours(1))) {
+            ContactService before = new ContactService(new HeapContactStore(), journal, List.of());
+            before.init();
+            Contact created = before.add(contact("Ada", "ada@example.com"));
+            before.update(created.getId(), contact("Ada", "ada@example.com"));
+            removedAt = before.remove(created.getId()).getVersion();
+            journal.snapshot();
+        }
+
+        try (FileContactJournal journal = new FileContactJournal(directory, 1 << 20, false, Duration.ofHours(1))) {
+            ContactService after = new ContactService(new HeapContactStore(), journal, List.of());
+            after.init();
+            Contact again = contact("Grace", "grace@example.com");
+            again.setId(1L);
+            after.upsertAll(List.of(again));
+
+            assertThat(after.findById(1L).getVersion()).isGreaterThan(removedAt);
+        }
+    }
+
+    @Test
+    void evictingAHandedOverContactPublishesNoRemoval() {
+        ContactChangeFeed feed = new ContactChangeFeed(16);
+        ContactService node = new ContactService(new HeapContactStore(), journal, List.of(feed));
+        Contact created = node.add(contact("Ada", "ada@example.com"));
+
+        assertThat(node.evict(created.getId(), created.getVersion())).isNotNull();
+
+        assertThat(node.findById(created.getId())).isNull();
+        assertThat(node.findByEmail("ada@example.com")).isEmpty();
+        assertThat(feed.read(0, 16)).extracting(ContactChangeEvent::getType)
+                .containsExactly(ContactChangeEvent.Type.CREATED);
+    }
+
+    @Test
+    void keepsAContactThatChangedDuringTheHandOver() {
+        Contact created = service.add(contact("Ada", "ada@example.com"));
+        service.update(created.getId(), contact("Grace", "grace@example.com"));
+
+        assertThatThrownBy(() -> service.evict(created.getId(), created.getVersion()))
+                .isInstanceOf(ContactVersionConflictException.class);
+        assertThat(service.findById(created.getId()).getName()).isEqualTo("Grace");
+    }
+
+    private static Contact contact(String name, String email) {
+        return Contact.builder().name(name).phoneNumber("555-555-5555").email(email).build();
+    }
+
+    private static final class TestJournal implements ContactJournal {
+        private RuntimeException refuse;
+        private boolean failWrites;
+
+        @Override
+        public void open(State state) {
+        }
+
+        @Override
+        public CompletableFuture<Void> logPut(Contact contact) {
+            return submit();
+        }
+
+        @Override
+        public CompletableFuture<Void> logRemove(long id) {
+            return submit();
+        }
+
+        private CompletableFuture<Void> submit() {
+            if (refuse != null) {
+                throw refuse;
+            }
+            return failWrites
+                    ? CompletableFuture.failedFuture(new UncheckedIOException(new IOException("Disk full")))
+                    : CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
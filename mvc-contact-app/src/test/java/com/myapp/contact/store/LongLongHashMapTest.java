@@ -0,0 +1,52 @@
+package com.myapp.contact.store;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LongLongHashMapTest {
+
+    @Test
+    void nonPositiveKeysAreNeverFound() {
+        LongLongHashMap map = filledMap(200);
+
+        assertThat(map.get(0)).isEqualTo(LongLongHashMap.MISSING);
+        assertThat(map.get(-1)).isEqualTo(LongLongHashMap.MISSING);
+        assertThat(map.remove(0)).isEqualTo(LongLongHashMap.MISSING);
+        assertThat(map.remove(-1)).isEqualTo(LongLongHashMap.MISSING);
+        assertThat(map.size()).isEqualTo(200);
+        for (long key = 1; key <= 200; key++) {
+            assertThat(map.get(key)).isEqualTo(key * 10);
+        }
+    }
+
+    @Test
+    void rejectsNonPositiveKeysOnPut() {
+        LongLongHashMap map = new LongLongHashMap(16);
+
+        assertThatThrownBy(() -> map.put(0, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void removalKeepsTheRestOfTheProbeChainReachable() {
+        LongLongHashMap map = filledMap(1000);
+
+        for (long key = 1; key <= 1000; key += 2) {
+            assertThat(map.remove(key)).isEqualTo(key * 10);
+        }
+
+        assertThat(map.size()).isEqualTo(500);
+        for (long key = 1; key <= 1000; key++) {
+            assertThat(map.get(key)).isEqualTo(key % 2 == 0 ? key * 10 : LongLongHashMap.MISSING);
+        }
+    }
+
+    private static LongLongHashMap filledMap(int size) {
+        LongLongHashMap map = new LongLongHashMap(16);
+        for (long key = 1; key <= size; key++) {
+            map.put(key, key * 10);
+        }
+        return map;
+    }
+}
@@ -0,0 +1,47 @@
+package com.myapp.contact.store;
+
+import com.myapp.contact.model.Contact;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapContactStoreTest {
+
+    private final OffHeapContactStore store = new OffHeapContactStore(64 * 1024);
+
+    @Test
+    void idZeroDoesNotMatchAnEmptySlot() {
+        fill(200);
+
+        assertThat(store.get(0)).isNull();
+        assertThat(store.compute(0, existing -> existing)).isNull();
+        assertThat(store.size()).isEqualTo(200);
+        for (long id = 1; id <= 200; id++) {
+            assertThat(store.get(id).getId()).isEqualTo(id);
+        }
+    }
+
+    @Test
+    void replacesAndRemovesContacts() {
+        fill(200);
+
+        store.compute(34, existing -> contact(34, "Renamed"));
+        store.compute(35, existing -> null);
+
+        assertThat(store.get(34).getName()).isEqualTo("Renamed");
+        assertThat(store.get(35)).isNull();
+        assertThat(store.size()).isEqualTo(199);
+    }
+
+    private void fill(int count) {
+        for (long id = 1; id <= count; id++) {
+            Contact contact = contact(id, "Contact " + id);
+            store.compute(id, existing -> contact);
+        }
+    }
+
+    private static Contact contact(long id, String name) {
+        return Contact.builder().id(id).name(name)
+                .phoneNumber("555-555-5555").email("contact" + id + "@example.com").version(1L).build();
+    }
+}